@@ -36,6 +36,7 @@ import org.geysermc.geyser.api.event.EventBus;
 import org.geysermc.geyser.api.event.EventRegistrar;
 import org.geysermc.geyser.api.extension.ExtensionManager;
 import org.geysermc.geyser.api.network.BedrockListener;
+import org.geysermc.geyser.api.network.PacketTranslationStatistics;
 import org.geysermc.geyser.api.network.RemoteServer;
 import org.geysermc.geyser.api.util.MinecraftVersion;
 import org.geysermc.geyser.api.util.PlatformType;
@@ -161,6 +162,15 @@ public interface GeyserApi extends GeyserApiBase {
     @NonNull
     CommandSource consoleCommandSource();
 
+    /**
+     * Gets the {@link PacketTranslationStatistics} recording
+     * how long packet translations take.
+     *
+     * @return the packet translation statistics
+     */
+    @NonNull
+    PacketTranslationStatistics packetTranslationStatistics();
+
     /**
      * Gets the current {@link GeyserApiBase} instance.
      *
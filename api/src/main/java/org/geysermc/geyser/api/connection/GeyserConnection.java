@@ -36,6 +36,7 @@ import org.geysermc.geyser.api.entity.EntityData;
 import org.geysermc.geyser.api.entity.type.GeyserEntity;
 import org.geysermc.geyser.api.entity.type.player.GeyserPlayerEntity;
 
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
@@ -75,6 +76,13 @@ public interface GeyserConnection extends Connection, CommandSource {
      */
     int protocolVersion();
 
+    /**
+     * Gets the approximate memory retained by this connection's caches, in bytes, keyed by cache name.
+     * The estimate is refreshed periodically, so it may lag slightly behind and is empty right after joining.
+     */
+    @NonNull
+    Map<String, Long> memoryUsage();
+
     /**
      * @param javaId the Java entity ID to look up.
      * @return a {@link GeyserEntity} if present in this connection's entity tracker.
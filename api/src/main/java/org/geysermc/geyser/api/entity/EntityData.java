@@ -28,10 +28,12 @@ package org.geysermc.geyser.api.entity;
 import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
+import org.cloudburstmc.math.vector.Vector3f;
 import org.geysermc.geyser.api.connection.GeyserConnection;
 import org.geysermc.geyser.api.entity.type.GeyserEntity;
 import org.geysermc.geyser.api.entity.type.player.GeyserPlayerEntity;
 
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
@@ -49,6 +51,16 @@ public interface EntityData {
      */
     @NonNull CompletableFuture<@Nullable GeyserEntity> entityByJavaId(@NonNegative int javaId);
 
+    /**
+     * Returns all entities in this connection's entity tracker that are within the given distance of a position.
+     * Positions are those of the entities as they are shown to the Bedrock client.
+     *
+     * @param position the center of the search
+     * @param radius the maximum distance in blocks
+     * @return the entities in range, in no particular order
+     */
+    @NonNull CompletableFuture<@NonNull List<GeyserEntity>> entitiesInRange(@NonNull Vector3f position, @NonNegative double radius);
+
     /**
      * Displays a player entity as emoting to this client.
      *
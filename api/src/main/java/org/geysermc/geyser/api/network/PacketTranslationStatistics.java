@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.api.network;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.List;
+
+/**
+ * Timings of the packet translators that convert packets between
+ * Java Edition and Bedrock Edition.
+ */
+public interface PacketTranslationStatistics {
+
+    /**
+     * Gets if translator timings are currently being recorded.
+     *
+     * @return if translator timings are being recorded
+     */
+    boolean enabled();
+
+    /**
+     * Starts or stops recording translator timings. Already recorded
+     * timings are kept until {@link #reset()} is called.
+     *
+     * @param enabled if translator timings should be recorded
+     */
+    void enabled(boolean enabled);
+
+    /**
+     * Clears all recorded timings.
+     */
+    void reset();
+
+    /**
+     * Gets the timings of translators handling packets sent by the Java server.
+     *
+     * @return the timings of Java packet translators
+     */
+    @NonNull
+    List<? extends Entry> javaTranslators();
+
+    /**
+     * Gets the timings of translators handling packets sent by Bedrock clients.
+     *
+     * @return the timings of Bedrock packet translators
+     */
+    @NonNull
+    List<? extends Entry> bedrockTranslators();
+
+    /**
+     * The recorded timings of a single packet translator.
+     */
+    interface Entry {
+
+        /**
+         * Gets the simple class name of the translated packet.
+         *
+         * @return the translated packet's class name
+         */
+        @NonNull
+        String packet();
+
+        /**
+         * Gets how many packets have been translated.
+         *
+         * @return the amount of translated packets
+         */
+        long count();
+
+        /**
+         * Gets the total time spent translating, in nanoseconds.
+         *
+         * @return the total translation time in nanoseconds
+         */
+        long totalNanos();
+
+        /**
+         * Gets the longest time a single translation took, in nanoseconds.
+         *
+         * @return the longest translation time in nanoseconds
+         */
+        long maxNanos();
+
+        /**
+         * Gets an upper bound of the given percentile of translation times, in nanoseconds.
+         *
+         * @param percentile the percentile, between 0 and 100
+         * @return the percentile's translation time in nanoseconds
+         */
+        long percentileNanos(double percentile);
+
+        /**
+         * Gets how many packets were sent to the client or server while translating.
+         *
+         * @return the amount of packets sent while translating
+         */
+        long packetsSent();
+    }
+}
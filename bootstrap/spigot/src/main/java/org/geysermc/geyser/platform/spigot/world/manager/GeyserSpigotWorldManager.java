@@ -25,15 +25,20 @@
 
 package org.geysermc.geyser.platform.spigot.world.manager;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.DecoratedPot;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.math.vector.Vector3i;
 import org.geysermc.erosion.bukkit.BukkitUtils;
 import org.geysermc.erosion.bukkit.SchedulerUtils;
+import org.geysermc.erosion.util.BlockPositionIterator;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.level.GameRule;
 import org.geysermc.geyser.level.WorldManager;
@@ -41,10 +46,15 @@ import org.geysermc.geyser.registry.BlockRegistries;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.mcprotocollib.protocol.data.game.entity.player.GameMode;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * The base world manager to use when there is no supported NMS revision
@@ -52,14 +62,48 @@ import java.util.function.Consumer;
 public class GeyserSpigotWorldManager extends WorldManager {
     private final Plugin plugin;
 
+    /**
+     * The Bukkit player of each session. Weak keys, so entries go away with their session.
+     */
+    private final Cache<GeyserSession, Player> players = CacheBuilder.newBuilder().weakKeys().build();
+
+    /**
+     * Java block state IDs of every block data seen so far. Bukkit creates a new BlockData for each call, but equal
+     * block data share the server's block state, which is what the hash and equality checks use.
+     */
+    private final Map<BlockData, Integer> blockNetworkIds = new ConcurrentHashMap<>();
+
     public GeyserSpigotWorldManager(Plugin plugin) {
         this.plugin = plugin;
     }
 
+    /**
+     * Gets the Bukkit player of a session, looking it up only when the session is new or the player has reconnected.
+     *
+     * @param session the session
+     * @return the player, or null if the player is not online on this server
+     */
+    protected @Nullable Player getPlayer(GeyserSession session) {
+        Player player = players.getIfPresent(session);
+        if (player != null && player.isOnline()) {
+            return player;
+        }
+        player = Bukkit.getPlayer(session.getPlayerEntity().getUuid());
+        if (player == null) {
+            player = Bukkit.getPlayerExact(session.getPlayerEntity().getUsername());
+        }
+        if (player != null) {
+            players.put(session, player);
+        } else {
+            players.invalidate(session);
+        }
+        return player;
+    }
+
     @Override
     public int getBlockAt(GeyserSession session, int x, int y, int z) {
         Player bukkitPlayer;
-        if ((bukkitPlayer = Bukkit.getPlayer(session.getPlayerEntity().getUsername())) == null) {
+        if ((bukkitPlayer = getPlayer(session)) == null) {
             return org.geysermc.geyser.level.block.type.Block.JAVA_AIR_ID;
         }
         World world = bukkitPlayer.getWorld();
@@ -71,14 +115,130 @@ public class GeyserSpigotWorldManager extends WorldManager {
         return getBlockNetworkId(world.getBlockAt(x, y, z));
     }
 
+    @Override
+    public CompletableFuture<Integer> getBlockAtAsync(GeyserSession session, int x, int y, int z) {
+        if (!usesRegionScheduler()) {
+            return super.getBlockAtAsync(session, x, y, z);
+        }
+        Player bukkitPlayer;
+        if ((bukkitPlayer = getPlayer(session)) == null) {
+            return CompletableFuture.completedFuture(org.geysermc.geyser.level.block.type.Block.JAVA_AIR_ID);
+        }
+        World world = bukkitPlayer.getWorld();
+        return runOnRegion(world, x >> 4, z >> 4, () -> readBlock(world, x, y, z));
+    }
+
+    @Override
+    public int[] getBlocksAt(GeyserSession session, BlockPositionIterator iter) {
+        if (usesRegionScheduler()) {
+            // Wait once for all regions involved, rather than once per block
+            return getBlocksAtAsync(session, iter).join();
+        }
+        return super.getBlocksAt(session, iter);
+    }
+
+    /**
+     * On Folia, groups the positions by chunk and reads each chunk's blocks in one task on the region that owns it.
+     * The tasks of different regions run in parallel, and the returned future completes once all of them are done.
+     */
+    @Override
+    public CompletableFuture<int[]> getBlocksAtAsync(GeyserSession session, BlockPositionIterator iter) {
+        if (!usesRegionScheduler()) {
+            return super.getBlocksAtAsync(session, iter);
+        }
+        int[] blocks = new int[iter.getMaxIterations()];
+        Player bukkitPlayer;
+        if ((bukkitPlayer = getPlayer(session)) == null) {
+            return CompletableFuture.completedFuture(blocks);
+        }
+        World world = bukkitPlayer.getWorld();
+
+        // Copy the positions, since the iterator can't be shared with the region threads
+        int[] xs = new int[blocks.length];
+        int[] ys = new int[blocks.length];
+        int[] zs = new int[blocks.length];
+        List<ChunkBatch> batches = new ArrayList<>(4);
+        for (iter.reset(); iter.hasNext(); iter.next()) {
+            int iteration = iter.getIteration();
+            xs[iteration] = iter.getX();
+            ys[iteration] = iter.getY();
+            zs[iteration] = iter.getZ();
+            ChunkBatch.of(batches, xs[iteration] >> 4, zs[iteration] >> 4).add(iteration);
+        }
+        iter.reset();
+
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[batches.size()];
+        for (int i = 0; i < futures.length; i++) {
+            ChunkBatch batch = batches.get(i);
+            futures[i] = runOnRegion(world, batch.chunkX, batch.chunkZ, () -> {
+                if (world.isChunkLoaded(batch.chunkX, batch.chunkZ)) {
+                    for (int j = 0; j < batch.size; j++) {
+                        int iteration = batch.iterations[j];
+                        blocks[iteration] = getBlockNetworkId(world.getBlockAt(xs[iteration], ys[iteration], zs[iteration]).getBlockData());
+                    }
+                }
+                return null;
+            });
+        }
+        return CompletableFuture.allOf(futures).thenApply($ -> blocks);
+    }
+
+    @Override
+    public boolean hasSlowBlockLookups(GeyserSession session) {
+        return usesRegionScheduler();
+    }
+
+    /**
+     * @return whether blocks have to be read on the thread of the region that owns them
+     */
+    protected boolean usesRegionScheduler() {
+        return SchedulerUtils.FOLIA;
+    }
+
+    private <T> CompletableFuture<T> runOnRegion(World world, int chunkX, int chunkZ, Supplier<T> task) {
+        if (Bukkit.isOwnedByCurrentRegion(world, chunkX, chunkZ)) {
+            return CompletableFuture.completedFuture(task.get());
+        }
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Bukkit.getRegionScheduler().execute(this.plugin, world, chunkX, chunkZ, () -> {
+            try {
+                future.complete(task.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+
+    private int readBlock(World world, int x, int y, int z) {
+        if (!world.isChunkLoaded(x >> 4, z >> 4)) {
+            return org.geysermc.geyser.level.block.type.Block.JAVA_AIR_ID;
+        }
+        return getBlockNetworkId(world.getBlockAt(x, y, z).getBlockData());
+    }
+
     public int getBlockNetworkId(Block block) {
         if (SchedulerUtils.FOLIA && !Bukkit.isOwnedByCurrentRegion(block)) {
             // Terrible behavior, but this is basically what's always been happening behind the scenes anyway.
-            CompletableFuture<String> blockData = new CompletableFuture<>();
-            Bukkit.getRegionScheduler().execute(this.plugin, block.getLocation(), () -> blockData.complete(block.getBlockData().getAsString()));
-            return BlockRegistries.JAVA_IDENTIFIER_TO_ID.getOrDefault(blockData.join(), org.geysermc.geyser.level.block.type.Block.JAVA_AIR_ID);
+            CompletableFuture<BlockData> blockData = new CompletableFuture<>();
+            Bukkit.getRegionScheduler().execute(this.plugin, block.getLocation(), () -> blockData.complete(block.getBlockData()));
+            return getBlockNetworkId(blockData.join());
         }
-        return BlockRegistries.JAVA_IDENTIFIER_TO_ID.getOrDefault(block.getBlockData().getAsString(), org.geysermc.geyser.level.block.type.Block.JAVA_AIR_ID); // TODO could just make this a BlockState lookup?
+        return getBlockNetworkId(block.getBlockData());
+    }
+
+    /**
+     * @param blockData the block data
+     * @return the Java block state ID of the block data, or air if it is unknown to this Geyser version
+     */
+    public int getBlockNetworkId(BlockData blockData) {
+        Integer blockId = blockNetworkIds.get(blockData);
+        if (blockId == null) {
+            // Only the first lookup of each block state goes through the string form
+            blockId = BlockRegistries.JAVA_IDENTIFIER_TO_ID.getOrDefault(blockData.getAsString(), org.geysermc.geyser.level.block.type.Block.JAVA_AIR_ID);
+            blockNetworkIds.put(blockData, blockId);
+        }
+        return blockId;
     }
 
     @Override
@@ -93,7 +253,7 @@ public class GeyserSpigotWorldManager extends WorldManager {
             return gameRule.getDefaultBooleanValue();
         }
 
-        Player bukkitPlayer = Objects.requireNonNull(Bukkit.getPlayer(session.getPlayerEntity().getUuid()));
+        Player bukkitPlayer = Objects.requireNonNull(getPlayer(session));
         Object value = bukkitPlayer.getWorld().getGameRuleValue(bukkitGameRule);
         if (value instanceof Boolean booleanValue) {
             return booleanValue;
@@ -109,7 +269,7 @@ public class GeyserSpigotWorldManager extends WorldManager {
             GeyserImpl.getInstance().getLogger().debug("Unknown game rule " + gameRule.getJavaID());
             return gameRule.getDefaultIntValue();
         }
-        Player bukkitPlayer = Objects.requireNonNull(Bukkit.getPlayer(session.getPlayerEntity().getUuid()));
+        Player bukkitPlayer = Objects.requireNonNull(getPlayer(session));
         Object value = bukkitPlayer.getWorld().getGameRuleValue(bukkitGameRule);
         if (value instanceof Integer intValue) {
             return intValue;
@@ -125,7 +285,7 @@ public class GeyserSpigotWorldManager extends WorldManager {
 
     public void getDecoratedPotData(GeyserSession session, Vector3i pos, Consumer<List<String>> apply) {
         Player bukkitPlayer;
-        if ((bukkitPlayer = Bukkit.getPlayer(session.getPlayerEntity().getUuid())) == null) {
+        if ((bukkitPlayer = getPlayer(session)) == null) {
             return;
         }
         Block block = bukkitPlayer.getWorld().getBlockAt(pos.getX(), pos.getY(), pos.getZ());
@@ -138,6 +298,40 @@ public class GeyserSpigotWorldManager extends WorldManager {
         }, block);
     }
 
+    /**
+     * The iterations of a block batch that fall into one chunk
+     */
+    private static final class ChunkBatch {
+        private final int chunkX;
+        private final int chunkZ;
+        private int[] iterations = new int[16];
+        private int size;
+
+        private ChunkBatch(int chunkX, int chunkZ) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+        }
+
+        private static ChunkBatch of(List<ChunkBatch> batches, int chunkX, int chunkZ) {
+            // Batches rarely span more than a few chunks, so a linear search beats hashing
+            for (ChunkBatch batch : batches) {
+                if (batch.chunkX == chunkX && batch.chunkZ == chunkZ) {
+                    return batch;
+                }
+            }
+            ChunkBatch batch = new ChunkBatch(chunkX, chunkZ);
+            batches.add(batch);
+            return batch;
+        }
+
+        private void add(int iteration) {
+            if (size == iterations.length) {
+                iterations = Arrays.copyOf(iterations, size * 2);
+            }
+            iterations[size++] = iteration;
+        }
+    }
+
     /**
      * This should be set to true if we are post-1.13 but before the latest version, and we should convert the old block state id
      * to the current one.
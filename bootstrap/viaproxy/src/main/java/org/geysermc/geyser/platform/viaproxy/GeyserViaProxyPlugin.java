@@ -106,10 +106,13 @@ public class GeyserViaProxyPlugin extends ViaProxyPlugin implements GeyserBootst
         final UUID uuid = event.getProxyConnection().getGameProfile().getId();
         if (uuid == null) return;
 
-        final GeyserSession connection = GeyserImpl.getInstance().onlineConnections().stream().filter(s -> s.javaUuid().equals(uuid)).findAny().orElse(null);
+        final String username = event.getProxyConnection().getGameProfile().getName();
+        if (username == null) return;
+
+        final GeyserSession connection = GeyserImpl.getInstance().getSessionManager().sessionByJavaUsername(username);
         if (connection == null) return;
 
-        if (connection.javaUsername().equals(event.getProxyConnection().getGameProfile().getName())) {
+        if (connection.javaUuid().equals(uuid) && connection.javaUsername().equals(username)) {
             event.setCancelled(true);
         }
     }
@@ -39,6 +39,7 @@ dependencies {
     implementation(libs.netty.resolver.dns)
     implementation(libs.netty.resolver.dns.native.macos) { artifact { classifier = "osx-x86_64" } }
     implementation(libs.netty.codec.haproxy)
+    implementation(libs.netty.codec.http)
 
     // Network dependencies we are updating ourselves
     api(libs.netty.handler)
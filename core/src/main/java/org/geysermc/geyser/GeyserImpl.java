@@ -63,6 +63,7 @@ import org.geysermc.geyser.api.event.lifecycle.GeyserRegisterPermissionsEvent;
 import org.geysermc.geyser.api.event.lifecycle.GeyserShutdownEvent;
 import org.geysermc.geyser.api.network.AuthType;
 import org.geysermc.geyser.api.network.BedrockListener;
+import org.geysermc.geyser.api.network.PacketTranslationStatistics;
 import org.geysermc.geyser.api.network.RemoteServer;
 import org.geysermc.geyser.api.util.MinecraftVersion;
 import org.geysermc.geyser.api.util.PlatformType;
@@ -74,9 +75,12 @@ import org.geysermc.geyser.event.GeyserEventBus;
 import org.geysermc.geyser.event.type.SessionDisconnectEventImpl;
 import org.geysermc.geyser.extension.GeyserExtensionManager;
 import org.geysermc.geyser.impl.MinecraftVersionImpl;
+import org.geysermc.geyser.impl.PacketTranslationStatisticsImpl;
 import org.geysermc.geyser.level.BedrockDimension;
 import org.geysermc.geyser.level.WorldManager;
+import org.geysermc.geyser.metrics.MetricsExporter;
 import org.geysermc.geyser.network.GameProtocol;
+import org.geysermc.geyser.network.http.ResourcePackHttpServer;
 import org.geysermc.geyser.network.netty.GeyserServer;
 import org.geysermc.geyser.registry.BlockRegistries;
 import org.geysermc.geyser.registry.Registries;
@@ -87,15 +91,18 @@ import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.session.PendingMicrosoftAuthentication;
 import org.geysermc.geyser.session.SessionDisconnectListener;
 import org.geysermc.geyser.session.SessionManager;
+import org.geysermc.geyser.session.SessionMemoryEstimator;
 import org.geysermc.geyser.session.cache.RegistryCache;
 import org.geysermc.geyser.skin.FloodgateSkinUploader;
 import org.geysermc.geyser.skin.ProvidedSkins;
 import org.geysermc.geyser.skin.SkinProvider;
 import org.geysermc.geyser.text.GeyserLocale;
 import org.geysermc.geyser.text.MinecraftLocale;
+import org.geysermc.geyser.translator.protocol.PacketTranslatorTimings;
 import org.geysermc.geyser.translator.text.MessageTranslator;
 import org.geysermc.geyser.util.AssetUtils;
 import org.geysermc.geyser.util.CooldownUtils;
+import org.geysermc.geyser.util.GeyserHttpClient;
 import org.geysermc.geyser.util.Metrics;
 import org.geysermc.geyser.util.NewsHandler;
 import org.geysermc.geyser.util.VersionCheckUtils;
@@ -166,6 +173,8 @@ public class GeyserImpl implements GeyserApi, EventRegistrar {
     private ScheduledExecutorService scheduledThread;
 
     private GeyserServer geyserServer;
+    private ResourcePackHttpServer resourcePackHttpServer;
+    private MetricsExporter metricsExporter;
     private final PlatformType platformType;
     private final GeyserBootstrap bootstrap;
 
@@ -301,6 +310,9 @@ public class GeyserImpl implements GeyserApi, EventRegistrar {
         ScoreboardUpdater.init();
 
         SkinProvider.registerCacheImageTask(this);
+        SessionMemoryEstimator.start(this);
+
+        PacketTranslatorTimings.setEnabled(config.isTranslatorTimings());
 
         Registries.RESOURCE_PACKS.load();
 
@@ -457,6 +469,38 @@ public class GeyserImpl implements GeyserApi, EventRegistrar {
                 }
             }).join();
 
+        if (config.getResourcePackHttpServer().isEnabled()) {
+            this.resourcePackHttpServer = new ResourcePackHttpServer(this);
+            String address = config.getResourcePackHttpServer().getAddress();
+            int port = config.getResourcePackHttpServer().getPort();
+            try {
+                this.resourcePackHttpServer.bind().join();
+                logger.info("Serving " + this.resourcePackHttpServer.servedPacks() + " resource pack(s) over HTTP on " + address + ":" + port);
+            } catch (Exception e) {
+                logger.error("Could not start the resource pack HTTP server on " + address + ":" + port + "!", e);
+                this.resourcePackHttpServer.shutdown();
+                this.resourcePackHttpServer = null;
+            }
+        } else {
+            this.resourcePackHttpServer = null;
+        }
+
+        if (config.getMetricsEndpoint().isEnabled()) {
+            this.metricsExporter = new MetricsExporter(this);
+            String address = config.getMetricsEndpoint().getAddress();
+            int port = config.getMetricsEndpoint().getPort();
+            try {
+                this.metricsExporter.bind().join();
+                logger.info("Serving metrics on http://" + address + ":" + port + "/metrics");
+            } catch (Exception e) {
+                logger.error("Could not start the metrics endpoint on " + address + ":" + port + "!", e);
+                this.metricsExporter.shutdown();
+                this.metricsExporter = null;
+            }
+        } else {
+            this.metricsExporter = null;
+        }
+
         if (config.getRemote().authType() == AuthType.FLOODGATE) {
             try {
                 Key key = new AesKeyProducer().produceFrom(config.getFloodgateKeyPath());
@@ -481,7 +525,7 @@ public class GeyserImpl implements GeyserApi, EventRegistrar {
             metrics.addCustomChart(new Metrics.SimplePie("version", () -> GeyserImpl.VERSION));
             metrics.addCustomChart(new Metrics.AdvancedPie("playerPlatform", () -> {
                 Map<String, Integer> valueMap = new HashMap<>();
-                for (GeyserSession session : sessionManager.getAllSessions()) {
+                for (GeyserSession session : sessionManager.getAllSessionsView()) {
                     if (session == null) continue;
                     if (session.getClientData() == null) continue;
                     String os = session.getClientData().getDeviceOs().toString();
@@ -495,7 +539,7 @@ public class GeyserImpl implements GeyserApi, EventRegistrar {
             }));
             metrics.addCustomChart(new Metrics.AdvancedPie("playerVersion", () -> {
                 Map<String, Integer> valueMap = new HashMap<>();
-                for (GeyserSession session : sessionManager.getAllSessions()) {
+                for (GeyserSession session : sessionManager.getAllSessionsView()) {
                     if (session == null) continue;
                     if (session.getClientData() == null) continue;
                     String version = session.getClientData().getGameVersion();
@@ -674,6 +718,8 @@ public class GeyserImpl implements GeyserApi, EventRegistrar {
 
         runIfNonNull(scheduledThread, ScheduledExecutorService::shutdown);
         runIfNonNull(geyserServer, GeyserServer::shutdown);
+        runIfNonNull(resourcePackHttpServer, ResourcePackHttpServer::shutdown);
+        runIfNonNull(metricsExporter, MetricsExporter::shutdown);
         runIfNonNull(skinUploader, FloodgateSkinUploader::close);
         runIfNonNull(newsHandler, NewsHandler::shutdown);
         runIfNonNull(erosionUnixListener, UnixSocketClientListener::close);
@@ -693,6 +739,8 @@ public class GeyserImpl implements GeyserApi, EventRegistrar {
         this.eventBus.fire(new GeyserShutdownEvent(this.extensionManager, this.eventBus));
         this.extensionManager.disableExtensions();
 
+        GeyserHttpClient.shutdownShared();
+
         bootstrap.getGeyserLogger().info(GeyserLocale.getLocaleStringLog("geyser.core.shutdown.done"));
     }
 
@@ -797,6 +845,11 @@ public class GeyserImpl implements GeyserApi, EventRegistrar {
         return getLogger();
     }
 
+    @Override
+    public @NonNull PacketTranslationStatistics packetTranslationStatistics() {
+        return PacketTranslationStatisticsImpl.INSTANCE;
+    }
+
     public int buildNumber() {
         if (!this.isProductionEnvironment()) {
             return 0;
@@ -50,7 +50,7 @@ public class ListCommand extends GeyserCommand {
 
         String message = GeyserLocale.getPlayerLocaleString("geyser.commands.list.message", source.locale(),
             geyser.getSessionManager().size(),
-            geyser.getSessionManager().getAllSessions().stream().map(GeyserSession::bedrockUsername).collect(Collectors.joining(" ")));
+            geyser.getSessionManager().getAllSessionsView().stream().map(GeyserSession::bedrockUsername).collect(Collectors.joining(" ")));
 
         source.sendMessage(message);
     }
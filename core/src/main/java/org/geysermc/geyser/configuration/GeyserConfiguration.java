@@ -36,6 +36,7 @@ import org.geysermc.geyser.text.GeyserLocale;
 
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 
 public interface GeyserConfiguration {
     /**
@@ -72,6 +73,10 @@ public interface GeyserConfiguration {
 
     boolean isDebugMode();
 
+    boolean isTranslatorTimings();
+
+    int getSessionMemoryWarningThreshold();
+
     @Deprecated
     boolean isAllowThirdPartyCapes();
 
@@ -96,11 +101,17 @@ public interface GeyserConfiguration {
 
     boolean isForceResourcePacks();
 
+    int getResourcePackSendWindow();
+
+    IResourcePackHttpServerConfiguration getResourcePackHttpServer();
+
     @SuppressWarnings("BooleanMethodIsAlwaysInverted")
     boolean isXboxAchievementsEnabled();
 
     int getCacheImages();
 
+    int getSkinCacheMemory();
+
     boolean isAllowCustomSkulls();
 
     int getMaxVisibleCustomSkulls();
@@ -115,6 +126,8 @@ public interface GeyserConfiguration {
 
     IMetricsInfo getMetrics();
 
+    IMetricsEndpointConfiguration getMetricsEndpoint();
+
     int getPendingAuthenticationTimeout();
 
     boolean isAutoconfiguredRemote();
@@ -161,6 +174,20 @@ public interface GeyserConfiguration {
         void setAuthType(AuthType authType);
     }
 
+    interface IResourcePackHttpServerConfiguration {
+
+        boolean isEnabled();
+
+        String getAddress();
+
+        int getPort();
+
+        /**
+         * @return the base URL that Bedrock clients should use to reach the server, or an empty string to derive it
+         */
+        String getUrl();
+    }
+
     interface IMetricsInfo {
 
         boolean isEnabled();
@@ -168,8 +195,67 @@ public interface GeyserConfiguration {
         String getUniqueId();
     }
 
+    interface IMetricsEndpointConfiguration {
+
+        boolean isEnabled();
+
+        String getAddress();
+
+        int getPort();
+    }
+
+    interface IEventLoopLagConfiguration {
+
+        /**
+         * @return how far behind an event loop may run, in milliseconds, before it is considered overloaded; 0 disables lag detection
+         */
+        int getThreshold();
+
+        boolean isShedCosmetics();
+
+        boolean isBalanceNewSessions();
+    }
+
+    interface IAdaptiveChunkRadiusConfiguration {
+
+        boolean isEnabled();
+
+        int getMinimumRadius();
+
+        /**
+         * @return the ping in milliseconds above which a session's radius is lowered; 0 disables the check
+         */
+        int getMaxPing();
+
+        /**
+         * @return the host CPU usage in percent above which radii are lowered; 0 disables the check
+         */
+        int getMaxCpuUsage();
+    }
+
+    interface IEntityCullingConfiguration {
+
+        boolean isEnabled();
+
+        /**
+         * @return the distance in blocks beyond which entities are culled; 0 uses the player's render distance
+         */
+        int getRadius();
+
+        /**
+         * @return radius overrides keyed by Java entity type, e.g. {@code item}
+         */
+        Map<String, Integer> getTypeRadius();
+    }
+
     int getScoreboardPacketThreshold();
 
+    IEventLoopLagConfiguration getEventLoopLag();
+
+    IAdaptiveChunkRadiusConfiguration getAdaptiveChunkRadius();
+
+    IEntityCullingConfiguration getEntityCulling();
+
     // if u have offline mode enabled pls be safe
     boolean isEnableProxyConnections();
 
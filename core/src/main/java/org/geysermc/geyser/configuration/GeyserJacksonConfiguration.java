@@ -47,6 +47,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -93,6 +94,12 @@ public abstract class GeyserJacksonConfiguration implements GeyserConfiguration
     @JsonProperty("debug-mode")
     private boolean debugMode = false;
 
+    @JsonProperty("translator-timings")
+    private boolean translatorTimings = false;
+
+    @JsonProperty("session-memory-warning-threshold")
+    private int sessionMemoryWarningThreshold = 0;
+
     @JsonProperty("allow-third-party-capes")
     private boolean allowThirdPartyCapes = false;
 
@@ -118,6 +125,9 @@ public abstract class GeyserJacksonConfiguration implements GeyserConfiguration
     @JsonProperty("cache-images")
     private int cacheImages = 0;
 
+    @JsonProperty("skin-cache-memory")
+    private int skinCacheMemory = 128;
+
     @JsonProperty("allow-custom-skulls")
     private boolean allowCustomSkulls = true;
 
@@ -136,6 +146,12 @@ public abstract class GeyserJacksonConfiguration implements GeyserConfiguration
     @JsonProperty("force-resource-packs")
     private boolean forceResourcePacks = true;
 
+    @JsonProperty("resource-pack-send-window")
+    private int resourcePackSendWindow = 4;
+
+    @JsonProperty("resource-pack-http-server")
+    private ResourcePackHttpServerConfiguration resourcePackHttpServer = new ResourcePackHttpServerConfiguration();
+
     @JsonProperty("xbox-achievements-enabled")
     private boolean xboxAchievementsEnabled = false;
 
@@ -150,6 +166,9 @@ public abstract class GeyserJacksonConfiguration implements GeyserConfiguration
 
     private MetricsInfo metrics = new MetricsInfo();
 
+    @JsonProperty("metrics-endpoint")
+    private MetricsEndpointConfiguration metricsEndpoint = new MetricsEndpointConfiguration();
+
     @JsonProperty("pending-authentication-timeout")
     private int pendingAuthenticationTimeout = 120;
 
@@ -301,6 +320,71 @@ public abstract class GeyserJacksonConfiguration implements GeyserConfiguration
         private boolean forwardHost = false;
     }
 
+    @Getter
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class ResourcePackHttpServerConfiguration implements IResourcePackHttpServerConfiguration {
+        private boolean enabled = false;
+
+        @AsteriskSerializer.Asterisk(isIp = true)
+        private String address = "0.0.0.0";
+
+        @JsonDeserialize(using = PortDeserializer.class)
+        private int port = 8085;
+
+        @AsteriskSerializer.Asterisk(isIp = true)
+        private String url = "";
+    }
+
+    @Getter
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class MetricsEndpointConfiguration implements IMetricsEndpointConfiguration {
+        private boolean enabled = false;
+
+        @AsteriskSerializer.Asterisk(isIp = true)
+        private String address = "127.0.0.1";
+
+        @JsonDeserialize(using = PortDeserializer.class)
+        private int port = 9464;
+    }
+
+    @Getter
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class EventLoopLagConfiguration implements IEventLoopLagConfiguration {
+        private int threshold = 100;
+
+        @JsonProperty("shed-cosmetics")
+        private boolean shedCosmetics = true;
+
+        @JsonProperty("balance-new-sessions")
+        private boolean balanceNewSessions = true;
+    }
+
+    @Getter
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class AdaptiveChunkRadiusConfiguration implements IAdaptiveChunkRadiusConfiguration {
+        private boolean enabled = false;
+
+        @JsonProperty("minimum-radius")
+        private int minimumRadius = 4;
+
+        @JsonProperty("max-ping")
+        private int maxPing = 300;
+
+        @JsonProperty("max-cpu-usage")
+        private int maxCpuUsage = 90;
+    }
+
+    @Getter
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class EntityCullingConfiguration implements IEntityCullingConfiguration {
+        private boolean enabled = false;
+
+        private int radius = 0;
+
+        @JsonProperty("type-radius")
+        private Map<String, Integer> typeRadius = Map.of();
+    }
+
     @Getter
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class MetricsInfo implements IMetricsInfo {
@@ -326,6 +410,15 @@ public abstract class GeyserJacksonConfiguration implements GeyserConfiguration
     @JsonProperty("scoreboard-packet-threshold")
     private int scoreboardPacketThreshold = 10;
 
+    @JsonProperty("event-loop-lag")
+    private EventLoopLagConfiguration eventLoopLag = new EventLoopLagConfiguration();
+
+    @JsonProperty("adaptive-chunk-radius")
+    private AdaptiveChunkRadiusConfiguration adaptiveChunkRadius = new AdaptiveChunkRadiusConfiguration();
+
+    @JsonProperty("entity-culling")
+    private EntityCullingConfiguration entityCulling = new EntityCullingConfiguration();
+
     @JsonProperty("enable-proxy-connections")
     private boolean enableProxyConnections = false;
 
@@ -42,8 +42,10 @@ import org.geysermc.geyser.api.GeyserApi;
 import org.geysermc.geyser.api.extension.Extension;
 import org.geysermc.geyser.configuration.GeyserConfiguration;
 import org.geysermc.geyser.network.GameProtocol;
+import org.geysermc.geyser.registry.Registries;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.text.AsteriskSerializer;
+import org.geysermc.geyser.translator.protocol.PacketTranslatorTimings;
 import org.geysermc.geyser.util.CpuUtils;
 import org.geysermc.geyser.util.FileUtils;
 import org.geysermc.geyser.util.WebUtils;
@@ -80,6 +82,8 @@ public class DumpInfo {
     private final BootstrapDumpInfo bootstrapInfo;
     private final FlagsInfo flagsInfo;
     private final List<ExtensionInfo> extensionInfo;
+    private final TranslatorTimingsInfo translatorTimings;
+    private final SessionMemoryInfo sessionMemory;
 
     public DumpInfo(GeyserImpl geyser, boolean addLog) {
         this.versionInfo = new VersionInfo();
@@ -120,7 +124,7 @@ public class DumpInfo {
         }
 
         this.userPlatforms = new Object2IntOpenHashMap<>();
-        for (GeyserSession session : geyser.getSessionManager().getAllSessions()) {
+        for (GeyserSession session : geyser.getSessionManager().getAllSessionsView()) {
             DeviceOs device = session.getClientData().getDeviceOs();
             userPlatforms.put(device, userPlatforms.getOrDefault(device, 0) + 1);
         }
@@ -139,6 +143,9 @@ public class DumpInfo {
         for (Extension extension : GeyserApi.api().extensionManager().extensions()) {
             this.extensionInfo.add(new ExtensionInfo(extension.isEnabled(), extension.name(), extension.description().version(), extension.description().apiVersion(), extension.description().main(), extension.description().authors()));
         }
+
+        this.translatorTimings = new TranslatorTimingsInfo();
+        this.sessionMemory = new SessionMemoryInfo(geyser);
     }
 
     @Getter
@@ -282,6 +289,44 @@ public class DumpInfo {
     public record ExtensionInfo(boolean enabled, String name, String version, String apiVersion, String main, List<String> authors) {
     }
 
+    /**
+     * Timings of every packet translator that ran since timings were enabled, slowest in total first
+     */
+    public record TranslatorTimingsInfo(boolean enabled, List<PacketTranslatorTimings.Snapshot> java, List<PacketTranslatorTimings.Snapshot> bedrock) {
+        public TranslatorTimingsInfo() {
+            this(PacketTranslatorTimings.isEnabled(),
+                    Registries.JAVA_PACKET_TRANSLATORS.getTimings().snapshot(),
+                    Registries.BEDROCK_PACKET_TRANSLATORS.getTimings().snapshot());
+        }
+    }
+
+    /**
+     * Estimated memory retained by session caches, in bytes, summed over all sessions, plus the largest sessions.
+     */
+    public record SessionMemoryInfo(long total, Map<String, Long> caches, List<SessionMemory> largest) {
+        private static final int LARGEST_SESSIONS = 5;
+
+        public SessionMemoryInfo(GeyserImpl geyser) {
+            this(geyser.getSessionManager().getAllSessions());
+        }
+
+        private SessionMemoryInfo(Collection<GeyserSession> sessions) {
+            this(sessions.stream().mapToLong(session -> session.getMemoryUsage().total()).sum(),
+                    sessions.stream()
+                            .flatMap(session -> session.getMemoryUsage().caches().entrySet().stream())
+                            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, Long::sum, TreeMap::new)),
+                    sessions.stream()
+                            .sorted(Comparator.comparingLong((GeyserSession session) -> session.getMemoryUsage().total()).reversed())
+                            .limit(LARGEST_SESSIONS)
+                            .map(session -> new SessionMemory(AsteriskSerializer.showSensitive ? session.bedrockUsername() : "***",
+                                    session.getMemoryUsage().total(), session.getMemoryUsage().caches()))
+                            .toList());
+        }
+    }
+
+    public record SessionMemory(String name, long total, Map<String, Long> caches) {
+    }
+
     public record GitInfo(String buildNumber, @JsonProperty("git.commit.id.abbrev") String commitHashAbbrev, @JsonProperty("git.commit.id") String commitHash,
                               @JsonProperty("git.branch") String branchName, @JsonProperty("git.remote.origin.url") String originUrl) {
     }
@@ -25,44 +25,284 @@
 
 package org.geysermc.geyser.entity;
 
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
 import org.cloudburstmc.protocol.bedrock.data.entity.EntityDataMap;
 import org.cloudburstmc.protocol.bedrock.data.entity.EntityDataType;
+import org.cloudburstmc.protocol.bedrock.data.entity.EntityDataTypes;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
 
 /**
  * A wrapper for temporarily storing entity metadata that will be sent to Bedrock.
+ * <p>
+ * Values are kept in small per-entity slot arrays, with numbers and booleans stored unboxed. The last value sent
+ * for each slot is remembered, and putting a value the client already has is ignored, as Java servers resend
+ * unchanged metadata very often.
  */
 public final class GeyserDirtyMetadata {
-    private final Map<EntityDataType<?>, Object> metadata = new Object2ObjectLinkedOpenHashMap<>();
+    /**
+     * Dense indices of all known Bedrock data types, used to find the slot of a type without hashing per entity.
+     */
+    private static final Object2IntMap<EntityDataType<?>> TYPE_INDICES = new Object2IntOpenHashMap<>();
+
+    static {
+        TYPE_INDICES.defaultReturnValue(-1);
+        for (Field field : EntityDataTypes.class.getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && EntityDataType.class.isAssignableFrom(field.getType())) {
+                try {
+                    TYPE_INDICES.putIfAbsent((EntityDataType<?>) field.get(null), TYPE_INDICES.size());
+                } catch (IllegalAccessException ignored) {
+                }
+            }
+        }
+    }
+
+    private static final byte REFERENCE = 0;
+    private static final byte BYTE = 1;
+    private static final byte SHORT = 2;
+    private static final byte INT = 3;
+    private static final byte LONG = 4;
+    private static final byte FLOAT = 5;
+    private static final byte BOOLEAN = 6;
+
+    /**
+     * Maximum number of distinct data types per entity that are tracked in slots. Further types, and types not
+     * declared in {@link EntityDataTypes}, are sent without change suppression.
+     */
+    private static final int MAX_SLOTS = Long.SIZE;
+
+    /**
+     * Maps a type index to its slot plus one; zero means the entity has no slot for the type yet.
+     */
+    private byte[] slotOf;
+    private EntityDataType<?>[] types = new EntityDataType<?>[8];
+    private byte[] kinds = new byte[8];
+    private long[] pendingPrimitives = new long[8];
+    private Object[] pendingReferences = new Object[8];
+    private long[] sentPrimitives = new long[8];
+    private Object[] sentReferences = new Object[8];
+    private int slotCount;
+    /**
+     * Bit masks over slots: values waiting to be sent, and values the client is known to have.
+     */
+    private long dirty;
+    private long sent;
+
+    private Map<EntityDataType<?>, Object> overflow;
+    private boolean suppressUnchanged = true;
 
     public <T> void put(EntityDataType<T> entityData, T value) {
-        metadata.put(entityData, value);
+        if (value instanceof Float f) {
+            putPrimitive(entityData, FLOAT, Float.floatToRawIntBits(f));
+        } else if (value instanceof Integer i) {
+            putPrimitive(entityData, INT, i);
+        } else if (value instanceof Byte b) {
+            putPrimitive(entityData, BYTE, b);
+        } else if (value instanceof Boolean b) {
+            putPrimitive(entityData, BOOLEAN, b ? 1 : 0);
+        } else if (value instanceof Long l) {
+            putPrimitive(entityData, LONG, l);
+        } else if (value instanceof Short s) {
+            putPrimitive(entityData, SHORT, s);
+        } else {
+            int slot = slot(entityData);
+            if (slot == -1) {
+                overflow().put(entityData, value);
+                return;
+            }
+            if (isSent(slot) && kinds[slot] == REFERENCE && Objects.equals(sentReferences[slot], value)) {
+                dirty &= ~(1L << slot);
+                return;
+            }
+            kinds[slot] = REFERENCE;
+            pendingReferences[slot] = value;
+            dirty |= 1L << slot;
+        }
+    }
+
+    public void put(EntityDataType<Float> entityData, float value) {
+        putPrimitive(entityData, FLOAT, Float.floatToRawIntBits(value));
+    }
+
+    public void put(EntityDataType<Integer> entityData, int value) {
+        putPrimitive(entityData, INT, value);
+    }
+
+    public void put(EntityDataType<Byte> entityData, byte value) {
+        putPrimitive(entityData, BYTE, value);
+    }
+
+    public void put(EntityDataType<Boolean> entityData, boolean value) {
+        putPrimitive(entityData, BOOLEAN, value ? 1 : 0);
+    }
+
+    public void put(EntityDataType<Long> entityData, long value) {
+        putPrimitive(entityData, LONG, value);
+    }
+
+    private void putPrimitive(EntityDataType<?> entityData, byte kind, long bits) {
+        int slot = slot(entityData);
+        if (slot == -1) {
+            overflow().put(entityData, box(kind, bits));
+            return;
+        }
+        if (isSent(slot) && kinds[slot] == kind && sentPrimitives[slot] == bits) {
+            // The client already has this value; also drops a different value put earlier in this tick
+            dirty &= ~(1L << slot);
+            return;
+        }
+        kinds[slot] = kind;
+        pendingPrimitives[slot] = bits;
+        pendingReferences[slot] = null;
+        dirty |= 1L << slot;
     }
 
     /**
      * Applies the contents of the dirty metadata into the input and clears the contents of our map.
      */
     public void apply(EntityDataMap map) {
-        map.putAll(metadata);
-        metadata.clear();
+        long dirty = this.dirty;
+        while (dirty != 0) {
+            int slot = Long.numberOfTrailingZeros(dirty);
+            dirty &= dirty - 1;
+
+            Object value = kinds[slot] == REFERENCE ? pendingReferences[slot] : box(kinds[slot], pendingPrimitives[slot]);
+            map.put(uncheckedType(types[slot]), value);
+
+            sentPrimitives[slot] = pendingPrimitives[slot];
+            sentReferences[slot] = pendingReferences[slot];
+            pendingReferences[slot] = null;
+        }
+        if (suppressUnchanged) {
+            this.sent |= this.dirty;
+        }
+        this.dirty = 0;
+
+        if (overflow != null && !overflow.isEmpty()) {
+            map.putAll(overflow);
+            overflow.clear();
+        }
     }
 
     public boolean hasEntries() {
-        return !metadata.isEmpty();
+        return dirty != 0 || (overflow != null && !overflow.isEmpty());
+    }
+
+    /**
+     * Forgets which values the client has, e.g. because the entity was despawned on the client.
+     */
+    public void forgetSent() {
+        sent = 0;
+    }
+
+    /**
+     * Whether values equal to the ones last sent should be skipped. Disable for entities whose metadata the client
+     * may change itself, so repeated values still reset it.
+     */
+    public void setSuppressUnchanged(boolean suppressUnchanged) {
+        this.suppressUnchanged = suppressUnchanged;
+        if (!suppressUnchanged) {
+            sent = 0;
+        }
     }
 
     /**
      * Intended for testing purposes only
      */
     public <T> T get(EntityDataType<T> entityData) {
+        int index = TYPE_INDICES.getInt(entityData);
+        if (slotOf != null && index != -1 && slotOf[index] != 0) {
+            int slot = slotOf[index] - 1;
+            if ((dirty & (1L << slot)) == 0) {
+                return null;
+            }
+            //noinspection unchecked
+            return (T) (kinds[slot] == REFERENCE ? pendingReferences[slot] : box(kinds[slot], pendingPrimitives[slot]));
+        }
         //noinspection unchecked
-        return (T) metadata.get(entityData);
+        return overflow == null ? null : (T) overflow.get(entityData);
+    }
+
+    private boolean isSent(int slot) {
+        return (sent & (1L << slot)) != 0;
+    }
+
+    /**
+     * @return the slot of this type for this entity, allocating one if needed, or -1 if it can't be tracked in a slot
+     */
+    private int slot(EntityDataType<?> entityData) {
+        int index = TYPE_INDICES.getInt(entityData);
+        if (index == -1) {
+            return -1;
+        }
+        if (slotOf == null) {
+            slotOf = new byte[TYPE_INDICES.size()];
+        } else if (slotOf[index] != 0) {
+            return slotOf[index] - 1;
+        }
+
+        if (slotCount == MAX_SLOTS) {
+            return -1;
+        }
+        int slot = slotCount++;
+        if (slot == types.length) {
+            int capacity = Math.min(types.length * 2, MAX_SLOTS);
+            types = Arrays.copyOf(types, capacity);
+            kinds = Arrays.copyOf(kinds, capacity);
+            pendingPrimitives = Arrays.copyOf(pendingPrimitives, capacity);
+            pendingReferences = Arrays.copyOf(pendingReferences, capacity);
+            sentPrimitives = Arrays.copyOf(sentPrimitives, capacity);
+            sentReferences = Arrays.copyOf(sentReferences, capacity);
+        }
+        types[slot] = entityData;
+        slotOf[index] = (byte) (slot + 1);
+        return slot;
+    }
+
+    private Map<EntityDataType<?>, Object> overflow() {
+        if (overflow == null) {
+            overflow = new Object2ObjectLinkedOpenHashMap<>();
+        }
+        return overflow;
+    }
+
+    private static Object box(byte kind, long bits) {
+        return switch (kind) {
+            case BYTE -> (byte) bits;
+            case SHORT -> (short) bits;
+            case INT -> (int) bits;
+            case LONG -> bits;
+            case FLOAT -> Float.intBitsToFloat((int) bits);
+            case BOOLEAN -> bits != 0;
+            default -> throw new IllegalStateException("Not a primitive kind: " + kind);
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static EntityDataType<Object> uncheckedType(EntityDataType<?> entityData) {
+        return (EntityDataType<Object>) entityData;
     }
 
     @Override
     public String toString() {
-        return metadata.toString();
+        StringJoiner joiner = new StringJoiner(", ", "{", "}");
+        long dirty = this.dirty;
+        while (dirty != 0) {
+            int slot = Long.numberOfTrailingZeros(dirty);
+            dirty &= dirty - 1;
+            Object value = kinds[slot] == REFERENCE ? pendingReferences[slot] : box(kinds[slot], pendingPrimitives[slot]);
+            joiner.add(types[slot] + "=" + value);
+        }
+        if (overflow != null) {
+            overflow.forEach((type, value) -> joiner.add(type + "=" + value));
+        }
+        return joiner.toString();
     }
 }
@@ -28,6 +28,7 @@ package org.geysermc.geyser.entity;
 import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
+import org.cloudburstmc.math.vector.Vector3f;
 import org.cloudburstmc.protocol.bedrock.packet.EmotePacket;
 import org.geysermc.geyser.api.entity.EntityData;
 import org.geysermc.geyser.api.entity.type.GeyserEntity;
@@ -36,6 +37,7 @@ import org.geysermc.geyser.entity.type.Entity;
 import org.geysermc.geyser.session.GeyserSession;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
@@ -58,6 +60,14 @@ public class GeyserEntityData implements EntityData {
         return future;
     }
 
+    @Override
+    public @NonNull CompletableFuture<@NonNull List<GeyserEntity>> entitiesInRange(@NonNull Vector3f position, @NonNegative double radius) {
+        Objects.requireNonNull(position, "position must not be null!");
+        CompletableFuture<List<GeyserEntity>> future = new CompletableFuture<>();
+        session.ensureInEventLoop(() -> future.complete(List.copyOf(session.getEntityCache().getEntitiesInRange(position, radius))));
+        return future;
+    }
+
     @Override
     public void showEmote(@NonNull GeyserPlayerEntity emoter, @NonNull String emoteId) {
         Objects.requireNonNull(emoter, "emoter must not be null!");
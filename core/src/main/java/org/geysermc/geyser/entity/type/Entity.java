@@ -38,7 +38,6 @@ import org.cloudburstmc.protocol.bedrock.data.entity.EntityFlag;
 import org.cloudburstmc.protocol.bedrock.packet.AddEntityPacket;
 import org.cloudburstmc.protocol.bedrock.packet.EntityEventPacket;
 import org.cloudburstmc.protocol.bedrock.packet.MoveEntityAbsolutePacket;
-import org.cloudburstmc.protocol.bedrock.packet.MoveEntityDeltaPacket;
 import org.cloudburstmc.protocol.bedrock.packet.RemoveEntityPacket;
 import org.cloudburstmc.protocol.bedrock.packet.SetEntityDataPacket;
 import org.geysermc.geyser.api.entity.type.GeyserEntity;
@@ -48,6 +47,8 @@ import org.geysermc.geyser.entity.properties.GeyserEntityPropertyManager;
 import org.geysermc.geyser.item.Items;
 import org.geysermc.geyser.scoreboard.Team;
 import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.cache.EntityCache;
+import org.geysermc.geyser.session.cache.EntityMovementCache;
 import org.geysermc.geyser.translator.text.MessageTranslator;
 import org.geysermc.geyser.util.EntityUtils;
 import org.geysermc.geyser.util.InteractionResult;
@@ -87,6 +88,15 @@ public class Entity implements GeyserEntity {
 
     protected Vector3f position;
     protected Vector3f motion;
+    /**
+     * The chunk this entity is filed under in the spatial index of the {@link EntityCache}. Managed by the cache.
+     */
+    private long indexedChunk = EntityCache.NOT_INDEXED;
+    /**
+     * The slot of this entity in the {@link org.geysermc.geyser.session.cache.TickableEntities} of its session, or -1
+     * if it isn't ticked. Managed by the cache.
+     */
+    private int tickSlot = -1;
 
     /**
      * x = Yaw, y = Pitch, z = HeadYaw
@@ -231,6 +241,9 @@ public class Entity implements GeyserEntity {
             passenger.updateBedrockMetadata();
         }
 
+        session.getEntityMovementCache().discard(this);
+        dirtyMetadata.forgetSent();
+
         RemoveEntityPacket removeEntityPacket = new RemoveEntityPacket();
         removeEntityPacket.setUniqueEntityId(geyserId);
         session.sendUpstreamPacket(removeEntityPacket);
@@ -238,47 +251,65 @@ public class Entity implements GeyserEntity {
         valid = false;
     }
 
+    public void setPosition(Vector3f position) {
+        this.position = position;
+        updateSpatialIndex();
+    }
+
+    /**
+     * Must be called after assigning {@link #position} directly, so spatial queries keep finding this entity.
+     */
+    protected final void updateSpatialIndex() {
+        if (indexedChunk != EntityCache.NOT_INDEXED) {
+            session.getEntityCache().updateSpatialIndex(this);
+        }
+    }
+
     public void moveRelative(double relX, double relY, double relZ, float yaw, float pitch, boolean isOnGround) {
         moveRelative(relX, relY, relZ, yaw, pitch, getHeadYaw(), isOnGround);
     }
 
     public void moveRelative(double relX, double relY, double relZ, float yaw, float pitch, float headYaw, boolean isOnGround) {
         position = Vector3f.from(position.getX() + relX, position.getY() + relY, position.getZ() + relZ);
+        updateSpatialIndex();
 
-        MoveEntityDeltaPacket moveEntityPacket = new MoveEntityDeltaPacket();
-        moveEntityPacket.setRuntimeEntityId(geyserId);
+        int changes = 0;
         if (relX != 0.0) {
-            moveEntityPacket.setX(position.getX());
-            moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_X);
+            changes |= EntityMovementCache.X;
         }
         if (relY != 0.0) {
-            moveEntityPacket.setY(position.getY());
-            moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_Y);
+            changes |= EntityMovementCache.Y;
         }
         if (relZ != 0.0) {
-            moveEntityPacket.setZ(position.getZ());
-            moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_Z);
+            changes |= EntityMovementCache.Z;
         }
         if (pitch != this.pitch) {
             this.pitch = pitch;
-            moveEntityPacket.setPitch(pitch);
-            moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_PITCH);
+            changes |= EntityMovementCache.PITCH;
         }
         if (yaw != this.yaw) {
             this.yaw = yaw;
-            moveEntityPacket.setYaw(yaw);
-            moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_YAW);
+            changes |= EntityMovementCache.YAW;
         }
         if (headYaw != this.headYaw) {
             this.headYaw = headYaw;
-            moveEntityPacket.setHeadYaw(headYaw);
-            moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_HEAD_YAW);
+            changes |= EntityMovementCache.HEAD_YAW;
         }
         setOnGround(isOnGround);
-        if (isOnGround) {
-            moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.ON_GROUND);
+        if (coalescesMovement()) {
+            // Sent at the end of the tick, merged with any other movement of this entity in the same tick
+            session.getEntityMovementCache().queue(this, changes);
+        } else {
+            session.getEntityMovementCache().sendNow(this, changes);
         }
-        session.sendUpstreamPacket(moveEntityPacket);
+    }
+
+    /**
+     * @return whether relative movement of this entity may be held back until the end of the tick. Entities that
+     * are ridden or riding must stay in order with their link and passenger packets, so their movement is sent right away.
+     */
+    protected boolean coalescesMovement() {
+        return vehicle == null && passengers.isEmpty();
     }
 
     public void moveAbsolute(Vector3f position, float yaw, float pitch, boolean isOnGround, boolean teleported) {
@@ -293,6 +324,9 @@ public class Entity implements GeyserEntity {
         setHeadYaw(headYaw);
         setOnGround(isOnGround);
 
+        // This packet contains the latest position and rotation, so relative movement from earlier in the tick is redundant
+        session.getEntityMovementCache().discard(this);
+
         MoveEntityAbsolutePacket moveEntityPacket = new MoveEntityAbsolutePacket();
         moveEntityPacket.setRuntimeEntityId(geyserId);
         moveEntityPacket.setPosition(position);
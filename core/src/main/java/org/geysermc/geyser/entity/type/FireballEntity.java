@@ -67,6 +67,7 @@ public class FireballEntity extends ThrowableEntity {
         }
         super.moveAbsoluteImmediate(newPosition, yaw, pitch, headYaw, isOnGround, teleported);
         this.position = position;
+        updateSpatialIndex();
         this.motion = lastMotion;
     }
 
@@ -119,6 +119,7 @@ public class ItemEntity extends ThrowableEntity {
         }
         super.moveAbsoluteImmediate(position.add(0, offset, 0), 0, 0, 0, isOnGround, teleported);
         this.position = position;
+        updateSpatialIndex();
 
         waterLevel = session.getGeyser().getWorldManager().getBlockAtAsync(session, position.getFloorX(), position.getFloorY(), position.getFloorZ())
                 .thenApply(BlockStateValues::getWaterLevel);
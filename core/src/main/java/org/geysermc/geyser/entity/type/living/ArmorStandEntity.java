@@ -123,6 +123,7 @@ public class ArmorStandEntity extends LivingEntity {
         float yOffset = getYOffset();
         super.moveAbsolute(yOffset != 0 ? position.up(yOffset) : position , yaw, yaw, yaw, isOnGround, teleported);
         this.position = position;
+        updateSpatialIndex();
     }
 
     @Override
@@ -152,6 +152,9 @@ public class VillagerEntity extends AbstractMerchantEntity {
         setHeadYaw(headYaw);
         setOnGround(isOnGround);
         this.position = Vector3f.from(position.getX() + relX, position.getY() + relY, position.getZ() + relZ);
+        updateSpatialIndex();
+
+        session.getEntityMovementCache().discard(this);
 
         MoveEntityAbsolutePacket moveEntityPacket = new MoveEntityAbsolutePacket();
         moveEntityPacket.setRuntimeEntityId(geyserId);
@@ -223,6 +223,7 @@ public class PlayerEntity extends LivingEntity implements GeyserPlayerEntity {
         setPitch(pitch);
         setHeadYaw(headYaw);
         this.position = Vector3f.from(position.getX() + relX, position.getY() + relY, position.getZ() + relZ);
+        updateSpatialIndex();
 
         setOnGround(isOnGround);
 
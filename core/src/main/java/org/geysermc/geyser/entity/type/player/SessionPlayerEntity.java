@@ -107,6 +107,8 @@ public class SessionPlayerEntity extends PlayerEntity {
 
     public SessionPlayerEntity(GeyserSession session) {
         super(session, -1, 1, null, Vector3f.ZERO, Vector3f.ZERO, 0, 0, 0, null, null);
+        // The client changes some of its own metadata, so it must always receive what the server sends
+        dirtyMetadata.setSuppressUnchanged(false);
 
         valid = true;
     }
@@ -132,6 +134,12 @@ public class SessionPlayerEntity extends PlayerEntity {
         session.getCollisionManager().updatePlayerBoundingBox(this.position.down(definition.offset()));
     }
 
+    @Override
+    protected boolean coalescesMovement() {
+        // The client acts on its own position immediately, so server-driven moves must not wait for the end of the tick
+        return false;
+    }
+
     @Override
     public void moveAbsolute(Vector3f position, float yaw, float pitch, float headYaw, boolean isOnGround, boolean teleported) {
         if (voidPositionDesynched) {
@@ -36,6 +36,7 @@ import org.cloudburstmc.protocol.bedrock.data.entity.EntityFlag;
 import org.cloudburstmc.protocol.bedrock.packet.MoveEntityDeltaPacket;
 import org.geysermc.erosion.util.BlockPositionIterator;
 import org.geysermc.geyser.entity.type.LivingEntity;
+import org.geysermc.geyser.level.BlockPrefetcher;
 import org.geysermc.geyser.level.block.BlockStateValues;
 import org.geysermc.geyser.level.block.Blocks;
 import org.geysermc.geyser.level.block.Fluid;
@@ -65,6 +66,19 @@ public class VehicleComponent<T extends LivingEntity & ClientVehicle> {
 
     protected final T vehicle;
     protected final BoundingBox boundingBox;
+    /**
+     * Reused for short-lived copies of {@link #boundingBox} while scanning nearby blocks
+     */
+    private final BoundingBox scratchBoundingBox = new BoundingBox(0, 0, 0, 0, 0, 0);
+    private final BlockPrefetcher blockPrefetcher;
+    /**
+     * The blocks around the vehicle, kept across ticks until it moves more than a block away from {@link #cachePos}
+     * or any block changes
+     */
+    private Vector3d cachePos;
+    private int cacheRevision;
+    private BlockPositionIterator blockIter;
+    private int[] blocks;
 
     protected float stepHeight;
     protected float moveSpeed;
@@ -87,6 +101,7 @@ public class VehicleComponent<T extends LivingEntity & ClientVehicle> {
                 vehicle.getPosition().getZ(),
                 width, height, width
         );
+        this.blockPrefetcher = new BlockPrefetcher(vehicle.getSession());
     }
 
     public void setWidth(float width) {
@@ -191,6 +206,26 @@ public class VehicleComponent<T extends LivingEntity & ClientVehicle> {
             }
             case EMPTY -> landMovement(ctx);
         }
+
+        // If the next tick has to reload the surrounding blocks, request them now, with an extra block of margin
+        Vector3d nextPos = boundingBox.getBottomCenter().add(vehicle.getMotion().toDouble());
+        if (cachePos == null || cachePos.distanceSquared(nextPos) > 1) {
+            blockPrefetcher.prefetch(surroundingBlocksIterator(4));
+        }
+        vehicle.getSession().getCollisionManager().prefetchNearbyBlocks(boundingBox, stepHeight);
+    }
+
+    /**
+     * @param expand how much to grow the bounding box by in each axis
+     * @return an iterator over the blocks around the vehicle
+     */
+    private BlockPositionIterator surroundingBlocksIterator(double expand) {
+        BoundingBox box = scratchBoundingBox.set(boundingBox);
+        box.expand(expand);
+
+        Vector3i min = box.getMin().toInt();
+        Vector3i max = box.getMax().toInt();
+        return BlockPositionIterator.fromMinMax(min.getX(), min.getY(), min.getZ(), max.getX(), max.getY(), max.getZ());
     }
 
     /**
@@ -200,7 +235,7 @@ public class VehicleComponent<T extends LivingEntity & ClientVehicle> {
      * @return type and height of fluid to use for movement
      */
     protected ObjectDoublePair<Fluid> updateFluidMovement(VehicleContext ctx) {
-        BoundingBox box = boundingBox.clone();
+        BoundingBox box = scratchBoundingBox.set(boundingBox);
         box.expand(-0.001);
 
         Vector3d min = box.getMin();
@@ -447,7 +482,7 @@ public class VehicleComponent<T extends LivingEntity & ClientVehicle> {
     }
 
     protected boolean shouldApplyFluidJumpBoost(VehicleContext ctx, double originalY) {
-        BoundingBox box = boundingBox.clone();
+        BoundingBox box = scratchBoundingBox.set(boundingBox);
         box.translate(vehicle.getMotion().toDouble().up(0.6f - ctx.centerPos().getY() + originalY));
         box.expand(-1.0E-7);
 
@@ -490,7 +525,7 @@ public class VehicleComponent<T extends LivingEntity & ClientVehicle> {
      * @return the multiplier
      */
     protected @Nullable Vector3f getBlockMovementMultiplier(VehicleContext ctx) {
-        BoundingBox box = boundingBox.clone();
+        BoundingBox box = scratchBoundingBox.set(boundingBox);
         box.expand(-1.0E-7);
 
         Vector3i min = box.getMin().toInt();
@@ -527,7 +562,7 @@ public class VehicleComponent<T extends LivingEntity & ClientVehicle> {
     }
 
     protected void applyBlockCollisionEffects(VehicleContext ctx) {
-        BoundingBox box = boundingBox.clone();
+        BoundingBox box = scratchBoundingBox.set(boundingBox);
         box.expand(-1.0E-7);
 
         Vector3i min = box.getMin().toInt();
@@ -789,7 +824,7 @@ public class VehicleComponent<T extends LivingEntity & ClientVehicle> {
         Vector3i result = null;
 
         if (vehicle.isOnGround()) {
-            BoundingBox box = boundingBox.clone();
+            BoundingBox box = scratchBoundingBox.set(boundingBox);
             box.extend(0, -1.0E-6, 0); // Extend slightly down
 
             Vector3i min = box.getMin().toInt();
@@ -887,11 +922,8 @@ public class VehicleComponent<T extends LivingEntity & ClientVehicle> {
 
     protected class VehicleContext {
         private Vector3d centerPos;
-        private Vector3d cachePos;
         private BlockState centerBlock;
         private Vector3i supportingBlockPos;
-        private BlockPositionIterator blockIter;
-        private int[] blocks;
 
         /**
          * Cache frequently used data and blocks used in movement calculations.
@@ -901,17 +933,14 @@ public class VehicleComponent<T extends LivingEntity & ClientVehicle> {
         protected void loadSurroundingBlocks() {
             this.centerPos = boundingBox.getBottomCenter();
 
-            // Reuse block cache if vehicle moved less than 1 block
-            if (this.cachePos == null || this.cachePos.distanceSquared(this.centerPos) > 1) {
-                BoundingBox box = boundingBox.clone();
-                box.expand(2);
-
-                Vector3i min = box.getMin().toInt();
-                Vector3i max = box.getMax().toInt();
-                this.blockIter = BlockPositionIterator.fromMinMax(min.getX(), min.getY(), min.getZ(), max.getX(), max.getY(), max.getZ());
-                this.blocks = vehicle.getSession().getGeyser().getWorldManager().getBlocksAt(vehicle.getSession(), this.blockIter);
+            // Reuse block cache if vehicle moved less than 1 block and no block has changed
+            int revision = vehicle.getSession().getChunkCache().getRevision();
+            if (cachePos == null || cachePos.distanceSquared(this.centerPos) > 1 || cacheRevision != revision) {
+                blockIter = surroundingBlocksIterator(2);
+                blocks = blockPrefetcher.getBlocksAt(blockIter);
 
-                this.cachePos = this.centerPos;
+                cachePos = this.centerPos;
+                cacheRevision = revision;
             }
 
             this.centerBlock = getBlock(this.centerPos.toInt());
@@ -935,7 +964,7 @@ public class VehicleComponent<T extends LivingEntity & ClientVehicle> {
         }
 
         protected int getBlockId(int x, int y, int z) {
-            int index = this.blockIter.getIndex(x, y, z);
+            int index = blockIter.getIndex(x, y, z);
             if (index == -1) {
                 vehicle.getSession().getGeyser().getLogger().debug("[client-vehicle] Block cache miss");
                 return vehicle.getSession().getGeyser().getWorldManager().getBlockAt(vehicle.getSession(), x, y, z);
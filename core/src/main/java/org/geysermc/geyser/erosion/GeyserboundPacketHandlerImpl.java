@@ -34,15 +34,19 @@ import it.unimi.dsi.fastutil.objects.Object2ObjectArrayMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
 import lombok.Getter;
 import lombok.Setter;
+import net.kyori.adventure.key.Key;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.math.vector.Vector3i;
 import org.cloudburstmc.nbt.NbtMap;
 import org.cloudburstmc.protocol.bedrock.data.SoundEvent;
 import org.cloudburstmc.protocol.bedrock.packet.LevelSoundEventPacket;
 import org.geysermc.erosion.packet.ErosionPacketHandler;
 import org.geysermc.erosion.packet.ErosionPacketSender;
+import org.geysermc.erosion.packet.backendbound.BackendboundBatchBlockRequestPacket;
 import org.geysermc.erosion.packet.backendbound.BackendboundInitializePacket;
 import org.geysermc.erosion.packet.backendbound.BackendboundPacket;
 import org.geysermc.erosion.packet.geyserbound.*;
+import org.geysermc.erosion.util.BlockPositionIterator;
 import org.geysermc.geyser.level.block.BlockStateValues;
 import org.geysermc.geyser.level.block.property.Properties;
 import org.geysermc.geyser.level.block.type.Block;
@@ -55,19 +59,45 @@ import org.geysermc.geyser.translator.level.block.entity.PistonBlockEntity;
 import org.geysermc.geyser.util.BlockEntityUtils;
 import org.geysermc.mcprotocollib.protocol.data.game.level.block.value.PistonValueType;
 
+import java.util.ArrayDeque;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public final class GeyserboundPacketHandlerImpl extends AbstractGeyserboundPacketHandler {
+    /**
+     * A backend that stops answering would otherwise let batch lookups pile up forever
+     */
+    private static final int MAX_PENDING_BATCH_LOOKUPS = 64;
+
     private final ErosionPacketSender<BackendboundPacket> packetSender;
     @Setter
     private CompletableFuture<Integer> pendingLookup = null;
     @Getter
     private final Int2ObjectMap<CompletableFuture<Integer>> asyncPendingLookups = Int2ObjectMaps.synchronize(new Int2ObjectOpenHashMap<>(4));
-    @Setter
-    private CompletableFuture<int[]> pendingBatchLookup = null;
+    /**
+     * Outstanding batch lookups, oldest first. Batch packets carry no transaction ID on the wire, but the backend
+     * answers them in the order they were sent, so the oldest outstanding lookup is the one being answered.
+     */
+    private final Queue<PendingBatchLookup> pendingBatchLookups = new ArrayDeque<>();
+    /**
+     * How many replies still belong to lookups that were failed early, and should be dropped when they arrive
+     */
+    private int discardedBatchReplies = 0;
     @Setter
     private CompletableFuture<Int2ObjectMap<byte[]>> pickBlockLookup = null;
+    /**
+     * Blocks published by a backend on the same host, read before falling back to a lookup over the socket
+     */
+    @Getter
+    @Setter
+    private volatile @Nullable SharedBlockRegion sharedBlocks = null;
+    private volatile @Nullable SharedBlocksWorld sharedBlocksWorld = null;
+    /**
+     * Whether the last batch read from the shared region found every block. A backend only publishes the chunks it
+     * has loaded, so until reads actually hit, lookups still go over the socket.
+     */
+    private volatile boolean sharedBlocksHit = false;
 
     private final AtomicInteger nextTransactionId = new AtomicInteger(1);
 
@@ -78,8 +108,18 @@ public final class GeyserboundPacketHandlerImpl extends AbstractGeyserboundPacke
 
     @Override
     public void handleBatchBlockId(GeyserboundBatchBlockIdPacket packet) {
-        if (this.pendingBatchLookup != null) {
-            this.pendingBatchLookup.complete(packet.getBlocks());
+        if (discardBatchReply()) {
+            return;
+        }
+        PendingBatchLookup lookup = pollBatchLookup();
+        if (lookup != null) {
+            if (lookup.size() != packet.getBlocks().length) {
+                // The replies no longer line up with the requests, so none of the outstanding lookups can be trusted
+                failBatchLookups(lookup, new IllegalStateException("Batch block lookup of " + lookup.size()
+                        + " blocks was answered with " + packet.getBlocks().length + " blocks"));
+                return;
+            }
+            lookup.future().complete(packet.getBlocks());
         } else {
             session.getGeyser().getLogger().warning("Batch block ID packet received with no future to complete.");
         }
@@ -110,8 +150,12 @@ public final class GeyserboundPacketHandlerImpl extends AbstractGeyserboundPacke
     @Override
     public void handleBlockLookupFail(GeyserboundBlockLookupFailPacket packet) {
         if (packet.getTransactionId() == 0) {
-            if (this.pendingBatchLookup != null) {
-                this.pendingBatchLookup.complete(null);
+            if (discardBatchReply()) {
+                return;
+            }
+            PendingBatchLookup lookup = pollBatchLookup();
+            if (lookup != null) {
+                lookup.future().complete(null);
                 return;
             }
         }
@@ -196,14 +240,62 @@ public final class GeyserboundPacketHandlerImpl extends AbstractGeyserboundPacke
         this.packetSender.sendPacket(packet);
     }
 
+    /**
+     * Requests the block IDs of every position in the iterator. Several lookups may be outstanding at once.
+     *
+     * @param iter the positions to look up
+     * @return a future completed with the block IDs in iteration order, or with null if the lookup failed. It fails if
+     * too many lookups are already outstanding, or if the backend's replies stop matching the requests.
+     */
+    public CompletableFuture<int[]> requestBlocks(BlockPositionIterator iter) {
+        CompletableFuture<int[]> future = new CompletableFuture<>();
+        synchronized (pendingBatchLookups) {
+            if (pendingBatchLookups.size() >= MAX_PENDING_BATCH_LOOKUPS) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Too many outstanding batch block lookups"));
+            }
+            // Queued and sent under the same lock so the queue order matches the order the backend answers in
+            pendingBatchLookups.add(new PendingBatchLookup(future, iter.getMaxIterations()));
+            sendPacket(new BackendboundBatchBlockRequestPacket(iter));
+        }
+        return future;
+    }
+
+    private @Nullable PendingBatchLookup pollBatchLookup() {
+        synchronized (pendingBatchLookups) {
+            return pendingBatchLookups.poll();
+        }
+    }
+
+    private boolean discardBatchReply() {
+        synchronized (pendingBatchLookups) {
+            if (discardedBatchReplies > 0) {
+                discardedBatchReplies--;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private void failBatchLookups(PendingBatchLookup first, Throwable cause) {
+        session.getGeyser().getLogger().warning(cause.getMessage() + "; failing all outstanding batch block lookups");
+        first.future().completeExceptionally(cause);
+        synchronized (pendingBatchLookups) {
+            pendingBatchLookups.forEach(lookup -> lookup.future().completeExceptionally(cause));
+            // The backend will likely still answer these, which must not be matched to newer lookups
+            discardedBatchReplies += pendingBatchLookups.size();
+            pendingBatchLookups.clear();
+        }
+    }
+
     public void close() {
         this.packetSender.close();
 
         if (pendingLookup != null) {
             pendingLookup.completeExceptionally(new ErosionCancellationException());
         }
-        if (pendingBatchLookup != null) {
-            pendingBatchLookup.completeExceptionally(new ErosionCancellationException());
+        synchronized (pendingBatchLookups) {
+            pendingBatchLookups.forEach(lookup -> lookup.future().completeExceptionally(new ErosionCancellationException()));
+            pendingBatchLookups.clear();
         }
         if (pickBlockLookup != null) {
             pickBlockLookup.completeExceptionally(new ErosionCancellationException());
@@ -211,6 +303,52 @@ public final class GeyserboundPacketHandlerImpl extends AbstractGeyserboundPacke
         asyncPendingLookups.forEach(($, future) -> future.completeExceptionally(new ErosionCancellationException()));
     }
 
+    /**
+     * Reads a block from the shared region.
+     *
+     * @return the Java block state ID, or {@link SharedBlockRegion#MISS} if it has to be looked up over the socket
+     */
+    public int getSharedBlockAt(int x, int y, int z) {
+        SharedBlockRegion region = this.sharedBlocks;
+        if (region == null || session.getWorldName() == null) {
+            return SharedBlockRegion.MISS;
+        }
+        return region.getBlockAt(sharedBlocksWorldId(), x, y, z);
+    }
+
+    /**
+     * Reads every block of the iterator from the shared region.
+     *
+     * @return the Java block state IDs in iteration order, or null if they have to be looked up over the socket
+     */
+    public int @Nullable [] getSharedBlocksAt(BlockPositionIterator iter) {
+        SharedBlockRegion region = this.sharedBlocks;
+        if (region == null || session.getWorldName() == null) {
+            sharedBlocksHit = false;
+            return null;
+        }
+        int[] blocks = region.getBlocksAt(sharedBlocksWorldId(), iter);
+        sharedBlocksHit = blocks != null;
+        return blocks;
+    }
+
+    /**
+     * @return whether blocks can currently be expected to be read from the shared region rather than over the socket
+     */
+    public boolean isSharedBlocksHit() {
+        return sharedBlocksHit && this.sharedBlocks != null;
+    }
+
+    private long sharedBlocksWorldId() {
+        Key worldName = session.getWorldName();
+        SharedBlocksWorld world = this.sharedBlocksWorld;
+        if (world == null || world.name() != worldName) {
+            world = new SharedBlocksWorld(worldName, SharedBlockRegion.worldId(worldName.asString()));
+            this.sharedBlocksWorld = world;
+        }
+        return world.id();
+    }
+
     public int getNextTransactionId() {
         return nextTransactionId.getAndIncrement();
     }
@@ -220,4 +358,13 @@ public final class GeyserboundPacketHandlerImpl extends AbstractGeyserboundPacke
         this.packetSender.setChannel(channel);
         return this;
     }
+
+    private record SharedBlocksWorld(Key name, long id) {
+    }
+
+    /**
+     * @param size how many blocks were requested, which the reply must match
+     */
+    private record PendingBatchLookup(CompletableFuture<int[]> future, int size) {
+    }
 }
@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.erosion;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.erosion.util.BlockPositionIterator;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A memory-mapped file in which a backend on the same host publishes chunk sections of block state IDs, so that
+ * block lookups become memory reads instead of round trips over the erosion socket.
+ * <p>
+ * The file starts with a {@value #HEADER_SIZE} byte header (magic, version, slot count, state, heartbeat, generation), followed by a
+ * power-of-two number of slots. Each slot holds one 16x16x16 section: a sequence number, the world ID, the section
+ * coordinates and 4096 block state IDs in YZX order. A section can only live in the slot its coordinates hash to;
+ * publishing a section replaces whatever was there before. All values use the native byte order.
+ * <p>
+ * Slots are guarded by their sequence number. The writer makes it odd before changing the slot and even again
+ * afterwards; readers retry if the sequence was odd or changed while they were reading. A sequence of 0 means
+ * the slot was never written.
+ * <p>
+ * Readers stop using a region once the backend closes it, once its heartbeat is older than
+ * {@value #HEARTBEAT_TIMEOUT_MILLIS} ms (for example because the backend crashed), or once the file was rewritten in
+ * place. A backend replaces an existing file by renaming a new one over it, so older mappings keep their own file and
+ * never see it shrink underneath them.
+ */
+public final class SharedBlockRegion {
+    /**
+     * Returned by lookups that did not find the block in the region
+     */
+    public static final int MISS = -1;
+
+    static final int MAGIC = 0x47425352; // GBSR
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 64;
+    static final int STATE_OPEN = 1;
+    static final int STATE_CLOSED = 0;
+    /**
+     * How long after the last {@link #heartbeat()} readers consider the backend gone
+     */
+    static final long HEARTBEAT_TIMEOUT_MILLIS = 5000;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int SLOT_COUNT_OFFSET = 8;
+    private static final int STATE_OFFSET = 12;
+    private static final int HEARTBEAT_OFFSET = 16;
+    private static final int GENERATION_OFFSET = 24;
+
+    private static final int SECTION_BLOCKS = 16 * 16 * 16;
+    private static final int SLOT_HEADER_SIZE = 32;
+    static final int SLOT_SIZE = SLOT_HEADER_SIZE + SECTION_BLOCKS * Integer.BYTES;
+
+    private static final int SEQUENCE_OFFSET = 0;
+    private static final int WORLD_OFFSET = 8;
+    private static final int X_OFFSET = 16;
+    private static final int Y_OFFSET = 20;
+    private static final int Z_OFFSET = 24;
+
+    private static final int READ_ATTEMPTS = 4;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final VarHandle INTS = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private final MappedByteBuffer buffer;
+    private final int slotMask;
+    /**
+     * Identifies the file this region was mapped from; see {@link #isOpen()}
+     */
+    private final long generation;
+
+    private SharedBlockRegion(MappedByteBuffer buffer, int slotCount) {
+        this.buffer = buffer;
+        this.slotMask = slotCount - 1;
+        this.generation = (long) LONGS.getAcquire(buffer, GENERATION_OFFSET);
+    }
+
+    /**
+     * Maps an existing region for reading.
+     *
+     * @param path the region file
+     * @return the region
+     * @throws IOException if the file could not be mapped or is not a region of a supported version
+     */
+    public static SharedBlockRegion open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException("Shared block region " + path + " is too small");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.nativeOrder());
+            if (buffer.getInt(MAGIC_OFFSET) != MAGIC) {
+                throw new IOException(path + " is not a shared block region");
+            }
+            if (buffer.getInt(VERSION_OFFSET) != VERSION) {
+                throw new IOException("Unsupported shared block region version " + buffer.getInt(VERSION_OFFSET));
+            }
+            int slotCount = buffer.getInt(SLOT_COUNT_OFFSET);
+            if (!isValidSlotCount(slotCount) || size < HEADER_SIZE + (long) slotCount * SLOT_SIZE) {
+                throw new IOException("Shared block region " + path + " has an invalid slot count " + slotCount);
+            }
+            return new SharedBlockRegion(buffer, slotCount);
+        }
+    }
+
+    /**
+     * Creates a region for writing, replacing any existing file. This is the backend side of the transport; Geyser
+     * only reads. The backend must call {@link #heartbeat()} regularly for readers to keep using the region.
+     *
+     * @param path the region file
+     * @param slotCount the number of sections the region can hold, a power of two
+     * @return the region
+     * @throws IOException if the file could not be created
+     */
+    public static SharedBlockRegion create(Path path, int slotCount) throws IOException {
+        if (!isValidSlotCount(slotCount)) {
+            throw new IllegalArgumentException("Slot count must be a power of two that fits in a 2 GiB file");
+        }
+        // Written next to the region and renamed over it, so that readers of an older file never see it truncated
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) slotCount * SLOT_SIZE);
+        }
+        buffer.order(ByteOrder.nativeOrder());
+        buffer.putInt(MAGIC_OFFSET, MAGIC);
+        buffer.putInt(VERSION_OFFSET, VERSION);
+        buffer.putInt(SLOT_COUNT_OFFSET, slotCount);
+        buffer.putLong(HEARTBEAT_OFFSET, System.currentTimeMillis());
+        long generation;
+        do {
+            generation = ThreadLocalRandom.current().nextLong();
+        } while (generation == 0);
+        buffer.putLong(GENERATION_OFFSET, generation);
+        INTS.setRelease(buffer, STATE_OFFSET, STATE_OPEN);
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE);
+        return new SharedBlockRegion(buffer, slotCount);
+    }
+
+    /**
+     * Gets the ID that both sides use for a world.
+     *
+     * @param worldKey the namespaced key of the world, e.g. {@code minecraft:overworld}
+     * @return the 64-bit FNV-1a hash of the key
+     */
+    public static long worldId(String worldKey) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : worldKey.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * @return false once the backend has marked the region as closed, has stopped sending heartbeats, or has rewritten
+     * the file this region was mapped from
+     */
+    public boolean isOpen() {
+        return (int) INTS.getAcquire(buffer, STATE_OFFSET) == STATE_OPEN
+                && System.currentTimeMillis() - (long) LONGS.getAcquire(buffer, HEARTBEAT_OFFSET) <= HEARTBEAT_TIMEOUT_MILLIS
+                && (long) LONGS.getAcquire(buffer, GENERATION_OFFSET) == generation;
+    }
+
+    /**
+     * Tells readers that the backend is still publishing. Must be called well within {@value #HEARTBEAT_TIMEOUT_MILLIS} ms
+     * of the last call, for example every second.
+     */
+    public void heartbeat() {
+        heartbeat(System.currentTimeMillis());
+    }
+
+    void heartbeat(long millis) {
+        LONGS.setRelease(buffer, HEARTBEAT_OFFSET, millis);
+    }
+
+    /**
+     * Reads a single block.
+     *
+     * @return the Java block state ID, or {@link #MISS} if the section is not in the region
+     */
+    public int getBlockAt(long world, int x, int y, int z) {
+        if (!isOpen()) {
+            return MISS;
+        }
+        return readBlock(world, x, y, z);
+    }
+
+    /**
+     * Reads every block of the iterator.
+     *
+     * @param world the world ID
+     * @param iter the positions to read
+     * @return the Java block state IDs in iteration order, or null if any section is not in the region
+     */
+    public int @Nullable [] getBlocksAt(long world, BlockPositionIterator iter) {
+        if (!isOpen()) {
+            return null;
+        }
+        int[] blocks = new int[iter.getMaxIterations()];
+        for (iter.reset(); iter.hasNext(); iter.next()) {
+            int blockId = readBlock(world, iter.getX(), iter.getY(), iter.getZ());
+            if (blockId == MISS) {
+                iter.reset();
+                return null;
+            }
+            blocks[iter.getIteration()] = blockId;
+        }
+        iter.reset();
+        return blocks;
+    }
+
+    /**
+     * Publishes a section, replacing whichever section occupied its slot. Must only be called from one thread.
+     *
+     * @param world the world ID
+     * @param sectionX the section X coordinate (block X >> 4)
+     * @param sectionY the section Y coordinate (block Y >> 4)
+     * @param sectionZ the section Z coordinate (block Z >> 4)
+     * @param blocks 4096 block state IDs in YZX order
+     */
+    public void writeSection(long world, int sectionX, int sectionY, int sectionZ, int[] blocks) {
+        if (blocks.length != SECTION_BLOCKS) {
+            throw new IllegalArgumentException("A section has " + SECTION_BLOCKS + " blocks");
+        }
+        int slot = slotOffset(world, sectionX, sectionY, sectionZ);
+        long sequence = (long) LONGS.getVolatile(buffer, slot + SEQUENCE_OFFSET);
+        LONGS.setVolatile(buffer, slot + SEQUENCE_OFFSET, sequence + 1);
+        VarHandle.storeStoreFence();
+
+        buffer.putLong(slot + WORLD_OFFSET, world);
+        buffer.putInt(slot + X_OFFSET, sectionX);
+        buffer.putInt(slot + Y_OFFSET, sectionY);
+        buffer.putInt(slot + Z_OFFSET, sectionZ);
+        int data = slot + SLOT_HEADER_SIZE;
+        for (int i = 0; i < SECTION_BLOCKS; i++) {
+            buffer.putInt(data + i * Integer.BYTES, blocks[i]);
+        }
+
+        LONGS.setRelease(buffer, slot + SEQUENCE_OFFSET, sequence + 2);
+    }
+
+    /**
+     * Updates one block of a section that is already in the region. Must only be called from the writing thread.
+     *
+     * @return false if the section is not in the region and has to be published whole
+     */
+    public boolean writeBlock(long world, int x, int y, int z, int blockId) {
+        int sectionX = x >> 4;
+        int sectionY = y >> 4;
+        int sectionZ = z >> 4;
+        int slot = slotOffset(world, sectionX, sectionY, sectionZ);
+        if (!holds(slot, world, sectionX, sectionY, sectionZ)) {
+            return false;
+        }
+        long sequence = (long) LONGS.getVolatile(buffer, slot + SEQUENCE_OFFSET);
+        LONGS.setVolatile(buffer, slot + SEQUENCE_OFFSET, sequence + 1);
+        VarHandle.storeStoreFence();
+        buffer.putInt(blockOffset(slot, x, y, z), blockId);
+        LONGS.setRelease(buffer, slot + SEQUENCE_OFFSET, sequence + 2);
+        return true;
+    }
+
+    /**
+     * Marks the region as closed, after which readers stop using it.
+     */
+    public void close() {
+        INTS.setRelease(buffer, STATE_OFFSET, STATE_CLOSED);
+    }
+
+    private int readBlock(long world, int x, int y, int z) {
+        int sectionX = x >> 4;
+        int sectionY = y >> 4;
+        int sectionZ = z >> 4;
+        int slot = slotOffset(world, sectionX, sectionY, sectionZ);
+        for (int attempt = 0; attempt < READ_ATTEMPTS; attempt++) {
+            long sequence = (long) LONGS.getAcquire(buffer, slot + SEQUENCE_OFFSET);
+            if (sequence == 0) {
+                return MISS;
+            }
+            if ((sequence & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            boolean holds = holds(slot, world, sectionX, sectionY, sectionZ);
+            int blockId = buffer.getInt(blockOffset(slot, x, y, z));
+            VarHandle.acquireFence();
+            if ((long) LONGS.getVolatile(buffer, slot + SEQUENCE_OFFSET) == sequence) {
+                return holds ? blockId : MISS;
+            }
+        }
+        return MISS;
+    }
+
+    private boolean holds(int slot, long world, int sectionX, int sectionY, int sectionZ) {
+        return buffer.getLong(slot + WORLD_OFFSET) == world
+                && buffer.getInt(slot + X_OFFSET) == sectionX
+                && buffer.getInt(slot + Y_OFFSET) == sectionY
+                && buffer.getInt(slot + Z_OFFSET) == sectionZ;
+    }
+
+    private static boolean isValidSlotCount(int slotCount) {
+        return slotCount > 0 && Integer.bitCount(slotCount) == 1 && HEADER_SIZE + (long) slotCount * SLOT_SIZE <= Integer.MAX_VALUE;
+    }
+
+    private int slotOffset(long world, int sectionX, int sectionY, int sectionZ) {
+        long hash = world * 0x9E3779B97F4A7C15L;
+        hash ^= sectionX * 0x85EBCA6BL;
+        hash ^= sectionY * 0xC2B2AE35L;
+        hash ^= sectionZ * 0x27D4EB2FL;
+        hash ^= hash >>> 29;
+        return HEADER_SIZE + (int) (hash & slotMask) * SLOT_SIZE;
+    }
+
+    private static int blockOffset(int slot, int x, int y, int z) {
+        int index = ((y & 0xF) << 8) | ((z & 0xF) << 4) | (x & 0xF);
+        return slot + SLOT_HEADER_SIZE + index * Integer.BYTES;
+    }
+}
@@ -31,14 +31,30 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.epoll.EpollDomainSocketChannel;
 import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.unix.DomainSocketAddress;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.geysermc.erosion.netty.impl.AbstractUnixSocketListener;
 import org.geysermc.erosion.packet.geyserbound.GeyserboundPacketHandler;
+import org.geysermc.geyser.GeyserImpl;
 
+import java.io.IOException;
 import java.net.SocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class UnixSocketClientListener extends AbstractUnixSocketListener {
+    /**
+     * Suffix of the file, next to a backend's socket, in which that backend publishes a {@link SharedBlockRegion}
+     */
+    private static final String SHARED_BLOCKS_SUFFIX = ".blocks";
+
     private EventLoopGroup eventLoopGroup;
+    private final Map<Path, MappedRegion> sharedBlockRegions = new ConcurrentHashMap<>();
 
     public void initializeEventLoopGroup() {
         if (this.eventLoopGroup == null) {
@@ -48,7 +64,7 @@ public final class UnixSocketClientListener extends AbstractUnixSocketListener {
 
     public void createClient(GeyserboundPacketHandler handler, SocketAddress address) {
         initializeEventLoopGroup();
-        (new Bootstrap()
+        Channel channel = (new Bootstrap()
                 .channel(EpollDomainSocketChannel.class)
                 .handler(new ChannelInitializer<>() {
                     @Override
@@ -60,6 +76,43 @@ public final class UnixSocketClientListener extends AbstractUnixSocketListener {
                 .connect(address))
                 .syncUninterruptibly()
                 .channel();
+
+        if (handler instanceof GeyserboundPacketHandlerImpl handlerImpl) {
+            handlerImpl.setSharedBlocks(openSharedBlocks(address));
+            // Once the backend is gone, whatever it left in the region is no longer kept up to date
+            channel.closeFuture().addListener(future -> handlerImpl.setSharedBlocks(null));
+        }
+    }
+
+    /**
+     * Maps the block region that a backend on this host may publish next to its socket. Sessions connected to the
+     * same backend share one mapping, unless the backend has since replaced the file.
+     *
+     * @param address the backend's socket address
+     * @return the region, or null if the backend does not publish one
+     */
+    private @Nullable SharedBlockRegion openSharedBlocks(SocketAddress address) {
+        if (!(address instanceof DomainSocketAddress domainAddress)) {
+            return null;
+        }
+        Path path = Path.of(domainAddress.path() + SHARED_BLOCKS_SUFFIX);
+        try {
+            if (!Files.isRegularFile(path)) {
+                sharedBlockRegions.remove(path);
+                return null;
+            }
+            Object fileKey = Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+            MappedRegion mapped = sharedBlockRegions.get(path);
+            if (mapped == null || !Objects.equals(mapped.fileKey(), fileKey) || !mapped.region().isOpen()) {
+                mapped = new MappedRegion(SharedBlockRegion.open(path), fileKey);
+                sharedBlockRegions.put(path, mapped);
+                GeyserImpl.getInstance().getLogger().debug("Reading blocks from shared region " + path);
+            }
+            return mapped.region();
+        } catch (IOException e) {
+            GeyserImpl.getInstance().getLogger().debug("Could not map shared block region " + path + ": " + e.getMessage());
+            return null;
+        }
     }
 
     @Override
@@ -67,5 +120,9 @@ public final class UnixSocketClientListener extends AbstractUnixSocketListener {
         if (this.eventLoopGroup != null) {
             this.eventLoopGroup.shutdownGracefully();
         }
+        sharedBlockRegions.clear();
+    }
+
+    private record MappedRegion(SharedBlockRegion region, Object fileKey) {
     }
 }
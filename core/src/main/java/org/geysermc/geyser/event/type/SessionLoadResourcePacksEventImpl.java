@@ -36,9 +36,11 @@ import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.api.event.bedrock.SessionLoadResourcePacksEvent;
 import org.geysermc.geyser.api.pack.ResourcePack;
 import org.geysermc.geyser.api.pack.ResourcePackManifest;
+import org.geysermc.geyser.api.pack.UrlPackCodec;
 import org.geysermc.geyser.api.pack.exception.ResourcePackException;
 import org.geysermc.geyser.api.pack.option.PriorityOption;
 import org.geysermc.geyser.api.pack.option.ResourcePackOption;
+import org.geysermc.geyser.network.http.ResourcePackHttpServer;
 import org.geysermc.geyser.pack.GeyserResourcePack;
 import org.geysermc.geyser.pack.ResourcePackHolder;
 import org.geysermc.geyser.pack.option.OptionHolder;
@@ -195,15 +197,28 @@ public class SessionLoadResourcePacksEventImpl extends SessionLoadResourcePacksE
         for (ResourcePackHolder holder : packs.values()) {
             GeyserResourcePack pack = holder.pack();
             ResourcePackManifest.Header header = pack.manifest().header();
+            String url = downloadUrl(pack);
             entries.add(new ResourcePacksInfoPacket.Entry(
                 header.uuid(), header.version().toString(), pack.codec().size(), pack.contentKey(),
-                subpackName(pack), header.uuid().toString(), false, false, false, subpackName(pack))
+                subpackName(pack), header.uuid().toString(), false, false, false, url != null ? url : subpackName(pack))
             );
         }
 
         return entries;
     }
 
+    /**
+     * @return the URL that the client should download the pack from, or null if it should be sent over the game connection
+     */
+    private @Nullable String downloadUrl(GeyserResourcePack pack) {
+        if (pack.codec() instanceof UrlPackCodec urlPackCodec) {
+            return urlPackCodec.url();
+        }
+
+        ResourcePackHttpServer httpServer = GeyserImpl.getInstance().getResourcePackHttpServer();
+        return httpServer == null ? null : httpServer.url(pack);
+    }
+
     // Helper methods to get the options for a ResourcePack
 
     public <T> T value(UUID uuid, ResourcePackOption.Type type, T defaultValue) {
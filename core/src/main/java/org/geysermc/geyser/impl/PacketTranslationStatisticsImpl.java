@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.impl;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.geysermc.geyser.api.network.PacketTranslationStatistics;
+import org.geysermc.geyser.registry.Registries;
+import org.geysermc.geyser.translator.protocol.PacketTranslatorTimings;
+
+import java.util.List;
+
+public final class PacketTranslationStatisticsImpl implements PacketTranslationStatistics {
+    public static final PacketTranslationStatisticsImpl INSTANCE = new PacketTranslationStatisticsImpl();
+
+    private PacketTranslationStatisticsImpl() {
+    }
+
+    @Override
+    public boolean enabled() {
+        return PacketTranslatorTimings.isEnabled();
+    }
+
+    @Override
+    public void enabled(boolean enabled) {
+        PacketTranslatorTimings.setEnabled(enabled);
+    }
+
+    @Override
+    public void reset() {
+        Registries.JAVA_PACKET_TRANSLATORS.getTimings().reset();
+        Registries.BEDROCK_PACKET_TRANSLATORS.getTimings().reset();
+    }
+
+    @Override
+    public @NonNull List<PacketTranslatorTimings.Snapshot> javaTranslators() {
+        return Registries.JAVA_PACKET_TRANSLATORS.getTimings().snapshot();
+    }
+
+    @Override
+    public @NonNull List<PacketTranslatorTimings.Snapshot> bedrockTranslators() {
+        return Registries.BEDROCK_PACKET_TRANSLATORS.getTimings().snapshot();
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.erosion.util.BlockPositionIterator;
+import org.geysermc.geyser.session.GeyserSession;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Requests the blocks around a moving entity one tick before they are needed.
+ * <p>
+ * With erosion, every batch lookup is a round trip to the backend server, and on Folia every lookup is a task on
+ * the region thread that owns the blocks. Either way the session's event loop has to wait for it. Requesting the
+ * next neighbourhood as soon as a movement has been handled means the answer has usually arrived by the time the next
+ * movement is. When {@link WorldManager#hasSlowBlockLookups(GeyserSession)} is false, blocks can be read immediately
+ * and nothing is prefetched.
+ */
+public final class BlockPrefetcher {
+    private final GeyserSession session;
+
+    private @Nullable BlockPositionIterator iterator;
+    private @Nullable CompletableFuture<int[]> blocks;
+    private int revision;
+
+    public BlockPrefetcher(GeyserSession session) {
+        this.session = session;
+    }
+
+    /**
+     * Starts fetching the blocks in the given volume, replacing any earlier prefetch.
+     *
+     * @param iter the positions to fetch. It must not be reused by the caller.
+     */
+    public void prefetch(BlockPositionIterator iter) {
+        if (session.isClosed() || !session.getGeyser().getWorldManager().hasSlowBlockLookups(session)) {
+            clear();
+            return;
+        }
+        this.iterator = iter;
+        this.revision = session.getChunkCache().getRevision();
+        this.blocks = session.getGeyser().getWorldManager().getBlocksAtAsync(session, iter);
+    }
+
+    /**
+     * Gets the block IDs of every position in the iterator, in iteration order. The prefetched blocks are used if they
+     * cover every position and no block has changed since they were requested; otherwise the blocks are looked up now.
+     * Either way, the prefetched blocks are discarded.
+     *
+     * @param iter the positions to look up
+     * @return the block IDs
+     */
+    public int[] getBlocksAt(BlockPositionIterator iter) {
+        BlockPositionIterator prefetchedIterator = this.iterator;
+        CompletableFuture<int[]> prefetched = this.blocks;
+        boolean upToDate = this.revision == session.getChunkCache().getRevision();
+        clear();
+
+        // A prefetch that failed, for example because the backend's replies stopped lining up, is simply requested again
+        if (prefetched != null && upToDate && covers(prefetchedIterator, iter)) {
+            int[] prefetchedBlocks;
+            try {
+                prefetchedBlocks = prefetched.join();
+            } catch (CompletionException e) {
+                return session.getGeyser().getWorldManager().getBlocksAt(session, iter);
+            }
+            int[] blocks = new int[iter.getMaxIterations()];
+            for (iter.reset(); iter.hasNext(); iter.next()) {
+                blocks[iter.getIteration()] = prefetchedBlocks[prefetchedIterator.getIndex(iter.getX(), iter.getY(), iter.getZ())];
+            }
+            iter.reset();
+            return blocks;
+        }
+        return session.getGeyser().getWorldManager().getBlocksAt(session, iter);
+    }
+
+    public void clear() {
+        this.iterator = null;
+        this.blocks = null;
+    }
+
+    private static boolean covers(BlockPositionIterator outer, BlockPositionIterator inner) {
+        boolean covers = true;
+        for (inner.reset(); inner.hasNext(); inner.next()) {
+            if (outer.getIndex(inner.getX(), inner.getY(), inner.getZ()) == -1) {
+                covers = false;
+                break;
+            }
+        }
+        inner.reset();
+        return covers;
+    }
+}
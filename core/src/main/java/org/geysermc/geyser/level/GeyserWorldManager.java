@@ -28,14 +28,15 @@ package org.geysermc.geyser.level;
 import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import org.cloudburstmc.math.vector.Vector3i;
-import org.geysermc.erosion.packet.backendbound.BackendboundBatchBlockRequestPacket;
 import org.geysermc.erosion.packet.backendbound.BackendboundBlockRequestPacket;
 import org.geysermc.erosion.util.BlockPositionIterator;
 import org.geysermc.geyser.erosion.ErosionCancellationException;
+import org.geysermc.geyser.erosion.SharedBlockRegion;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.mcprotocollib.protocol.data.game.entity.player.GameMode;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class GeyserWorldManager extends WorldManager {
     private final Object2ObjectMap<String, String> gameruleCache = new Object2ObjectOpenHashMap<>();
@@ -48,6 +49,10 @@ public class GeyserWorldManager extends WorldManager {
         } else if (session.isClosed()) {
             throw new ErosionCancellationException();
         }
+        int sharedBlockId = erosionHandler.getSharedBlockAt(x, y, z);
+        if (sharedBlockId != SharedBlockRegion.MISS) {
+            return sharedBlockId;
+        }
         CompletableFuture<Integer> future = new CompletableFuture<>(); // Boxes
         erosionHandler.setPendingLookup(future);
         erosionHandler.sendPacket(new BackendboundBlockRequestPacket(0, Vector3i.from(x, y, z)));
@@ -62,6 +67,10 @@ public class GeyserWorldManager extends WorldManager {
         } else if (session.isClosed()) {
             return CompletableFuture.failedFuture(new ErosionCancellationException());
         }
+        int sharedBlockId = erosionHandler.getSharedBlockAt(x, y, z);
+        if (sharedBlockId != SharedBlockRegion.MISS) {
+            return CompletableFuture.completedFuture(sharedBlockId);
+        }
         CompletableFuture<Integer> future = new CompletableFuture<>(); // Boxes
         int transactionId = erosionHandler.getNextTransactionId();
         erosionHandler.getAsyncPendingLookups().put(transactionId, future);
@@ -77,10 +86,38 @@ public class GeyserWorldManager extends WorldManager {
         } else if (session.isClosed()) {
             throw new ErosionCancellationException();
         }
-        CompletableFuture<int[]> future = new CompletableFuture<>();
-        erosionHandler.setPendingBatchLookup(future);
-        erosionHandler.sendPacket(new BackendboundBatchBlockRequestPacket(iter));
-        return future.join();
+        try {
+            return getBlocksAtAsync(session, iter).join();
+        } catch (CompletionException e) {
+            // Too many lookups outstanding, or the backend's replies stopped matching. Like a failed lookup, treat as air
+            session.getGeyser().getLogger().debug("Batch block lookup failed: " + e.getCause().getMessage());
+            return new int[iter.getMaxIterations()];
+        }
+    }
+
+    @Override
+    public CompletableFuture<int[]> getBlocksAtAsync(GeyserSession session, BlockPositionIterator iter) {
+        var erosionHandler = session.getErosionHandler().getAsActive();
+        if (erosionHandler == null) {
+            return super.getBlocksAtAsync(session, iter);
+        } else if (session.isClosed()) {
+            return CompletableFuture.failedFuture(new ErosionCancellationException());
+        }
+        int[] sharedBlocks = erosionHandler.getSharedBlocksAt(iter);
+        if (sharedBlocks != null) {
+            return CompletableFuture.completedFuture(sharedBlocks);
+        }
+        int maxIterations = iter.getMaxIterations();
+        return erosionHandler.requestBlocks(iter)
+                // Treat failed lookups like single block lookups do, as air
+                .thenApply(blocks -> blocks == null ? new int[maxIterations] : blocks);
+    }
+
+    @Override
+    public boolean hasSlowBlockLookups(GeyserSession session) {
+        var erosionHandler = session.getErosionHandler().getAsActive();
+        // A shared region may not hold the chunks around the player yet, so keep prefetching until reads from it hit
+        return erosionHandler != null && !erosionHandler.isSharedBlocksHit();
     }
 
     @Override
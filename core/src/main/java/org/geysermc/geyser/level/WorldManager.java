@@ -108,6 +108,29 @@ public abstract class WorldManager {
         return blocks;
     }
 
+    /**
+     * Gets the block IDs of every position in the iterator without waiting on the caller's thread, if this world manager
+     * has to ask another server or thread for them.
+     *
+     * @param session the session
+     * @param iter the positions to look up
+     * @return a future completed with the block IDs in iteration order
+     */
+    public CompletableFuture<int[]> getBlocksAtAsync(GeyserSession session, BlockPositionIterator iter) {
+        return CompletableFuture.completedFuture(this.getBlocksAt(session, iter));
+    }
+
+    /**
+     * Checks whether block lookups for this session have to wait on another server or thread. If so, movement
+     * calculations request the blocks they will need ahead of time.
+     *
+     * @param session the session
+     * @return whether block lookups are slow enough to be worth prefetching
+     */
+    public boolean hasSlowBlockLookups(GeyserSession session) {
+        return false;
+    }
+
     /**
      * Checks whether or not this world manager requires a separate chunk cache/has access to more block data than the chunk cache.
      * <p>
@@ -28,6 +28,7 @@ package org.geysermc.geyser.level.physics;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.SneakyThrows;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.math.vector.Vector3d;
 
 @Data
@@ -121,12 +122,46 @@ public class BoundingBox implements Cloneable {
         return Vector3d.from(middleX, middleY - sizeY / 2, middleZ);
     }
 
-    private boolean checkOverlapInAxis(double xOffset, double yOffset, double zOffset, BoundingBox otherBox, Axis axis) {
-        return switch (axis) {
-            case X -> (sizeX + otherBox.getSizeX()) - Math.abs((middleX + xOffset) - otherBox.getMiddleX()) * 2 > EPSILON;
-            case Y -> (sizeY + otherBox.getSizeY()) - Math.abs((middleY + yOffset) - otherBox.getMiddleY()) * 2 > EPSILON;
-            case Z -> (sizeZ + otherBox.getSizeZ()) - Math.abs((middleZ + zOffset) - otherBox.getMiddleZ()) * 2 > EPSILON;
-        };
+    /**
+     * Copies the position and size of another bounding box into this one.
+     *
+     * @param other the bounding box to copy
+     * @return this bounding box
+     */
+    public BoundingBox set(BoundingBox other) {
+        this.middleX = other.middleX;
+        this.middleY = other.middleY;
+        this.middleZ = other.middleZ;
+
+        this.sizeX = other.sizeX;
+        this.sizeY = other.sizeY;
+        this.sizeZ = other.sizeZ;
+        return this;
+    }
+
+    /**
+     * Flattens bounding boxes into one array, six values per box in the order
+     * middleX, middleY, middleZ, sizeX, sizeY, sizeZ.
+     *
+     * @param boxes the bounding boxes to flatten
+     * @return the flattened boxes
+     */
+    public static double[] flatten(BoundingBox @Nullable [] boxes) {
+        if (boxes == null) {
+            return new double[0];
+        }
+        double[] shape = new double[boxes.length * 6];
+        for (int i = 0; i < boxes.length; i++) {
+            BoundingBox box = boxes[i];
+            int index = i * 6;
+            shape[index] = box.middleX;
+            shape[index + 1] = box.middleY;
+            shape[index + 2] = box.middleZ;
+            shape[index + 3] = box.sizeX;
+            shape[index + 4] = box.sizeY;
+            shape[index + 5] = box.sizeZ;
+        }
+        return shape;
     }
 
     /**
@@ -141,21 +176,76 @@ public class BoundingBox implements Cloneable {
      * @return The new max offset
      */
     public double getMaxOffset(double xOffset, double yOffset, double zOffset, BoundingBox otherBoundingBox, Axis axis, double offset) {
+        return getMaxOffset(middleX, middleY, middleZ, sizeX, sizeY, sizeZ, xOffset, yOffset, zOffset, otherBoundingBox, axis, offset);
+    }
+
+    /**
+     * Same as {@link #getMaxOffset(double, double, double, BoundingBox, Axis, double)}, but reads the stationary box
+     * from a shape created by {@link #flatten(BoundingBox[])}.
+     *
+     * @param shape The flattened boxes
+     * @param index The index of the first value of the box in {@code shape}
+     */
+    public static double getMaxOffset(double[] shape, int index, double xOffset, double yOffset, double zOffset, BoundingBox otherBoundingBox, Axis axis, double offset) {
+        return getMaxOffset(shape[index], shape[index + 1], shape[index + 2], shape[index + 3], shape[index + 4], shape[index + 5],
+                xOffset, yOffset, zOffset, otherBoundingBox, axis, offset);
+    }
+
+    /**
+     * Checks whether a box of a shape created by {@link #flatten(BoundingBox[])} intersects another bounding box.
+     *
+     * @param shape The flattened boxes
+     * @param index The index of the first value of the box in {@code shape}
+     */
+    public static boolean checkIntersection(double[] shape, int index, double offsetX, double offsetY, double offsetZ, BoundingBox otherBox) {
+        return (Math.abs((shape[index] + offsetX) - otherBox.middleX) * 2 < (shape[index + 3] + otherBox.sizeX)) &&
+                (Math.abs((shape[index + 1] + offsetY) - otherBox.middleY) * 2 < (shape[index + 4] + otherBox.sizeY)) &&
+                (Math.abs((shape[index + 2] + offsetZ) - otherBox.middleZ) * 2 < (shape[index + 5] + otherBox.sizeZ));
+    }
+
+    private static double getMaxOffset(double middleX, double middleY, double middleZ, double sizeX, double sizeY, double sizeZ,
+                                       double xOffset, double yOffset, double zOffset, BoundingBox other, Axis axis, double offset) {
         // Make sure that the bounding box overlaps in the other axes
-        for (Axis a : Axis.VALUES) {
-            if (a != axis && !checkOverlapInAxis(xOffset, yOffset, zOffset, otherBoundingBox, a)) {
-                return offset;
+        if (axis != Axis.X && (sizeX + other.sizeX) - Math.abs((middleX + xOffset) - other.middleX) * 2 <= EPSILON) {
+            return offset;
+        }
+        if (axis != Axis.Y && (sizeY + other.sizeY) - Math.abs((middleY + yOffset) - other.middleY) * 2 <= EPSILON) {
+            return offset;
+        }
+        if (axis != Axis.Z && (sizeZ + other.sizeZ) - Math.abs((middleZ + zOffset) - other.middleZ) * 2 <= EPSILON) {
+            return offset;
+        }
+
+        double middle;
+        double size;
+        double axisOffset;
+        switch (axis) {
+            case X -> {
+                middle = middleX;
+                size = sizeX;
+                axisOffset = xOffset;
+            }
+            case Y -> {
+                middle = middleY;
+                size = sizeY;
+                axisOffset = yOffset;
+            }
+            default -> {
+                middle = middleZ;
+                size = sizeZ;
+                axisOffset = zOffset;
             }
         }
+
         if (offset > 0) {
-            double min = axis.choose(getMin().add(xOffset, yOffset, zOffset));
-            double max = axis.choose(otherBoundingBox.getMax());
+            double min = (middle - size / 2) + axisOffset;
+            double max = other.getMax(axis);
             if ((min - max) >= -2.0 * CollisionManager.COLLISION_TOLERANCE) {
                 offset = Math.min(min - max, offset);
             }
         } else if (offset < 0) {
-            double min = axis.choose(otherBoundingBox.getMin());
-            double max = axis.choose(getMax().add(xOffset, yOffset, zOffset));
+            double min = other.getMin(axis);
+            double max = (middle + size / 2) + axisOffset;
             if ((min - max) >= -2.0 * CollisionManager.COLLISION_TOLERANCE) {
                 offset = Math.max(max - min, offset);
             }
@@ -40,6 +40,7 @@ import org.geysermc.geyser.entity.EntityDefinitions;
 import org.geysermc.geyser.entity.type.Entity;
 import org.geysermc.geyser.entity.type.player.PlayerEntity;
 import org.geysermc.geyser.entity.vehicle.ClientVehicle;
+import org.geysermc.geyser.level.BlockPrefetcher;
 import org.geysermc.geyser.level.block.BlockStateValues;
 import org.geysermc.geyser.level.block.Blocks;
 import org.geysermc.geyser.level.block.property.Properties;
@@ -65,6 +66,23 @@ public class CollisionManager {
     @Getter
     private final BoundingBox playerBoundingBox;
 
+    /**
+     * Scratch box for the step-up checks in {@link #correctMovement(Vector3d, BoundingBox, boolean, double, boolean, boolean)}
+     */
+    private final BoundingBox stepUpBoundingBox = new BoundingBox(0, 0, 0, 0, 0, 0);
+    /**
+     * Scratch box covering the volume swept by a single movement
+     */
+    private final BoundingBox sweepBoundingBox = new BoundingBox(0, 0, 0, 0, 0, 0);
+
+    /**
+     * Block IDs around the moving box, fetched once per movement correction and shared by every axis pass
+     * and step-up check of that movement. Null outside a correction.
+     */
+    private BlockPositionIterator nearbyBlocksIterator;
+    private int[] nearbyBlocks;
+    private final BlockPrefetcher blockPrefetcher;
+
     /**
      * Whether the player is inside scaffolding
      */
@@ -99,6 +117,7 @@ public class CollisionManager {
     public CollisionManager(GeyserSession session) {
         this.session = session;
         this.playerBoundingBox = new BoundingBox(0, 0, 0, 0.6, 1.8, 0.6);
+        this.blockPrefetcher = new BlockPrefetcher(session);
     }
 
     /**
@@ -214,6 +233,8 @@ public class CollisionManager {
             position = Vector3d.from(position.getX(), Double.parseDouble(DECIMAL_FORMAT.format(position.getY())), position.getZ());
         }
 
+        prefetchNearbyBlocks(playerBoundingBox, PLAYER_STEP_UP);
+
         return new CollisionResult(position, TriState.byBoolean(onGround));
     }
 
@@ -257,6 +278,21 @@ public class CollisionManager {
         return collidableBlocksIterator(playerBoundingBox);
     }
 
+    /**
+     * Requests the blocks that the next movement of the bounding box is likely to check, before that movement arrives.
+     * See {@link BlockPrefetcher}.
+     *
+     * @param boundingBox the bounding box that will move
+     * @param stepUp how high the bounding box can step up
+     */
+    public void prefetchNearbyBlocks(BoundingBox boundingBox, double stepUp) {
+        BoundingBox nearbyBoundingBox = sweepBoundingBox.set(boundingBox);
+        // Leaves room for up to a block of movement in every direction
+        nearbyBoundingBox.expand(2);
+        nearbyBoundingBox.extend(0, stepUp, 0);
+        blockPrefetcher.prefetch(collidableBlocksIterator(nearbyBoundingBox));
+    }
+
     /**
      * Returns false if the movement is invalid, and in this case it shouldn't be sent to the server and should be
      * cancelled
@@ -270,7 +306,7 @@ public class CollisionManager {
 
         // Used when correction code needs to be run before the main correction
         BlockPositionIterator iter = session.getCollisionManager().playerCollidableBlocksIterator();
-        int[] blocks = session.getGeyser().getWorldManager().getBlocksAt(session, iter);
+        int[] blocks = blockPrefetcher.getBlocksAt(iter);
         for (iter.reset(); iter.hasNext(); iter.next()) {
             BlockCollision blockCollision = BlockUtils.getCollision(blocks[iter.getIteration()]);
             if (blockCollision != null) {
@@ -303,6 +339,25 @@ public class CollisionManager {
     }
 
     public Vector3d correctMovement(Vector3d movement, BoundingBox boundingBox, boolean onGround, double stepUp, boolean checkWorld, boolean walkOnLava) {
+        if (!checkWorld || nearbyBlocks != null) {
+            return correctMovementUncached(movement, boundingBox, onGround, stepUp, checkWorld, walkOnLava);
+        }
+
+        // Every sweep below stays within the box extended by the movement and the step up height
+        BoundingBox nearbyBoundingBox = sweepBoundingBox.set(boundingBox);
+        nearbyBoundingBox.extend(movement);
+        nearbyBoundingBox.extend(0, stepUp, 0);
+        nearbyBlocksIterator = collidableBlocksIterator(nearbyBoundingBox);
+        nearbyBlocks = blockPrefetcher.getBlocksAt(nearbyBlocksIterator);
+        try {
+            return correctMovementUncached(movement, boundingBox, onGround, stepUp, checkWorld, walkOnLava);
+        } finally {
+            nearbyBlocksIterator = null;
+            nearbyBlocks = null;
+        }
+    }
+
+    private Vector3d correctMovementUncached(Vector3d movement, BoundingBox boundingBox, boolean onGround, double stepUp, boolean checkWorld, boolean walkOnLava) {
         Vector3d adjustedMovement = movement;
         if (!movement.equals(Vector3d.ZERO)) {
             adjustedMovement = correctMovementForCollisions(movement, boundingBox, checkWorld, walkOnLava);
@@ -316,11 +371,11 @@ public class CollisionManager {
             Vector3d horizontalMovement = Vector3d.from(movement.getX(), 0, movement.getZ());
             Vector3d stepUpMovement = correctMovementForCollisions(horizontalMovement.up(stepUp), boundingBox, checkWorld, walkOnLava);
 
-            BoundingBox stretchedBoundingBox = boundingBox.clone();
+            BoundingBox stretchedBoundingBox = stepUpBoundingBox.set(boundingBox);
             stretchedBoundingBox.extend(horizontalMovement);
             double maxStepUp = correctMovementForCollisions(Vector3d.from(0, stepUp, 0), stretchedBoundingBox, checkWorld, walkOnLava).getY();
             if (maxStepUp < stepUp) { // The player collided with a block above them
-                BoundingBox stepUpBoundingBox = boundingBox.clone();
+                BoundingBox stepUpBoundingBox = this.stepUpBoundingBox.set(boundingBox);
                 stepUpBoundingBox.translate(0, maxStepUp, 0);
 
                 Vector3d adjustedStepUpMovement = correctMovementForCollisions(horizontalMovement, stepUpBoundingBox, checkWorld, walkOnLava);
@@ -330,7 +385,7 @@ public class CollisionManager {
             }
 
             if (squaredHorizontalLength(stepUpMovement) > squaredHorizontalLength(adjustedMovement)) {
-                BoundingBox stepUpBoundingBox = boundingBox.clone();
+                BoundingBox stepUpBoundingBox = this.stepUpBoundingBox.set(boundingBox);
                 stepUpBoundingBox.translate(stepUpMovement.getX(), stepUpMovement.getY(), stepUpMovement.getZ());
 
                 // Apply the player's remaining vertical movement
@@ -357,7 +412,7 @@ public class CollisionManager {
         double originalY = boundingBox.getMiddleY();
         double originalZ = boundingBox.getMiddleZ();
 
-        BoundingBox movementBoundingBox = boundingBox.clone();
+        BoundingBox movementBoundingBox = sweepBoundingBox.set(boundingBox);
         movementBoundingBox.extend(movement);
         BlockPositionIterator iter = collidableBlocksIterator(movementBoundingBox);
         if (Math.abs(movementY) > CollisionManager.COLLISION_TOLERANCE) {
@@ -386,19 +441,23 @@ public class CollisionManager {
     }
 
     private double computeCollisionOffset(BoundingBox boundingBox, Axis axis, double offset, BlockPositionIterator iter, boolean checkWorld, boolean walkOnLava) {
+        PistonCache pistonCache = session.getPistonCache();
+        boolean checkPistons = pistonCache.hasMovingBlocks();
         for (iter.reset(); iter.hasNext(); iter.next()) {
             int x = iter.getX();
             int y = iter.getY();
             int z = iter.getZ();
             if (checkWorld) {
-                int blockId = session.getGeyser().getWorldManager().getBlockAt(session, x, y, z);
+                int blockId = getNearbyBlockAt(x, y, z);
 
                 BlockCollision blockCollision = walkOnLava ? getCollisionLavaWalking(blockId, y, boundingBox) : BlockUtils.getCollision(blockId);
                 if (blockCollision != null && !(blockCollision instanceof ScaffoldingCollision)) {
                     offset = blockCollision.computeCollisionOffset(x, y, z, boundingBox, axis, offset);
                 }
             }
-            offset = session.getPistonCache().computeCollisionOffset(Vector3i.from(x, y, z), boundingBox, axis, offset);
+            if (checkPistons) {
+                offset = pistonCache.computeCollisionOffset(Vector3i.from(x, y, z), boundingBox, axis, offset);
+            }
             if (Math.abs(offset) < COLLISION_TOLERANCE) {
                 return 0;
             }
@@ -406,6 +465,16 @@ public class CollisionManager {
         return offset;
     }
 
+    private int getNearbyBlockAt(int x, int y, int z) {
+        if (nearbyBlocks != null) {
+            int index = nearbyBlocksIterator.getIndex(x, y, z);
+            if (index != -1) {
+                return nearbyBlocks[index];
+            }
+        }
+        return session.getGeyser().getWorldManager().getBlockAt(session, x, y, z);
+    }
+
     /**
      * @return the block collision appropriate for entities that can walk on lava (Strider)
      */
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free latency histogram with power-of-two buckets, in nanoseconds.
+ * <p>
+ * Bucket {@code i} counts values below {@code 2^i} nanoseconds, which keeps recording to a couple of atomic
+ * increments while still estimating percentiles within a factor of two. The last bucket additionally catches
+ * everything above ~1 second.
+ */
+public final class LatencyHistogram {
+    public static final int BUCKETS = 31;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    public void record(long nanos) {
+        this.count.increment();
+        this.sumNanos.add(nanos);
+        this.buckets.incrementAndGet(bucket(nanos));
+    }
+
+    public long count() {
+        return this.count.sum();
+    }
+
+    public long sumNanos() {
+        return this.sumNanos.sum();
+    }
+
+    /**
+     * @return a copy of the bucket counts; each bucket only counts its own values, not those of lower buckets
+     */
+    public long[] buckets() {
+        long[] buckets = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = this.buckets.get(i);
+        }
+        return buckets;
+    }
+
+    public static int bucket(long nanos) {
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(Math.max(0, nanos)));
+    }
+
+    /**
+     * @return the exclusive upper bound of the given bucket, in nanoseconds
+     */
+    public static long upperBoundNanos(int bucket) {
+        return 1L << bucket;
+    }
+}
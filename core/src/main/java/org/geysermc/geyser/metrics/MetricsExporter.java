@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.metrics;
+
+import com.google.common.cache.CacheStats;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.configuration.GeyserConfiguration;
+import org.geysermc.geyser.network.http.EmbeddedHttpServer;
+import org.geysermc.geyser.network.netty.EventLoopLagMonitor;
+import org.geysermc.geyser.network.netty.GeyserServer;
+import org.geysermc.geyser.registry.Registries;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.SessionMemoryEstimator;
+import org.geysermc.geyser.session.SessionTickScheduler;
+import org.geysermc.geyser.skin.FloodgateSkinUploader;
+import org.geysermc.geyser.skin.SkinProvider;
+import org.geysermc.geyser.translator.protocol.PacketTranslatorTimings;
+
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Serves Geyser's internal counters in the OpenMetrics text format, for scraping by Prometheus and compatible tools.
+ * Everything is collected when a scrape comes in; nothing is sampled in the background.
+ */
+public final class MetricsExporter {
+    /**
+     * The translator whose timings are exported as a histogram, since chunks are by far the most expensive packets
+     */
+    private static final String CHUNK_PACKET = "ClientboundLevelChunkWithLightPacket";
+
+    private final GeyserImpl geyser;
+    private final GeyserConfiguration.IMetricsEndpointConfiguration config;
+    private final EmbeddedHttpServer server;
+
+    public MetricsExporter(GeyserImpl geyser) {
+        this.geyser = geyser;
+        this.config = geyser.getConfig().getMetricsEndpoint();
+
+        MetricsHttpHandler handler = new MetricsHttpHandler(this);
+        this.server = new EmbeddedHttpServer("Metrics", () -> handler);
+    }
+
+    public CompletableFuture<Void> bind() {
+        return this.server.bind(new InetSocketAddress(config.getAddress(), config.getPort()), 1);
+    }
+
+    public void shutdown() {
+        this.server.shutdown();
+    }
+
+    public String scrape() {
+        OpenMetricsWriter writer = new OpenMetricsWriter();
+        writeSessions(writer);
+        writeEventLoops(writer);
+        writeNetwork(writer);
+        writeTranslators(writer);
+        writeSkins(writer);
+        return writer.finish();
+    }
+
+    private void writeSessions(OpenMetricsWriter writer) {
+        Map<SessionKey, Integer> counts = new HashMap<>();
+        long chunkCacheHits = 0;
+        long chunkCacheMisses = 0;
+        Map<String, Long> memory = new TreeMap<>();
+        long maxSessionMemory = 0;
+        for (GeyserSession session : geyser.getSessionManager().getAllSessionsView()) {
+            if (session.isClosed()) {
+                continue;
+            }
+            String state = session.isSpawned() ? "playing" : session.isLoggedIn() ? "joining" : "login";
+            counts.merge(new SessionKey(state, session.getUpstream().getProtocolVersion()), 1, Integer::sum);
+
+            chunkCacheHits += session.getChunkCache().getHits();
+            chunkCacheMisses += session.getChunkCache().getMisses();
+
+            SessionMemoryEstimator.Usage usage = session.getMemoryUsage();
+            usage.caches().forEach((cache, bytes) -> memory.merge(cache, bytes, Long::sum));
+            maxSessionMemory = Math.max(maxSessionMemory, usage.total());
+        }
+
+        writer.family("geyser_sessions", "gauge", "Connected Bedrock sessions by state and protocol version");
+        counts.forEach((key, count) -> writer.sample("geyser_sessions", count, "state", key.state(), "protocol", Integer.toString(key.protocol())));
+
+        writer.family("geyser_cache_requests", "counter", "Lookups in Geyser's caches, by result. Chunk cache counts only include connected sessions");
+        writer.sample("geyser_cache_requests_total", chunkCacheHits, "cache", "chunks", "result", "hit");
+        writer.sample("geyser_cache_requests_total", chunkCacheMisses, "cache", "chunks", "result", "miss");
+        for (Map.Entry<String, CacheStats> entry : SkinProvider.getCacheStats().entrySet()) {
+            writer.sample("geyser_cache_requests_total", entry.getValue().hitCount(), "cache", entry.getKey(), "result", "hit");
+            writer.sample("geyser_cache_requests_total", entry.getValue().missCount(), "cache", entry.getKey(), "result", "miss");
+        }
+
+        writer.family("geyser_cache_evictions", "counter", "Entries evicted from the skin and cape caches because of their size or age");
+        for (Map.Entry<String, CacheStats> entry : SkinProvider.getCacheStats().entrySet()) {
+            writer.sample("geyser_cache_evictions_total", entry.getValue().evictionCount(), "cache", entry.getKey());
+        }
+
+        writer.family("geyser_cache_bytes", "gauge", "Approximate memory retained by the skin and cape caches");
+        SkinProvider.getCacheWeights().forEach((cache, bytes) -> writer.sample("geyser_cache_bytes", bytes, "cache", cache));
+
+        writer.family("geyser_session_memory_bytes", "gauge", "Estimated memory retained by session caches, summed over all sessions");
+        memory.forEach((cache, bytes) -> writer.sample("geyser_session_memory_bytes", bytes, "cache", cache));
+
+        writer.gauge("geyser_session_memory_max_bytes", "Estimated memory retained by the caches of the largest session", maxSessionMemory);
+    }
+
+    private void writeEventLoops(OpenMetricsWriter writer) {
+        GeyserServer server = geyser.getGeyserServer();
+        if (server != null) {
+            writer.family("geyser_event_loop_lag_seconds", "gauge", "How long a task last waited before running, per player and RakNet event loop");
+            for (EventLoopLagMonitor.Probe probe : server.getLagMonitor().probes()) {
+                writer.sample("geyser_event_loop_lag_seconds", probe.lagNanos() / 1e9, "loop", probe.name());
+            }
+
+            writer.family("geyser_event_loop_overloaded", "gauge", "Whether an event loop is currently considered overloaded");
+            for (EventLoopLagMonitor.Probe probe : server.getLagMonitor().probes()) {
+                writer.sample("geyser_event_loop_overloaded", probe.saturated() ? 1 : 0, "loop", probe.name());
+            }
+        }
+
+        writer.family("geyser_event_loop_pending_tasks", "gauge", "Tasks waiting in the queue of each player event loop");
+        for (SessionTickScheduler scheduler : SessionTickScheduler.all()) {
+            if (scheduler.eventLoop() instanceof SingleThreadEventExecutor executor) {
+                writer.sample("geyser_event_loop_pending_tasks", executor.pendingTasks(), "loop", Integer.toString(scheduler.id()));
+            }
+        }
+
+        writer.family("geyser_event_loop_sessions", "gauge", "Sessions ticking on each player event loop");
+        for (SessionTickScheduler scheduler : SessionTickScheduler.all()) {
+            writer.sample("geyser_event_loop_sessions", scheduler.size(), "loop", Integer.toString(scheduler.id()));
+        }
+
+        writer.family("geyser_event_loop_tick_pass_seconds", "gauge", "How long the last pass over all session ticks took on each player event loop");
+        for (SessionTickScheduler scheduler : SessionTickScheduler.all()) {
+            writer.sample("geyser_event_loop_tick_pass_seconds", scheduler.lastPassNanos() / 1e9, "loop", Integer.toString(scheduler.id()));
+        }
+
+        writer.family("geyser_event_loop_tick_pass_max_seconds", "gauge", "The longest pass over all session ticks on each player event loop");
+        for (SessionTickScheduler scheduler : SessionTickScheduler.all()) {
+            writer.sample("geyser_event_loop_tick_pass_max_seconds", scheduler.maxPassNanos() / 1e9, "loop", Integer.toString(scheduler.id()));
+        }
+
+        writer.family("geyser_session_ticks", "counter", "Session ticks on each player event loop, by outcome");
+        for (SessionTickScheduler scheduler : SessionTickScheduler.all()) {
+            String loop = Integer.toString(scheduler.id());
+            writer.sample("geyser_session_ticks_total", scheduler.totalTicks(), "loop", loop, "outcome", "ran");
+            writer.sample("geyser_session_ticks_total", scheduler.overrunTicks(), "loop", loop, "outcome", "overran");
+            writer.sample("geyser_session_ticks_total", scheduler.droppedTicks(), "loop", loop, "outcome", "dropped");
+        }
+    }
+
+    private void writeNetwork(OpenMetricsWriter writer) {
+        writer.family("geyser_upstream_packets", "counter", "Packets exchanged with Bedrock clients");
+        writer.sample("geyser_upstream_packets_total", NetworkMetrics.UPSTREAM_PACKETS_IN.sum(), "direction", "in");
+        writer.sample("geyser_upstream_packets_total", NetworkMetrics.UPSTREAM_PACKETS_OUT.sum(), "direction", "out");
+
+        writer.family("geyser_upstream_bytes", "counter", "Bytes exchanged with Bedrock clients over RakNet, after compression");
+        writer.sample("geyser_upstream_bytes_total", NetworkMetrics.UPSTREAM_BYTES_IN.sum(), "direction", "in");
+        writer.sample("geyser_upstream_bytes_total", NetworkMetrics.UPSTREAM_BYTES_OUT.sum(), "direction", "out");
+
+        writer.family("geyser_downstream_packets", "counter", "Packets exchanged with the Java server");
+        writer.sample("geyser_downstream_packets_total", NetworkMetrics.DOWNSTREAM_PACKETS_IN.sum(), "direction", "in");
+        writer.sample("geyser_downstream_packets_total", NetworkMetrics.DOWNSTREAM_PACKETS_OUT.sum(), "direction", "out");
+    }
+
+    private void writeTranslators(OpenMetricsWriter writer) {
+        writer.gauge("geyser_translator_timings_enabled", "Whether packet translator timings are being recorded", PacketTranslatorTimings.isEnabled() ? 1 : 0);
+        if (!PacketTranslatorTimings.isEnabled()) {
+            return;
+        }
+
+        List<PacketTranslatorTimings.Snapshot> java = Registries.JAVA_PACKET_TRANSLATORS.getTimings().snapshot();
+        List<PacketTranslatorTimings.Snapshot> bedrock = Registries.BEDROCK_PACKET_TRANSLATORS.getTimings().snapshot();
+
+        writer.family("geyser_packet_translations", "counter", "Translated packets by packet type");
+        java.forEach(timings -> writer.sample("geyser_packet_translations_total", timings.count(), "edition", "java", "packet", timings.packet()));
+        bedrock.forEach(timings -> writer.sample("geyser_packet_translations_total", timings.count(), "edition", "bedrock", "packet", timings.packet()));
+
+        writer.family("geyser_packet_translation_seconds", "counter", "Time spent translating packets by packet type");
+        java.forEach(timings -> writer.sample("geyser_packet_translation_seconds_total", timings.totalNanos() / 1e9, "edition", "java", "packet", timings.packet()));
+        bedrock.forEach(timings -> writer.sample("geyser_packet_translation_seconds_total", timings.totalNanos() / 1e9, "edition", "bedrock", "packet", timings.packet()));
+
+        for (PacketTranslatorTimings.Snapshot timings : java) {
+            if (CHUNK_PACKET.equals(timings.packet())) {
+                writer.family("geyser_chunk_translation_seconds", "histogram", "How long translating a chunk takes");
+                writer.histogramSamples("geyser_chunk_translation_seconds", timings.buckets(), timings.totalNanos());
+                break;
+            }
+        }
+    }
+
+    private void writeSkins(OpenMetricsWriter writer) {
+        writer.histogram("geyser_skin_download_seconds", "How long downloading a skin or cape image takes", SkinProvider.getDownloadTimings());
+
+        FloodgateSkinUploader skinUploader = geyser.getSkinUploader();
+        if (skinUploader != null) {
+            writer.gauge("geyser_skin_upload_queue", "Bedrock skins waiting to be uploaded to the global api", skinUploader.getQueuedUploads());
+            writer.gauge("geyser_skin_upload_queue_bytes", "Size of the Bedrock skins waiting to be uploaded to the global api", skinUploader.getQueuedBytes());
+            writer.family("geyser_skin_uploads", "counter", "Bedrock skin uploads by outcome: sent, replaced by a newer upload of the same player, answered from a previous upload, or dropped because the queue was full");
+            skinUploader.getUploadCounts().forEach((result, count) -> writer.sample("geyser_skin_uploads_total", count, "result", result));
+        }
+    }
+
+    private record SessionKey(String state, int protocol) {
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.metrics;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import org.geysermc.geyser.GeyserImpl;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Answers scrapes of {@code /metrics} with the output of a {@link MetricsExporter}.
+ */
+@ChannelHandler.Sharable
+final class MetricsHttpHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+    private static final String PATH = "/metrics";
+
+    private final MetricsExporter exporter;
+
+    MetricsHttpHandler(MetricsExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) {
+        if (!request.decoderResult().isSuccess()) {
+            sendResponse(ctx, request, HttpResponseStatus.BAD_REQUEST, "text/plain; charset=UTF-8", HttpResponseStatus.BAD_REQUEST.toString());
+            return;
+        }
+
+        boolean head = HttpMethod.HEAD.equals(request.method());
+        if (!head && !HttpMethod.GET.equals(request.method())) {
+            sendResponse(ctx, request, HttpResponseStatus.METHOD_NOT_ALLOWED, "text/plain; charset=UTF-8", HttpResponseStatus.METHOD_NOT_ALLOWED.toString());
+            return;
+        }
+
+        if (!PATH.equals(new QueryStringDecoder(request.uri()).path())) {
+            sendResponse(ctx, request, HttpResponseStatus.NOT_FOUND, "text/plain; charset=UTF-8", HttpResponseStatus.NOT_FOUND.toString());
+            return;
+        }
+
+        String body;
+        try {
+            body = exporter.scrape();
+        } catch (Exception e) {
+            GeyserImpl.getInstance().getLogger().error("Could not collect metrics", e);
+            sendResponse(ctx, request, HttpResponseStatus.INTERNAL_SERVER_ERROR, "text/plain; charset=UTF-8", HttpResponseStatus.INTERNAL_SERVER_ERROR.toString());
+            return;
+        }
+        sendResponse(ctx, request, HttpResponseStatus.OK, OpenMetricsWriter.CONTENT_TYPE, head ? "" : body);
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        GeyserImpl.getInstance().getLogger().debug("Error in metrics HTTP connection: " + cause.getMessage());
+        ctx.close();
+    }
+
+    private static void sendResponse(ChannelHandlerContext ctx, FullHttpRequest request, HttpResponseStatus status, String contentType, String body) {
+        ByteBuf content = Unpooled.copiedBuffer(body, StandardCharsets.UTF_8);
+        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status, content);
+        response.headers().set(HttpHeaderNames.CONTENT_TYPE, contentType);
+        HttpUtil.setContentLength(response, content.readableBytes());
+        // Connection closing for non keep-alive requests is handled by the HttpServerKeepAliveHandler
+        HttpUtil.setKeepAlive(response, HttpUtil.isKeepAlive(request));
+        ctx.writeAndFlush(response);
+    }
+}
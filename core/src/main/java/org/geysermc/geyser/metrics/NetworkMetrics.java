@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Traffic counters summed over all sessions, for the metrics endpoint.
+ */
+public final class NetworkMetrics {
+    public static final LongAdder UPSTREAM_PACKETS_IN = new LongAdder();
+    public static final LongAdder UPSTREAM_PACKETS_OUT = new LongAdder();
+    /**
+     * Bytes as sent over RakNet, so after compression and encryption
+     */
+    public static final LongAdder UPSTREAM_BYTES_IN = new LongAdder();
+    public static final LongAdder UPSTREAM_BYTES_OUT = new LongAdder();
+    public static final LongAdder DOWNSTREAM_PACKETS_IN = new LongAdder();
+    public static final LongAdder DOWNSTREAM_PACKETS_OUT = new LongAdder();
+
+    private NetworkMetrics() {
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.metrics;
+
+/**
+ * Builds a metrics exposition in the OpenMetrics text format.
+ *
+ * @see <a href="https://github.com/OpenObservability/OpenMetrics/blob/main/specification/OpenMetrics.md">OpenMetrics specification</a>
+ */
+public final class OpenMetricsWriter {
+    public static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    /**
+     * Histogram buckets below this are not worth their own line; 2^10 ns is roughly one microsecond
+     */
+    private static final int FIRST_HISTOGRAM_BUCKET = 10;
+
+    private final StringBuilder builder = new StringBuilder(8192);
+
+    public OpenMetricsWriter family(String name, String type, String help) {
+        builder.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        builder.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        return this;
+    }
+
+    /**
+     * Writes a single sample.
+     *
+     * @param labels alternating label names and values
+     */
+    public OpenMetricsWriter sample(String name, double value, String... labels) {
+        builder.append(name);
+        appendLabels(labels, null);
+        builder.append(' ');
+        appendValue(value);
+        builder.append('\n');
+        return this;
+    }
+
+    public OpenMetricsWriter gauge(String name, String help, double value) {
+        return family(name, "gauge", help).sample(name, value);
+    }
+
+    public OpenMetricsWriter counter(String name, String help, double value) {
+        return family(name, "counter", help).sample(name + "_total", value);
+    }
+
+    /**
+     * Writes the samples of a histogram whose family was already written.
+     *
+     * @param buckets non-cumulative bucket counts as recorded by a {@link LatencyHistogram}
+     * @param labels alternating label names and values
+     */
+    public OpenMetricsWriter histogramSamples(String name, long[] buckets, long sumNanos, String... labels) {
+        long cumulative = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            cumulative += buckets[i];
+            if (i < FIRST_HISTOGRAM_BUCKET || i == buckets.length - 1) {
+                // The last bucket catches all larger values, so it is only reported as +Inf
+                continue;
+            }
+            builder.append(name).append("_bucket");
+            appendLabels(labels, LatencyHistogram.upperBoundNanos(i) / 1e9);
+            builder.append(' ').append(cumulative).append('\n');
+        }
+        builder.append(name).append("_bucket");
+        appendLabels(labels, Double.POSITIVE_INFINITY);
+        builder.append(' ').append(cumulative).append('\n');
+
+        builder.append(name).append("_count");
+        appendLabels(labels, null);
+        builder.append(' ').append(cumulative).append('\n');
+
+        builder.append(name).append("_sum");
+        appendLabels(labels, null);
+        builder.append(' ');
+        appendValue(sumNanos / 1e9);
+        builder.append('\n');
+        return this;
+    }
+
+    public OpenMetricsWriter histogram(String name, String help, LatencyHistogram histogram) {
+        family(name, "histogram", help);
+        return histogramSamples(name, histogram.buckets(), histogram.sumNanos());
+    }
+
+    public String finish() {
+        builder.append("# EOF\n");
+        return builder.toString();
+    }
+
+    private void appendLabels(String[] labels, Double le) {
+        if (labels.length == 0 && le == null) {
+            return;
+        }
+
+        builder.append('{');
+        for (int i = 0; i + 1 < labels.length; i += 2) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(labels[i]).append("=\"");
+            escape(labels[i + 1]);
+            builder.append('"');
+        }
+        if (le != null) {
+            if (labels.length > 0) {
+                builder.append(',');
+            }
+            builder.append("le=\"");
+            appendValue(le);
+            builder.append('"');
+        }
+        builder.append('}');
+    }
+
+    private void appendValue(double value) {
+        if (value == Double.POSITIVE_INFINITY) {
+            builder.append("+Inf");
+        } else if (value == (long) value) {
+            builder.append((long) value);
+        } else {
+            builder.append(value);
+        }
+    }
+
+    private void escape(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> builder.append("\\\\");
+                case '"' -> builder.append("\\\"");
+                case '\n' -> builder.append("\\n");
+                default -> builder.append(c);
+            }
+        }
+    }
+}
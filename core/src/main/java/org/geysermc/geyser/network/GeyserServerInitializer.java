@@ -27,6 +27,7 @@ package org.geysermc.geyser.network;
 
 import io.netty.channel.Channel;
 import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoop;
 import io.netty.util.concurrent.DefaultThreadFactory;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.cloudburstmc.protocol.bedrock.BedrockPeer;
@@ -62,10 +63,13 @@ public class GeyserServerInitializer extends BedrockServerInitializer {
             }
 
             bedrockServerSession.setLogging(true);
-            GeyserSession session = new GeyserSession(this.geyser, bedrockServerSession, this.eventLoopGroup.next());
+            EventLoop eventLoop = this.geyser.getGeyserServer().getLagMonitor().nextLoop(this.eventLoopGroup);
+            GeyserSession session = new GeyserSession(this.geyser, bedrockServerSession, eventLoop);
 
             Channel channel = bedrockServerSession.getPeer().getChannel();
             channel.pipeline().addAfter(BedrockPacketCodec.NAME, InvalidPacketHandler.NAME, new InvalidPacketHandler(session));
+            channel.pipeline().addAfter(BedrockPacketCodec.NAME, TrafficCountingHandler.PACKETS_NAME, TrafficCountingHandler.PACKETS);
+            channel.pipeline().addFirst(TrafficCountingHandler.BYTES_NAME, TrafficCountingHandler.BYTES);
 
             bedrockServerSession.setPacketHandler(new UpstreamPacketHandler(this.geyser, session));
         } catch (Throwable e) {
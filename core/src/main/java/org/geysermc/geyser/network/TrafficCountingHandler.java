@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import org.geysermc.geyser.metrics.NetworkMetrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the messages or bytes passing through a Bedrock channel's pipeline, depending on where it is added.
+ */
+@ChannelHandler.Sharable
+public final class TrafficCountingHandler extends ChannelDuplexHandler {
+    /**
+     * Added first in the pipeline, counting the bytes exchanged with RakNet
+     */
+    public static final String BYTES_NAME = "geyser-byte-counter";
+    public static final TrafficCountingHandler BYTES = new TrafficCountingHandler(NetworkMetrics.UPSTREAM_BYTES_IN, NetworkMetrics.UPSTREAM_BYTES_OUT, true);
+    /**
+     * Added after the packet codec, counting decoded packets
+     */
+    public static final String PACKETS_NAME = "geyser-packet-counter";
+    public static final TrafficCountingHandler PACKETS = new TrafficCountingHandler(NetworkMetrics.UPSTREAM_PACKETS_IN, NetworkMetrics.UPSTREAM_PACKETS_OUT, false);
+
+    private final LongAdder in;
+    private final LongAdder out;
+    private final boolean bytes;
+
+    private TrafficCountingHandler(LongAdder in, LongAdder out, boolean bytes) {
+        this.in = in;
+        this.out = out;
+        this.bytes = bytes;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        this.in.add(amount(msg));
+        super.channelRead(ctx, msg);
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        this.out.add(amount(msg));
+        super.write(ctx, msg, promise);
+    }
+
+    private long amount(Object msg) {
+        if (!this.bytes) {
+            return 1;
+        }
+        if (msg instanceof ByteBuf buf) {
+            return buf.readableBytes();
+        }
+        if (msg instanceof ByteBufHolder holder) {
+            return holder.content().readableBytes();
+        }
+        return 0;
+    }
+}
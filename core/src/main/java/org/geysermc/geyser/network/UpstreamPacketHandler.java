@@ -26,6 +26,7 @@
 package org.geysermc.geyser.network;
 
 import io.netty.buffer.Unpooled;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.math.vector.Vector2f;
 import org.cloudburstmc.protocol.bedrock.BedrockDisconnectReasons;
 import org.cloudburstmc.protocol.bedrock.codec.BedrockCodec;
@@ -78,6 +79,8 @@ import java.nio.ByteBuffer;
 import java.nio.channels.SeekableByteChannel;
 import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.OptionalInt;
 import java.util.UUID;
 
@@ -85,6 +88,11 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
 
     private boolean networkSettingsRequested = false;
     private final Deque<String> packsToSend = new ArrayDeque<>();
+    private final Map<UUID, PackTransfer> packTransfers = new HashMap<>();
+    /**
+     * How many chunks may be sent ahead of the chunk the client last requested
+     */
+    private final int packSendWindow;
     private final CompressionStrategy compressionStrategy;
 
     private SessionLoadResourcePacksEventImpl resourcePackLoadEvent;
@@ -95,6 +103,7 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
         ZlibCompression compression = new ZlibCompression(Zlib.RAW);
         compression.setLevel(this.geyser.getConfig().getBedrock().getCompressionLevel());
         this.compressionStrategy = new SimpleCompressionStrategy(compression);
+        this.packSendWindow = Math.max(0, this.geyser.getConfig().getResourcePackSendWindow());
     }
 
     private PacketSignal translateAndDefault(BedrockPacket packet) {
@@ -231,7 +240,9 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
             }
             case SEND_PACKS -> {
                 packsToSend.addAll(packet.getPackIds());
-                sendPackDataInfo(packsToSend.pop());
+                if (!packsToSend.isEmpty()) {
+                    sendNextPack();
+                }
             }
             case HAVE_ALL_PACKS -> {
                 ResourcePackStackPacket stackPacket = new ResourcePackStackPacket();
@@ -301,7 +312,6 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
         }
 
         ResourcePack pack = holder.pack();
-        ResourcePackChunkDataPacket data = new ResourcePackChunkDataPacket();
         PackCodec codec = pack.codec();
 
         // If a remote pack ends up here, that usually implies that a client was not able to download the pack
@@ -314,36 +324,82 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
             }
         }
 
-        data.setChunkIndex(packet.getChunkIndex());
-        data.setProgress((long) packet.getChunkIndex() * GeyserResourcePack.CHUNK_SIZE);
-        data.setPackVersion(packet.getPackVersion());
-        data.setPackId(packet.getPackId());
+        PackTransfer transfer = this.packTransfers.computeIfAbsent(packet.getPackId(),
+            packId -> new PackTransfer(packId, packet.getPackVersion(), codec));
+        streamChunks(transfer, packet.getChunkIndex());
+        return PacketSignal.HANDLED;
+    }
 
-        int offset = packet.getChunkIndex() * GeyserResourcePack.CHUNK_SIZE;
-        long remainingSize = codec.size() - offset;
-        byte[] packData = new byte[(int) MathUtils.constrain(remainingSize, 0, GeyserResourcePack.CHUNK_SIZE)];
+    /**
+     * Sends the next pack in {@link #packsToSend}, and if a send window is configured, starts streaming its first chunks
+     * without waiting for the client to request them.
+     */
+    private void sendNextPack() {
+        PackTransfer transfer = sendPackDataInfo(packsToSend.pop());
+        if (transfer != null && packSendWindow > 0) {
+            streamChunks(transfer, -1);
+        }
+    }
 
-        try (SeekableByteChannel channel = codec.serialize()) {
-            channel.position(offset);
-            channel.read(ByteBuffer.wrap(packData, 0, packData.length));
+    /**
+     * Sends the requested chunk (if it was not already sent ahead of the request), followed by up to
+     * {@link #packSendWindow} chunks past the highest requested one for as long as the RakNet send queue has room.
+     * Once every chunk of the pack has been sent, the next pack in the queue is started.
+     *
+     * @param transfer the transfer state of the pack
+     * @param requestedChunk the chunk index the client asked for, or -1 if this is a proactive push
+     */
+    private void streamChunks(PackTransfer transfer, int requestedChunk) {
+        // A request for a chunk that was already pushed ahead of time needs no reply; anything else
+        // (including a repeated request for a chunk the client has already asked for) is answered
+        boolean sentAhead = requestedChunk > transfer.highestRequestedChunk && requestedChunk < transfer.nextChunk;
+        transfer.highestRequestedChunk = Math.max(transfer.highestRequestedChunk, requestedChunk);
+
+        try (SeekableByteChannel channel = transfer.codec.serialize()) {
+            if (requestedChunk >= 0 && !sentAhead) {
+                sendChunk(transfer, channel, requestedChunk);
+                transfer.nextChunk = Math.max(transfer.nextChunk, requestedChunk + 1);
+            }
+
+            int windowEnd = Math.min(transfer.chunkCount, transfer.highestRequestedChunk + 1 + packSendWindow);
+            while (transfer.nextChunk < windowEnd && session.getUpstream().isWritable()) {
+                sendChunk(transfer, channel, transfer.nextChunk++);
+            }
         } catch (IOException e) {
             session.disconnect("disconnectionScreen.resourcePack");
             e.printStackTrace();
+            return;
         }
 
-        data.setData(Unpooled.wrappedBuffer(packData));
+        // Check if all chunks have been sent and send next pack in queue when available.
+        if (transfer.nextChunk >= transfer.chunkCount && !transfer.nextPackStarted && !packsToSend.isEmpty()) {
+            transfer.nextPackStarted = true;
+            sendNextPack();
+        }
+    }
 
-        session.sendUpstreamPacket(data);
+    private void sendChunk(PackTransfer transfer, SeekableByteChannel channel, int chunkIndex) throws IOException {
+        ResourcePackChunkDataPacket data = new ResourcePackChunkDataPacket();
+        data.setChunkIndex(chunkIndex);
+        data.setProgress((long) chunkIndex * GeyserResourcePack.CHUNK_SIZE);
+        data.setPackVersion(transfer.packVersion);
+        data.setPackId(transfer.packId);
+
+        long offset = (long) chunkIndex * GeyserResourcePack.CHUNK_SIZE;
+        long remainingSize = transfer.codec.size() - offset;
+        byte[] packData = new byte[(int) MathUtils.constrain(remainingSize, 0, GeyserResourcePack.CHUNK_SIZE)];
 
-        // Check if it is the last chunk and send next pack in queue when available.
-        if (remainingSize <= GeyserResourcePack.CHUNK_SIZE && !packsToSend.isEmpty()) {
-            sendPackDataInfo(packsToSend.pop());
+        if (packData.length > 0) {
+            channel.position(offset);
+            channel.read(ByteBuffer.wrap(packData, 0, packData.length));
         }
 
-        return PacketSignal.HANDLED;
+        data.setData(Unpooled.wrappedBuffer(packData));
+
+        session.sendUpstreamPacket(data);
     }
 
-    private void sendPackDataInfo(String id) {
+    private @Nullable PackTransfer sendPackDataInfo(String id) {
         ResourcePackDataInfoPacket data = new ResourcePackDataInfoPacket();
         String[] packID = id.split("_");
 
@@ -351,7 +407,7 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
             GeyserImpl.getInstance().getLogger().debug("Client {0} tried to request invalid pack id {1}!",
                 session.bedrockUsername(), packID);
             session.disconnect("disconnectionScreen.resourcePack");
-            return;
+            return null;
         }
 
         UUID packId;
@@ -361,7 +417,7 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
             GeyserImpl.getInstance().getLogger().debug("Client {0} tried to request pack with an invalid id {1})",
                 session.bedrockUsername(), id);
             session.disconnect("disconnectionScreen.resourcePack");
-            return;
+            return null;
         }
 
         ResourcePackHolder holder = this.resourcePackLoadEvent.getPacks().get(packId);
@@ -369,16 +425,18 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
             GeyserImpl.getInstance().getLogger().debug("Client {0} tried to request pack id {1} not sent to it!",
                 session.bedrockUsername(), id);
             session.disconnect("disconnectionScreen.resourcePack");
-            return;
+            return null;
         }
 
         ResourcePack pack = holder.pack();
         PackCodec codec = pack.codec();
         ResourcePackManifest.Header header = pack.manifest().header();
 
+        PackTransfer transfer = new PackTransfer(header.uuid(), packID[1], codec);
+        this.packTransfers.put(header.uuid(), transfer);
+
         data.setPackId(header.uuid());
-        int chunkCount = (int) Math.ceil(codec.size() / (double) GeyserResourcePack.CHUNK_SIZE);
-        data.setChunkCount(chunkCount);
+        data.setChunkCount(transfer.chunkCount);
         data.setCompressedPackSize(codec.size());
         data.setMaxChunkSize(GeyserResourcePack.CHUNK_SIZE);
         data.setHash(codec.sha256());
@@ -387,5 +445,29 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
         data.setType(ResourcePackType.RESOURCES);
 
         session.sendUpstreamPacket(data);
+        return transfer;
+    }
+
+    /**
+     * Tracks how far the transfer of a single pack has progressed.
+     */
+    private static final class PackTransfer {
+        private final UUID packId;
+        private final String packVersion;
+        private final PackCodec codec;
+        private final int chunkCount;
+        /**
+         * The first chunk that has not been sent to the client yet
+         */
+        private int nextChunk = 0;
+        private int highestRequestedChunk = -1;
+        private boolean nextPackStarted = false;
+
+        private PackTransfer(UUID packId, String packVersion, PackCodec codec) {
+            this.packId = packId;
+            this.packVersion = packVersion;
+            this.codec = codec;
+            this.chunkCount = (int) Math.ceil(codec.size() / (double) GeyserResourcePack.CHUNK_SIZE);
+        }
     }
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network.http;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpServerKeepAliveHandler;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A small HTTP/1.1 server running on its own event loop group, used for endpoints that are served next to the
+ * Bedrock listener. Requests are aggregated and passed to the handler created by the given supplier.
+ */
+public class EmbeddedHttpServer {
+    /**
+     * Requests served by this server never carry a meaningful body
+     */
+    private static final int MAX_REQUEST_LENGTH = 8192;
+
+    private final String name;
+    private final Supplier<ChannelHandler> handlerSupplier;
+    private EventLoopGroup group;
+    private Channel channel;
+
+    public EmbeddedHttpServer(String name, Supplier<ChannelHandler> handlerSupplier) {
+        this.name = name;
+        this.handlerSupplier = handlerSupplier;
+    }
+
+    public CompletableFuture<Void> bind(InetSocketAddress address, int threads) {
+        Class<? extends ServerChannel> channelClass;
+        DefaultThreadFactory threadFactory = new DefaultThreadFactory("Geyser " + name + " HTTP thread", true);
+        if (Epoll.isAvailable()) {
+            this.group = new EpollEventLoopGroup(threads, threadFactory);
+            channelClass = EpollServerSocketChannel.class;
+        } else {
+            this.group = new NioEventLoopGroup(threads, threadFactory);
+            channelClass = NioServerSocketChannel.class;
+        }
+
+        ChannelFuture bindFuture = new ServerBootstrap()
+            .group(this.group)
+            .channel(channelClass)
+            .childHandler(new ChannelInitializer<>() {
+                @Override
+                protected void initChannel(@NonNull Channel ch) {
+                    ch.pipeline()
+                        .addLast("codec", new HttpServerCodec())
+                        .addLast("keep-alive", new HttpServerKeepAliveHandler())
+                        .addLast("aggregator", new HttpObjectAggregator(MAX_REQUEST_LENGTH))
+                        .addLast("handler", handlerSupplier.get());
+                }
+            })
+            .bind(address);
+        this.channel = bindFuture.channel();
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        bindFuture.addListener(result -> {
+            if (result.isSuccess()) {
+                future.complete(null);
+            } else {
+                future.completeExceptionally(result.cause());
+            }
+        });
+        return future;
+    }
+
+    public void shutdown() {
+        if (this.channel != null) {
+            this.channel.close().syncUninterruptibly();
+            this.channel = null;
+        }
+        if (this.group != null) {
+            this.group.shutdownGracefully(100, 500, TimeUnit.MILLISECONDS).syncUninterruptibly();
+            this.group = null;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network.http;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.api.pack.PathPackCodec;
+import org.geysermc.geyser.pack.GeyserResourcePack;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.HexFormat;
+
+/**
+ * Answers GET and HEAD requests for the packs of a {@link ResourcePackHttpServer}.
+ * Pack files are written with a {@link DefaultFileRegion}, so the transport can send them with sendfile and
+ * the contents never have to be copied through the JVM heap. Single byte ranges and ETag revalidation are supported.
+ */
+@ChannelHandler.Sharable
+final class ResourcePackHttpHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+    private final ResourcePackHttpServer server;
+
+    ResourcePackHttpHandler(ResourcePackHttpServer server) {
+        this.server = server;
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) {
+        if (!request.decoderResult().isSuccess()) {
+            sendStatus(ctx, request, HttpResponseStatus.BAD_REQUEST);
+            return;
+        }
+
+        boolean head = HttpMethod.HEAD.equals(request.method());
+        if (!head && !HttpMethod.GET.equals(request.method())) {
+            sendStatus(ctx, request, HttpResponseStatus.METHOD_NOT_ALLOWED);
+            return;
+        }
+
+        GeyserResourcePack pack = server.packForPath(new QueryStringDecoder(request.uri()).path());
+        if (pack == null || !(pack.codec() instanceof PathPackCodec codec)) {
+            sendStatus(ctx, request, HttpResponseStatus.NOT_FOUND);
+            return;
+        }
+
+        long length = codec.size();
+        String etag = "\"" + HexFormat.of().formatHex(codec.sha256()) + "\"";
+
+        if (etag.equals(request.headers().get(HttpHeaderNames.IF_NONE_MATCH))) {
+            FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.NOT_MODIFIED);
+            response.headers().set(HttpHeaderNames.ETAG, etag);
+            sendResponse(ctx, request, response);
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        HttpResponseStatus status = HttpResponseStatus.OK;
+
+        String range = request.headers().get(HttpHeaderNames.RANGE);
+        String ifRange = request.headers().get(HttpHeaderNames.IF_RANGE);
+        // A stale If-Range means the client's partial copy is outdated, so the whole file is sent instead
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == null) {
+                FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.headers().set(HttpHeaderNames.CONTENT_RANGE, "bytes */" + length);
+                sendResponse(ctx, request, response);
+                return;
+            }
+            start = bounds[0];
+            end = bounds[1];
+            status = HttpResponseStatus.PARTIAL_CONTENT;
+        }
+
+        FileChannel channel = null;
+        if (!head && length > 0) {
+            try {
+                channel = FileChannel.open(codec.path(), StandardOpenOption.READ);
+            } catch (IOException e) {
+                GeyserImpl.getInstance().getLogger().error("Could not open resource pack " + codec.path() + " for HTTP download", e);
+                sendStatus(ctx, request, HttpResponseStatus.INTERNAL_SERVER_ERROR);
+                return;
+            }
+        }
+
+        long contentLength = length == 0 ? 0 : end - start + 1;
+        HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, status);
+        response.headers()
+            .set(HttpHeaderNames.CONTENT_TYPE, "application/zip")
+            .set(HttpHeaderNames.ACCEPT_RANGES, HttpHeaderValues.BYTES)
+            .set(HttpHeaderNames.ETAG, etag);
+        if (status == HttpResponseStatus.PARTIAL_CONTENT) {
+            response.headers().set(HttpHeaderNames.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        HttpUtil.setContentLength(response, contentLength);
+        HttpUtil.setKeepAlive(response, HttpUtil.isKeepAlive(request));
+
+        ctx.write(response);
+        if (channel != null) {
+            ctx.write(new DefaultFileRegion(channel, start, contentLength));
+        }
+        ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        GeyserImpl.getInstance().getLogger().debug("Error in resource pack HTTP connection: " + cause.getMessage());
+        ctx.close();
+    }
+
+    /**
+     * Parses a single-range {@code Range} header.
+     *
+     * @return the inclusive start and end offsets, or null if the range cannot be satisfied
+     */
+    static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') != -1 || length == 0) {
+            return null;
+        }
+
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash == -1) {
+            return null;
+        }
+
+        try {
+            long start;
+            long end;
+            if (dash == 0) {
+                // Suffix range, e.g. "bytes=-500" for the last 500 bytes
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0) {
+                    return null;
+                }
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(spec.substring(0, dash));
+                end = dash == spec.length() - 1 ? length - 1 : Math.min(Long.parseLong(spec.substring(dash + 1)), length - 1);
+            }
+
+            if (start < 0 || start > end || start >= length) {
+                return null;
+            }
+            return new long[] {start, end};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static void sendStatus(ChannelHandlerContext ctx, FullHttpRequest request, HttpResponseStatus status) {
+        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status,
+            Unpooled.copiedBuffer(status.toString(), StandardCharsets.UTF_8));
+        response.headers().set(HttpHeaderNames.CONTENT_TYPE, "text/plain; charset=UTF-8");
+        sendResponse(ctx, request, response);
+    }
+
+    private static void sendResponse(ChannelHandlerContext ctx, FullHttpRequest request, FullHttpResponse response) {
+        HttpUtil.setContentLength(response, response.content().readableBytes());
+        // Connection closing for non keep-alive requests is handled by the HttpServerKeepAliveHandler
+        HttpUtil.setKeepAlive(response, HttpUtil.isKeepAlive(request));
+        ctx.writeAndFlush(response);
+    }
+}
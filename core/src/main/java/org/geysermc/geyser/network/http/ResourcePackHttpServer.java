@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network.http;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.api.pack.PathPackCodec;
+import org.geysermc.geyser.configuration.GeyserConfiguration;
+import org.geysermc.geyser.pack.GeyserResourcePack;
+import org.geysermc.geyser.pack.ResourcePackHolder;
+import org.geysermc.geyser.registry.Registries;
+
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Serves the resource packs loaded from disk over HTTP, so that Bedrock clients can download them
+ * as URL packs instead of requesting them in chunks over the game connection.
+ */
+public final class ResourcePackHttpServer {
+    static final String PATH_PREFIX = "/packs/";
+
+    private final GeyserConfiguration.IResourcePackHttpServerConfiguration config;
+    /**
+     * Packs that can be downloaded, keyed by their request path
+     */
+    private final Map<String, GeyserResourcePack> packs;
+    /**
+     * The URL clients are told to download packs from, or null if none could be determined
+     */
+    private final @Nullable String baseUrl;
+    private final EmbeddedHttpServer server;
+
+    public ResourcePackHttpServer(GeyserImpl geyser) {
+        this.config = geyser.getConfig().getResourcePackHttpServer();
+
+        Map<String, GeyserResourcePack> packs = new HashMap<>();
+        for (ResourcePackHolder holder : Registries.RESOURCE_PACKS.get().values()) {
+            // Remote packs are already downloaded by clients from elsewhere
+            if (holder.pack().codec() instanceof PathPackCodec) {
+                packs.put(PATH_PREFIX + fileName(holder.pack()), holder.pack());
+            }
+        }
+        this.packs = Collections.unmodifiableMap(packs);
+
+        String url = config.getUrl() == null ? "" : config.getUrl().trim();
+        if (url.isEmpty()) {
+            String address = config.getAddress();
+            if (address == null || address.isEmpty() || "0.0.0.0".equals(address) || "::".equals(address)) {
+                geyser.getLogger().warning("The resource pack HTTP server is listening on all addresses, but no url was configured. " +
+                    "Bedrock clients will continue to download packs over the game connection until the url option is set.");
+                url = null;
+            } else {
+                url = "http://" + (address.indexOf(':') != -1 ? "[" + address + "]" : address) + ":" + config.getPort();
+            }
+        } else if (url.endsWith("/")) {
+            url = url.substring(0, url.length() - 1);
+        }
+        this.baseUrl = url;
+
+        ResourcePackHttpHandler handler = new ResourcePackHttpHandler(this);
+        this.server = new EmbeddedHttpServer("Resource Pack", () -> handler);
+    }
+
+    public CompletableFuture<Void> bind() {
+        return this.server.bind(new InetSocketAddress(config.getAddress(), config.getPort()), 2);
+    }
+
+    public void shutdown() {
+        this.server.shutdown();
+    }
+
+    /**
+     * @return the URL that the given pack can be downloaded from, or null if the pack is not served by this server
+     */
+    public @Nullable String url(GeyserResourcePack pack) {
+        if (this.baseUrl == null) {
+            return null;
+        }
+
+        String path = PATH_PREFIX + fileName(pack);
+        // Packs with the same UUID may be registered per-session through the API; only advertise the pack we actually serve
+        if (this.packs.get(path) != pack) {
+            return null;
+        }
+        return this.baseUrl + path;
+    }
+
+    @Nullable GeyserResourcePack packForPath(String path) {
+        return this.packs.get(path);
+    }
+
+    public int servedPacks() {
+        return this.packs.size();
+    }
+
+    private static String fileName(GeyserResourcePack pack) {
+        return pack.uuid() + "_" + pack.manifest().header().version() + ".zip";
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network.netty;
+
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.configuration.GeyserConfiguration;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Notices when event loops fall behind, by regularly submitting an empty task to each loop and measuring how long it
+ * waits before it runs.
+ * <p>
+ * A loop whose lag rises above the configured threshold is considered saturated until its lag drops below half the
+ * threshold again. Sessions on a saturated player loop skip cosmetic work, and new sessions are kept off it.
+ */
+public final class EventLoopLagMonitor {
+    private static final long PROBE_INTERVAL_MILLIS = 100;
+
+    private final GeyserImpl geyser;
+    private final GeyserConfiguration.IEventLoopLagConfiguration config;
+    private final long thresholdNanos;
+    private final Map<EventExecutor, Probe> probes = new IdentityHashMap<>();
+    private ScheduledFuture<?> task;
+
+    public EventLoopLagMonitor(GeyserImpl geyser) {
+        this.geyser = geyser;
+        this.config = geyser.getConfig().getEventLoopLag();
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, config.getThreshold()));
+    }
+
+    /**
+     * Adds all loops of the given group to the monitor. Must be called before {@link #start(ScheduledExecutorService)}.
+     */
+    public void monitor(String name, EventLoopGroup group) {
+        int i = 0;
+        for (EventExecutor executor : group) {
+            this.probes.put(executor, new Probe(name + " #" + i++, executor));
+        }
+    }
+
+    public void start(ScheduledExecutorService scheduler) {
+        if (this.thresholdNanos == 0 || this.task != null) {
+            return;
+        }
+        this.task = scheduler.scheduleAtFixedRate(this::probeAll, PROBE_INTERVAL_MILLIS, PROBE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (this.task != null) {
+            this.task.cancel(false);
+            this.task = null;
+        }
+    }
+
+    public boolean isSaturated(EventExecutor executor) {
+        Probe probe = this.probes.get(executor);
+        return probe != null && probe.saturated;
+    }
+
+    /**
+     * @return whether sessions on the given loop should skip work that only affects visuals
+     */
+    public boolean shouldShedCosmetics(EventExecutor executor) {
+        return this.config.isShedCosmetics() && isSaturated(executor);
+    }
+
+    /**
+     * @return the last measured lag of the given loop in nanoseconds, or 0 if it is not monitored
+     */
+    public long lagNanos(EventExecutor executor) {
+        Probe probe = this.probes.get(executor);
+        return probe == null ? 0 : probe.lagNanos;
+    }
+
+    /**
+     * Picks the loop for a new session. This is the next loop of the group in turn, unless that loop is saturated,
+     * in which case the loop with the least lag is used instead.
+     */
+    public EventLoop nextLoop(EventLoopGroup group) {
+        EventLoop next = group.next();
+        if (!this.config.isBalanceNewSessions() || !isSaturated(next)) {
+            return next;
+        }
+
+        EventLoop best = next;
+        long bestLag = lagNanos(next);
+        for (EventExecutor executor : group) {
+            long lag = lagNanos(executor);
+            if (lag < bestLag && executor instanceof EventLoop loop) {
+                best = loop;
+                bestLag = lag;
+            }
+        }
+        return best;
+    }
+
+    public Collection<Probe> probes() {
+        return Collections.unmodifiableCollection(this.probes.values());
+    }
+
+    private void probeAll() {
+        long now = System.nanoTime();
+        for (Probe probe : this.probes.values()) {
+            boolean wasSaturated = probe.saturated;
+            probe.probe(now);
+            if (!wasSaturated && probe.saturated) {
+                geyser.getLogger().warning(probe.name + " is overloaded and running " + TimeUnit.NANOSECONDS.toMillis(probe.lagNanos) + "ms behind");
+            } else if (wasSaturated && !probe.saturated) {
+                geyser.getLogger().info(probe.name + " has caught up again");
+            }
+        }
+    }
+
+    public final class Probe {
+        private final String name;
+        private final EventExecutor executor;
+        /**
+         * When the pending probe task was submitted, or 0 if it already ran
+         */
+        private volatile long submittedAt;
+        private volatile long lagNanos;
+        private volatile boolean saturated;
+
+        private Probe(String name, EventExecutor executor) {
+            this.name = name;
+            this.executor = executor;
+        }
+
+        private void probe(long now) {
+            long submitted = this.submittedAt;
+            if (submitted != 0) {
+                // The last probe hasn't even run yet; the loop is at least this far behind
+                this.lagNanos = Math.max(this.lagNanos, now - submitted);
+            } else {
+                this.submittedAt = now;
+                try {
+                    this.executor.execute(this::complete);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down
+                    this.submittedAt = 0;
+                    return;
+                }
+            }
+
+            if (this.lagNanos > thresholdNanos) {
+                this.saturated = true;
+            } else if (this.lagNanos < thresholdNanos / 2) {
+                this.saturated = false;
+            }
+        }
+
+        private void complete() {
+            this.lagNanos = System.nanoTime() - this.submittedAt;
+            this.submittedAt = 0;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public long lagNanos() {
+            return lagNanos;
+        }
+
+        public boolean saturated() {
+            return saturated;
+        }
+    }
+}
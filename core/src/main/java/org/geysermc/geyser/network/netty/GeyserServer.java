@@ -107,6 +107,8 @@ public final class GeyserServer {
     private EventLoopGroup childGroup;
     private final ServerBootstrap bootstrap;
     private EventLoopGroup playerGroup;
+    @Getter
+    private final EventLoopLagMonitor lagMonitor;
 
     @Getter
     private final ExpiringMap<InetSocketAddress, InetSocketAddress> proxiedAddresses;
@@ -146,6 +148,10 @@ public final class GeyserServer {
         }
 
         this.broadcastPort = geyser.getConfig().getBedrock().broadcastPort();
+
+        this.lagMonitor = new EventLoopLagMonitor(geyser);
+        this.lagMonitor.monitor("Geyser player thread", this.playerGroup);
+        this.lagMonitor.monitor("RakNet thread", this.childGroup);
     }
 
     public CompletableFuture<Void> bind(InetSocketAddress address) {
@@ -156,6 +162,7 @@ public final class GeyserServer {
             bootstrapFutures[i] = future;
         }
 
+        this.lagMonitor.start(this.geyser.getScheduledThread());
         return Bootstraps.allOf(bootstrapFutures);
     }
 
@@ -183,6 +190,7 @@ public final class GeyserServer {
     }
 
     public void shutdown() {
+        this.lagMonitor.stop();
         try {
             Future<?> futureChildGroup = this.childGroup.shutdownGracefully(SHUTDOWN_QUIET_PERIOD_MS, SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS);
             this.childGroup = null;
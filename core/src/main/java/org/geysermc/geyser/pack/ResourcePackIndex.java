@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.pack;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.geyser.GeyserImpl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An on-disk index of resource pack metadata, keyed by the pack's path, size and modification time.
+ * Packs that have not changed since the last start can be loaded from here without opening their zip file
+ * or hashing their contents. This class is safe to use from multiple threads while packs are being loaded.
+ */
+public final class ResourcePackIndex {
+    public static final String FILE_NAME = "resource_pack_index.json";
+    /**
+     * Increase this if the format of entries changes; old indexes are then discarded.
+     */
+    private static final int VERSION = 1;
+
+    private final Path file;
+    private final Map<String, Entry> entries;
+    /**
+     * Paths that were looked up or added during this load. Anything else no longer exists and is pruned on save.
+     */
+    private final Set<String> seen = ConcurrentHashMap.newKeySet();
+    private volatile boolean dirty = false;
+
+    private ResourcePackIndex(Path file, Map<String, Entry> entries) {
+        this.file = file;
+        this.entries = entries;
+    }
+
+    public static ResourcePackIndex load(Path file) {
+        Map<String, Entry> entries = new ConcurrentHashMap<>();
+        if (Files.exists(file)) {
+            try {
+                IndexFile index = GeyserImpl.JSON_MAPPER.readValue(file.toFile(), IndexFile.class);
+                if (index.version() == VERSION && index.packs() != null) {
+                    entries.putAll(index.packs());
+                }
+            } catch (IOException e) {
+                GeyserImpl.getInstance().getLogger().debug("Could not read resource pack index; all packs will be read again: " + e.getMessage());
+            }
+        }
+        return new ResourcePackIndex(file, entries);
+    }
+
+    /**
+     * @return the stored entry for this path, or null if there is none or the file has changed since it was stored
+     */
+    public @Nullable Entry get(Path path, BasicFileAttributes attributes) {
+        String key = key(path);
+        seen.add(key);
+        Entry entry = entries.get(key);
+        if (entry == null || entry.size() != attributes.size() || entry.lastModified() != attributes.lastModifiedTime().toMillis()) {
+            return null;
+        }
+        return entry;
+    }
+
+    public void put(Path path, BasicFileAttributes attributes, String manifest, byte[] sha256) {
+        String key = key(path);
+        seen.add(key);
+        entries.put(key, new Entry(attributes.size(), attributes.lastModifiedTime().toMillis(), manifest, HexFormat.of().formatHex(sha256)));
+        dirty = true;
+    }
+
+    /**
+     * Writes the index to disk if anything changed, dropping entries for packs that were not loaded this time.
+     */
+    public void save() {
+        if (entries.keySet().retainAll(seen)) {
+            dirty = true;
+        }
+        if (!dirty) {
+            return;
+        }
+
+        try {
+            Files.createDirectories(file.getParent());
+            // Write to a temporary file first, so a crash never leaves a half-written index behind
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            GeyserImpl.JSON_MAPPER.writeValue(temp.toFile(), new IndexFile(VERSION, entries));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            dirty = false;
+        } catch (IOException e) {
+            GeyserImpl.getInstance().getLogger().error("Could not save resource pack index", e);
+        }
+    }
+
+    private static String key(Path path) {
+        return path.toAbsolutePath().normalize().toString();
+    }
+
+    /**
+     * @param manifest the raw contents of the pack's manifest
+     * @param sha256 the hex encoded SHA-256 hash of the pack file
+     */
+    public record Entry(long size, @JsonProperty("last_modified") long lastModified, String manifest, String sha256) {
+
+        public byte[] sha256Bytes() {
+            return HexFormat.of().parseHex(sha256);
+        }
+    }
+
+    private record IndexFile(int version, Map<String, Entry> packs) {
+    }
+}
@@ -25,7 +25,6 @@
 
 package org.geysermc.geyser.pack.path;
 
-import lombok.RequiredArgsConstructor;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.api.pack.PathPackCodec;
@@ -40,7 +39,6 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.FileTime;
 
-@RequiredArgsConstructor
 public class GeyserPathPackCodec extends PathPackCodec {
     private final Path path;
     private FileTime lastModified;
@@ -48,6 +46,21 @@ public class GeyserPathPackCodec extends PathPackCodec {
     private byte[] sha256;
     private long size = -1;
 
+    public GeyserPathPackCodec(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Creates a codec for a pack whose hash and size are already known, e.g. from the {@link org.geysermc.geyser.pack.ResourcePackIndex}.
+     * If the file is modified after the given time, both are calculated again.
+     */
+    public GeyserPathPackCodec(Path path, FileTime lastModified, long size, byte[] sha256) {
+        this.path = path;
+        this.lastModified = lastModified;
+        this.size = size;
+        this.sha256 = sha256;
+    }
+
     @Override
     public @NonNull Path path() {
         this.checkLastModified();
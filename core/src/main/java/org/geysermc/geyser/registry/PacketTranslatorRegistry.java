@@ -37,6 +37,7 @@ import org.geysermc.geyser.registry.loader.RegistryLoaders;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.text.GeyserLocale;
 import org.geysermc.geyser.translator.protocol.PacketTranslator;
+import org.geysermc.geyser.translator.protocol.PacketTranslatorTimings;
 
 import java.util.Collections;
 import java.util.IdentityHashMap;
@@ -53,6 +54,8 @@ public class PacketTranslatorRegistry<T> extends AbstractMappedRegistry<Class<?
         IGNORED_PACKETS.add(ServerboundDiagnosticsPacket.class); // spammy
     }
 
+    private final PacketTranslatorTimings timings = new PacketTranslatorTimings();
+
     protected PacketTranslatorRegistry() {
         super(null, RegistryLoaders.empty(IdentityHashMap::new));
     }
@@ -88,6 +91,17 @@ public class PacketTranslatorRegistry<T> extends AbstractMappedRegistry<Class<?
             return;
         }
 
+        if (PacketTranslatorTimings.isEnabled()) {
+            long packetsSent = PacketTranslatorTimings.packetsSentOnThisThread();
+            long start = System.nanoTime();
+            runTranslator(session, translator, packet);
+            this.timings.record(packet.getClass(), System.nanoTime() - start, PacketTranslatorTimings.packetsSentOnThisThread() - packetsSent);
+        } else {
+            runTranslator(session, translator, packet);
+        }
+    }
+
+    private <P extends T> void runTranslator(GeyserSession session, PacketTranslator<P> translator, P packet) {
         try {
             translator.translate(session, packet);
         } catch (ErosionCancellationException ex) {
@@ -98,6 +112,10 @@ public class PacketTranslatorRegistry<T> extends AbstractMappedRegistry<Class<?
         }
     }
 
+    public PacketTranslatorTimings getTimings() {
+        return this.timings;
+    }
+
     public static <T> PacketTranslatorRegistry<T> create() {
         return new PacketTranslatorRegistry<>();
     }
@@ -27,6 +27,7 @@ package org.geysermc.geyser.registry.loader;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import io.netty.util.concurrent.DefaultThreadFactory;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.geysermc.geyser.GeyserImpl;
@@ -39,6 +40,7 @@ import org.geysermc.geyser.event.type.GeyserDefineResourcePacksEventImpl;
 import org.geysermc.geyser.pack.GeyserResourcePack;
 import org.geysermc.geyser.pack.GeyserResourcePackManifest;
 import org.geysermc.geyser.pack.ResourcePackHolder;
+import org.geysermc.geyser.pack.ResourcePackIndex;
 import org.geysermc.geyser.pack.SkullResourcePackManager;
 import org.geysermc.geyser.pack.path.GeyserPathPackCodec;
 import org.geysermc.geyser.pack.url.GeyserUrlPackCodec;
@@ -48,20 +50,27 @@ import org.geysermc.geyser.text.GeyserLocale;
 import org.geysermc.geyser.util.FileUtils;
 import org.geysermc.geyser.util.WebUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
@@ -84,6 +93,12 @@ public class ResourcePackLoader implements RegistryLoader<Path, Map<UUID, Resour
 
     static final PathMatcher PACK_MATCHER = FileSystems.getDefault().getPathMatcher("glob:**.{zip,mcpack}");
 
+    /**
+     * Reads, hashes and unpacks resource packs. Bounded so that a large pack folder or many remote packs can't
+     * occupy every thread; idle threads exit after a minute.
+     */
+    private static final ExecutorService PACK_EXECUTOR = createPackExecutor();
+
     private static final boolean SHOW_RESOURCE_PACK_LENGTH_WARNING = Boolean.parseBoolean(System.getProperty("Geyser.ShowResourcePackLengthWarning", "true"));
 
     /**
@@ -124,15 +139,26 @@ public class ResourcePackLoader implements RegistryLoader<Path, Map<UUID, Resour
         GeyserLoadResourcePacksEvent event = new GeyserLoadResourcePacksEvent(resourcePacks);
         GeyserImpl.getInstance().eventBus().fire(event);
 
+        // Unchanged packs are read from the index; the remaining ones are read and hashed in parallel
+        Path indexPath = GeyserImpl.getInstance().getBootstrap().getConfigFolder().resolve("cache").resolve(ResourcePackIndex.FILE_NAME);
+        ResourcePackIndex index = ResourcePackIndex.load(indexPath);
+
+        List<CompletableFuture<GeyserResourcePack>> futures = new ArrayList<>();
         for (Path path : event.resourcePacks()) {
+            futures.add(CompletableFuture.supplyAsync(() -> readPack(path, index).build(), PACK_EXECUTOR));
+        }
+
+        for (CompletableFuture<GeyserResourcePack> future : futures) {
             try {
-                GeyserResourcePack pack = readPack(path).build();
+                GeyserResourcePack pack = future.join();
                 packMap.put(pack.uuid(), ResourcePackHolder.of(pack));
-            } catch (Exception e) {
-                e.printStackTrace();
+            } catch (CompletionException e) {
+                e.getCause().printStackTrace();
             }
         }
 
+        index.save();
+
         // Load all remote resource packs from the config before firing the new event
         // TODO configurate
         //packMap.putAll(loadRemotePacks());
@@ -155,11 +181,55 @@ public class ResourcePackLoader implements RegistryLoader<Path, Map<UUID, Resour
      * @throws IllegalArgumentException if the pack manifest was invalid or there was any processing exception
      */
     public static GeyserResourcePack.Builder readPack(Path path) throws IllegalArgumentException {
+        return readPack(path, null);
+    }
+
+    /**
+     * Reads a resource pack builder at the given file, see {@link #readPack(Path)}. If the index holds an up-to-date entry
+     * for this file, the manifest and hash are taken from it without opening the pack; otherwise the pack is read and hashed,
+     * and the result is stored in the index.
+     *
+     * @param path the file to read from, in ZIP format
+     * @param index the index to use, or null to always read the pack
+     * @return a {@link ResourcePack.Builder} representation
+     * @throws IllegalArgumentException if the pack manifest was invalid or there was any processing exception
+     */
+    public static GeyserResourcePack.Builder readPack(Path path, @Nullable ResourcePackIndex index) throws IllegalArgumentException {
         if (!PACK_MATCHER.matches(path)) {
             throw new IllegalArgumentException("Resource pack " + path.getFileName() + " must be a .zip or .mcpack file!");
         }
 
-        ResourcePackManifest manifest = readManifest(path, path.getFileName().toString());
+        BasicFileAttributes attributes = null;
+        ResourcePackIndex.Entry entry = null;
+        if (index != null) {
+            try {
+                attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                entry = index.get(path, attributes);
+            } catch (IOException e) {
+                GeyserImpl.getInstance().getLogger().debug("Could not read attributes of resource pack " + path.getFileName() + ": " + e.getMessage());
+            }
+        }
+
+        ResourcePackManifest manifest = null;
+        GeyserPathPackCodec codec = null;
+        if (entry != null) {
+            try {
+                manifest = parseManifest(entry.manifest().getBytes(StandardCharsets.UTF_8));
+                codec = new GeyserPathPackCodec(path, attributes.lastModifiedTime(), entry.size(), entry.sha256Bytes());
+            } catch (Exception e) {
+                GeyserImpl.getInstance().getLogger().debug("Invalid resource pack index entry for " + path.getFileName() + ": " + e.getMessage());
+            }
+        }
+
+        if (codec == null) {
+            ManifestData data = readManifestData(path, path.getFileName().toString());
+            manifest = data.manifest();
+            codec = new GeyserPathPackCodec(path);
+            if (index != null && attributes != null) {
+                index.put(path, attributes, data.json(), codec.sha256());
+            }
+        }
+
         String contentKey;
 
         try {
@@ -172,7 +242,7 @@ public class ResourcePackLoader implements RegistryLoader<Path, Map<UUID, Resour
             contentKey = "";
         }
 
-        return new GeyserResourcePack.Builder(new GeyserPathPackCodec(path), manifest, contentKey);
+        return new GeyserResourcePack.Builder(codec, manifest, contentKey);
     }
 
     /**
@@ -190,7 +260,15 @@ public class ResourcePackLoader implements RegistryLoader<Path, Map<UUID, Resour
     }
 
     private static ResourcePackManifest readManifest(Path path, String packLocation) throws IllegalArgumentException {
-        AtomicReference<GeyserResourcePackManifest> manifestReference = new AtomicReference<>();
+        return readManifestData(path, packLocation).manifest();
+    }
+
+    private static GeyserResourcePackManifest parseManifest(byte[] json) throws IOException {
+        return FileUtils.loadJson(new ByteArrayInputStream(json), GeyserResourcePackManifest.class);
+    }
+
+    private static ManifestData readManifestData(Path path, String packLocation) throws IllegalArgumentException {
+        AtomicReference<ManifestData> manifestReference = new AtomicReference<>();
 
         try (ZipFile zip = new ZipFile(path.toFile());
              Stream<? extends ZipEntry> stream = zip.stream()) {
@@ -203,10 +281,11 @@ public class ResourcePackLoader implements RegistryLoader<Path, Map<UUID, Resour
                             " Please rename it to be shorter, or reduce the amount of folders needed to get to the file.");
                 }
                 if (name.contains("manifest.json")) {
-                    try {
-                        GeyserResourcePackManifest manifest = FileUtils.loadJson(zip.getInputStream(x), GeyserResourcePackManifest.class);
+                    try (InputStream manifestStream = zip.getInputStream(x)) {
+                        byte[] json = manifestStream.readAllBytes();
+                        GeyserResourcePackManifest manifest = parseManifest(json);
                         if (manifest.header().uuid() != null) {
-                            manifestReference.set(manifest);
+                            manifestReference.set(new ManifestData(manifest, new String(json, StandardCharsets.UTF_8)));
                         }
                     } catch (IOException e) {
                         e.printStackTrace();
@@ -214,7 +293,7 @@ public class ResourcePackLoader implements RegistryLoader<Path, Map<UUID, Resour
                 }
             });
 
-            GeyserResourcePackManifest manifest = manifestReference.get();
+            ManifestData manifest = manifestReference.get();
             if (manifest == null) {
                 throw new IllegalArgumentException(packLocation + " does not contain a valid pack_manifest.json or manifest.json");
             }
@@ -337,6 +416,20 @@ public class ResourcePackLoader implements RegistryLoader<Path, Map<UUID, Resour
         }
     }
 
+    /**
+     * A parsed manifest, along with the raw JSON it was read from.
+     */
+    private record ManifestData(GeyserResourcePackManifest manifest, String json) {
+    }
+
+    private static ExecutorService createPackExecutor() {
+        int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new DefaultThreadFactory("Geyser resource pack loader", true));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     public static CompletableFuture<@Nullable PathPackCodec> downloadPack(String url, boolean testing) throws IllegalArgumentException {
         return CompletableFuture.supplyAsync(() -> {
             Path path = WebUtils.downloadRemotePack(url, testing);
@@ -372,7 +465,7 @@ public class ResourcePackLoader implements RegistryLoader<Path, Map<UUID, Resour
             }
 
             return new GeyserPathPackCodec(path);
-        });
+        }, PACK_EXECUTOR);
     }
 
     public static void clear() {
@@ -101,6 +101,17 @@ public final class ScoreboardUpdater extends Thread {
                         ScoreboardSession scoreboardSession = worldCache.getScoreboardSession();
 
                         int pps = scoreboardSession.getPacketsPerSecond();
+                        boolean shedding = session.shouldShedCosmetics();
+                        if (shedding) {
+                            // The session's event loop is overloaded; update as rarely as we would for a flood of packets
+                            pps = Math.max(pps, SECOND_SCORE_PACKETS_PER_SECOND_THRESHOLD);
+                        } else if (scoreboardSession.shedding && pps < FIRST_SCORE_PACKETS_PER_SECOND_THRESHOLD) {
+                            // Push the updates that were held back while the event loop was overloaded
+                            worldCache.getScoreboard().onUpdate();
+                            scoreboardSession.lastUpdate = currentTime;
+                        }
+                        scoreboardSession.shedding = shedding;
+
                         if (pps >= FIRST_SCORE_PACKETS_PER_SECOND_THRESHOLD) {
                             boolean reachedSecondThreshold = pps >= SECOND_SCORE_PACKETS_PER_SECOND_THRESHOLD;
 
@@ -177,5 +188,9 @@ public final class ScoreboardUpdater extends Thread {
         private int packetsPerSecond;
         private long lastUpdate;
         private long lastLog;
+        /**
+         * Whether updates were held back during the last update because the session's event loop was overloaded
+         */
+        private boolean shedding;
     }
 }
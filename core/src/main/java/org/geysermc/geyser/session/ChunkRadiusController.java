@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session;
+
+import org.geysermc.geyser.configuration.GeyserConfiguration;
+import org.geysermc.geyser.network.netty.GeyserServer;
+import org.geysermc.geyser.util.ChunkUtils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+
+/**
+ * Lowers the render distance of a session while its connection or the host is under pressure, and raises it again
+ * once the pressure is gone. The lowered distance is sent both to the Bedrock client and, as the client view distance,
+ * to the Java server, so the server stops sending chunks that would be discarded anyway.
+ * <p>
+ * The radius drops by {@link #STEP} chunks per evaluation while any signal is above its threshold, and only rises
+ * again after all signals have stayed well below their thresholds for a while, so it doesn't flap.
+ */
+public final class ChunkRadiusController {
+    private static final int EVALUATION_INTERVAL_TICKS = 40;
+    private static final int CALM_EVALUATIONS_BEFORE_RAISE = 3;
+    private static final int STEP = 2;
+    /**
+     * Signals must drop below this fraction of their threshold before the radius is raised again.
+     */
+    private static final double RECOVERY_FACTOR = 0.75;
+    private static final long CPU_SAMPLE_INTERVAL_NANOS = 1_000_000_000L;
+
+    private static volatile double cpuUsage = -1;
+    private static volatile long lastCpuSample;
+
+    private final GeyserSession session;
+    private int ticks;
+    private int calmEvaluations;
+    /**
+     * The current upper bound of the render distance, or {@link Integer#MAX_VALUE} if it isn't limited.
+     */
+    private int limit = Integer.MAX_VALUE;
+
+    ChunkRadiusController(GeyserSession session) {
+        this.session = session;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Called every session tick.
+     */
+    void tick() {
+        if (++ticks < EVALUATION_INTERVAL_TICKS) {
+            return;
+        }
+        ticks = 0;
+
+        GeyserConfiguration.IAdaptiveChunkRadiusConfiguration config = session.getGeyser().getConfig().getAdaptiveChunkRadius();
+        int serverRenderDistance = session.getServerRenderDistance();
+        if (!config.isEnabled() || !session.isSpawned() || serverRenderDistance == -1) {
+            if (limit != Integer.MAX_VALUE) {
+                apply(Integer.MAX_VALUE);
+            }
+            return;
+        }
+
+        int current = Math.min(limit, serverRenderDistance);
+        Pressure pressure = pressure(config);
+        if (pressure == Pressure.HIGH) {
+            calmEvaluations = 0;
+            int lowered = Math.max(config.getMinimumRadius(), current - STEP);
+            if (lowered < current) {
+                apply(lowered);
+            }
+        } else if (pressure == Pressure.NONE && limit != Integer.MAX_VALUE) {
+            if (++calmEvaluations >= CALM_EVALUATIONS_BEFORE_RAISE) {
+                calmEvaluations = 0;
+                int raised = current + STEP;
+                apply(raised >= serverRenderDistance ? Integer.MAX_VALUE : raised);
+            }
+        } else {
+            calmEvaluations = 0;
+        }
+    }
+
+    private Pressure pressure(GeyserConfiguration.IAdaptiveChunkRadiusConfiguration config) {
+        if (!session.getUpstream().isWritable()) {
+            // RakNet's send queue is backed up; the client can't keep up with what we send
+            return Pressure.HIGH;
+        }
+
+        GeyserServer server = session.getGeyser().getGeyserServer();
+        if (server != null && server.getLagMonitor().isSaturated(session.getTickEventLoop())) {
+            return Pressure.HIGH;
+        }
+
+        Pressure pressure = Pressure.NONE;
+        if (config.getMaxPing() > 0) {
+            pressure = pressure.max(Pressure.of(session.ping(), config.getMaxPing()));
+        }
+        if (config.getMaxCpuUsage() > 0) {
+            double cpu = cpuUsage();
+            if (cpu >= 0) {
+                pressure = pressure.max(Pressure.of(cpu * 100, config.getMaxCpuUsage()));
+            }
+        }
+        return pressure;
+    }
+
+    private void apply(int limit) {
+        int previous = Math.min(this.limit, session.getServerRenderDistance());
+        this.limit = limit;
+        int renderDistance = session.getBedrockRenderDistance();
+        session.getGeyser().getLogger().debug("Changing render distance of " + session.bedrockUsername() + " from "
+            + previous + " to " + renderDistance + " chunks due to " + (renderDistance < previous ? "load" : "recovery"));
+
+        session.recalculateBedrockRenderDistance();
+        if (session.isLoggedIn()) {
+            session.sendJavaClientSettings();
+        }
+        // Resend the chunk publisher update with the new radius
+        session.setLastChunkPosition(null);
+        ChunkUtils.updateChunkPosition(session, session.getPlayerEntity().getPosition().toInt());
+    }
+
+    /**
+     * @return the recent CPU usage of the whole host between 0 and 1, or a negative number if not available
+     */
+    private static double cpuUsage() {
+        long now = System.nanoTime();
+        if (now - lastCpuSample > CPU_SAMPLE_INTERVAL_NANOS) {
+            lastCpuSample = now;
+            OperatingSystemMXBean bean = ManagementFactory.getOperatingSystemMXBean();
+            if (bean instanceof com.sun.management.OperatingSystemMXBean sunBean) {
+                cpuUsage = sunBean.getCpuLoad();
+            }
+        }
+        return cpuUsage;
+    }
+
+    private enum Pressure {
+        NONE,
+        MODERATE,
+        HIGH;
+
+        static Pressure of(double value, double threshold) {
+            if (value > threshold) {
+                return HIGH;
+            }
+            return value < threshold * RECOVERY_FACTOR ? NONE : MODERATE;
+        }
+
+        Pressure max(Pressure other) {
+            return other.ordinal() > ordinal() ? other : this;
+        }
+    }
+}
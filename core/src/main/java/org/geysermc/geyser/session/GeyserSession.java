@@ -129,7 +129,6 @@ import org.geysermc.geyser.entity.attribute.GeyserAttributeType;
 import org.geysermc.geyser.entity.type.BoatEntity;
 import org.geysermc.geyser.entity.type.Entity;
 import org.geysermc.geyser.entity.type.ItemFrameEntity;
-import org.geysermc.geyser.entity.type.Tickable;
 import org.geysermc.geyser.entity.type.player.SessionPlayerEntity;
 import org.geysermc.geyser.entity.vehicle.ClientVehicle;
 import org.geysermc.geyser.erosion.AbstractGeyserboundPacketHandler;
@@ -150,7 +149,9 @@ import org.geysermc.geyser.item.type.BlockItem;
 import org.geysermc.geyser.level.BedrockDimension;
 import org.geysermc.geyser.level.JavaDimension;
 import org.geysermc.geyser.level.physics.CollisionManager;
+import org.geysermc.geyser.metrics.NetworkMetrics;
 import org.geysermc.geyser.network.GameProtocol;
+import org.geysermc.geyser.network.netty.GeyserServer;
 import org.geysermc.geyser.network.netty.LocalSession;
 import org.geysermc.geyser.registry.Registries;
 import org.geysermc.geyser.registry.type.BlockMappings;
@@ -162,7 +163,9 @@ import org.geysermc.geyser.session.cache.BookEditCache;
 import org.geysermc.geyser.session.cache.BundleCache;
 import org.geysermc.geyser.session.cache.ChunkCache;
 import org.geysermc.geyser.session.cache.EntityCache;
+import org.geysermc.geyser.session.cache.EntityCullingCache;
 import org.geysermc.geyser.session.cache.EntityEffectCache;
+import org.geysermc.geyser.session.cache.EntityMovementCache;
 import org.geysermc.geyser.session.cache.FormCache;
 import org.geysermc.geyser.session.cache.InputCache;
 import org.geysermc.geyser.session.cache.LodestoneCache;
@@ -176,8 +179,10 @@ import org.geysermc.geyser.session.cache.TeleportCache;
 import org.geysermc.geyser.session.cache.WorldBorder;
 import org.geysermc.geyser.session.cache.WorldCache;
 import org.geysermc.geyser.session.cache.registry.JavaRegistries;
+import org.geysermc.geyser.skin.SkinProvider;
 import org.geysermc.geyser.text.GeyserLocale;
 import org.geysermc.geyser.translator.inventory.InventoryTranslator;
+import org.geysermc.geyser.translator.protocol.PacketTranslatorTimings;
 import org.geysermc.geyser.translator.text.MessageTranslator;
 import org.geysermc.geyser.util.ChunkUtils;
 import org.geysermc.geyser.util.EntityUtils;
@@ -273,6 +278,8 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
     private final ChunkCache chunkCache;
     private final EntityCache entityCache;
     private final EntityEffectCache effectCache;
+    private final EntityMovementCache entityMovementCache;
+    private final EntityCullingCache entityCullingCache;
     private final FormCache formCache;
     private final InputCache inputCache;
     private final LodestoneCache lodestoneCache;
@@ -366,6 +373,7 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
     private Vector2i lastChunkPosition = null;
     private int clientRenderDistance = -1;
     private int serverRenderDistance = -1;
+    private final ChunkRadiusController chunkRadiusController = new ChunkRadiusController(this);
 
     // Exposed for GeyserConnect usage
     protected boolean sentSpawnPacket;
@@ -626,9 +634,15 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
     private boolean advancedTooltips = false;
 
     /**
-     * The thread that will run every game tick.
+     * Runs {@link #tick()} every game tick on this session's event loop.
      */
-    private ScheduledFuture<?> tickThread = null;
+    private SessionTickScheduler.TickHandle tickHandle = null;
+
+    /**
+     * The last estimate of memory retained by this session's caches, refreshed by the {@link SessionMemoryEstimator}.
+     */
+    @Setter(AccessLevel.PACKAGE)
+    private volatile SessionMemoryEstimator.Usage memoryUsage = SessionMemoryEstimator.Usage.EMPTY;
 
     /**
      * The number of ticks that have elapsed since the start of this session
@@ -701,6 +715,8 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
         this.bundleCache = new BundleCache(this);
         this.chunkCache = new ChunkCache(this);
         this.entityCache = new EntityCache(this);
+        this.entityMovementCache = new EntityMovementCache(this);
+        this.entityCullingCache = new EntityCullingCache(this);
         this.effectCache = new EntityEffectCache();
         this.formCache = new FormCache(this);
         this.inputCache = new InputCache(this);
@@ -992,7 +1008,7 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
         this.remoteServer = loginEvent.remoteServer();
 
         // Start ticking
-        tickThread = tickEventLoop.scheduleAtFixedRate(this::tick, nanosecondsPerTick, nanosecondsPerTick, TimeUnit.NANOSECONDS);
+        tickHandle = SessionTickScheduler.of(tickEventLoop).schedule(this::tick, nanosecondsPerTick);
 
         ClientSession downstream;
         if (geyser.getBootstrap().getSocketAddress() != null) {
@@ -1080,6 +1096,9 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
 
             // Remove from session manager
             geyser.getSessionManager().removeSession(this);
+            if (playerEntity.getUuid() != null) {
+                SkinProvider.removeBedrockGeometry(playerEntity.getUuid());
+            }
             if (authData != null) {
                 PendingMicrosoftAuthentication.AuthenticationTask task = geyser.getPendingMicrosoftAuthentication().getTask(authData.xuid());
                 if (task != null) {
@@ -1088,8 +1107,8 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
             }
         }
 
-        if (tickThread != null) {
-            tickThread.cancel(false);
+        if (tickHandle != null) {
+            tickHandle.cancel();
         }
 
         // Mark session as closed before cancelling erosion futures
@@ -1132,13 +1151,14 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
     }
 
     public void updateTickingState(float tickRate, boolean frozen) {
-        tickThread.cancel(false);
         this.tickingFrozen = frozen;
 
         tickRate = MathUtils.clamp(tickRate, 1.0f, 10000.0f);
         millisecondsPerTick = 1000.0f / tickRate;
         nanosecondsPerTick = MathUtils.ceil(1000000000.0f / tickRate);
-        tickThread = tickEventLoop.scheduleAtFixedRate(this::tick, nanosecondsPerTick, nanosecondsPerTick, TimeUnit.NANOSECONDS);
+        if (tickHandle != null) {
+            tickHandle.setPeriod(nanosecondsPerTick);
+        }
     }
 
     private void executeRunnable(Runnable runnable) {
@@ -1151,12 +1171,21 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
         }
     }
 
+    /**
+     * @return true if work that only affects visuals should be skipped, because this session's event loop is overloaded
+     */
+    public boolean shouldShedCosmetics() {
+        GeyserServer server = geyser.getGeyserServer();
+        return server != null && server.getLagMonitor().shouldShedCosmetics(tickEventLoop);
+    }
+
     /**
      * Called every Minecraft tick.
      */
     protected void tick() {
         try {
             pistonCache.tick();
+            chunkRadiusController.tick();
 
             if (worldBorder.isResizing()) {
                 worldBorder.resize();
@@ -1165,7 +1194,9 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
             boolean shouldShowFog = !worldBorder.isWithinWarningBoundaries();
             if (shouldShowFog || worldBorder.isCloseToBorderBoundaries()) {
                 // Show particles representing where the world border is
-                worldBorder.drawWall();
+                if (!shouldShedCosmetics()) {
+                    worldBorder.drawWall();
+                }
                 // Set the mood
                 if (shouldShowFog && !isInWorldBorderWarningArea) {
                     isInWorldBorderWarningArea = true;
@@ -1188,12 +1219,7 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
                 clientVehicle.getVehicleComponent().tickVehicle();
             }
 
-            for (Tickable entity : entityCache.getTickableEntities()) {
-                entity.drawTick();
-                if (gameShouldUpdate) {
-                    entity.tick();
-                }
-            }
+            entityCache.getTickableEntities().tick(gameShouldUpdate);
 
             if (armAnimationTicks >= 0) {
                 // As of 1.18.2 Java Edition, it appears that the swing time is dynamically updated depending on the
@@ -1225,6 +1251,9 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
 
             this.bundleCache.tick();
 
+            entityCullingCache.tick();
+            entityMovementCache.flush();
+
             if (spawned && protocol.getOutboundState() == ProtocolState.GAME) {
                 // Could move this to the PlayerAuthInput translator, in the event the player lags
                 // but this will work once we implement matching Java custom tick cycles
@@ -1484,13 +1513,20 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
      * If the server render distance is larger than the client's, then account for this and add some extra padding.
      * We don't want to apply this for every render distance, if at all possible, because
      */
-    private void recalculateBedrockRenderDistance() {
-        int renderDistance = ChunkUtils.squareToCircle(this.serverRenderDistance);
+    void recalculateBedrockRenderDistance() {
+        int renderDistance = ChunkUtils.squareToCircle(getBedrockRenderDistance());
         ChunkRadiusUpdatedPacket chunkRadiusUpdatedPacket = new ChunkRadiusUpdatedPacket();
         chunkRadiusUpdatedPacket.setRadius(renderDistance);
         upstream.sendPacket(chunkRadiusUpdatedPacket);
     }
 
+    /**
+     * @return the render distance sent to the Bedrock client: the server's, unless lowered by the {@link ChunkRadiusController}
+     */
+    public int getBedrockRenderDistance() {
+        return Math.min(this.serverRenderDistance, this.chunkRadiusController.getLimit());
+    }
+
     public InetSocketAddress getSocketAddress() {
         return this.upstream.getAddress();
     }
@@ -1663,6 +1699,7 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
      * @param packet the bedrock packet from the NukkitX protocol lib
      */
     public void sendUpstreamPacket(BedrockPacket packet) {
+        PacketTranslatorTimings.countPacketSent();
         upstream.sendPacket(packet);
     }
 
@@ -1672,6 +1709,7 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
      * @param packet the bedrock packet from the NukkitX protocol lib
      */
     public void sendUpstreamPacketImmediately(BedrockPacket packet) {
+        PacketTranslatorTimings.countPacketSent();
         upstream.sendPacketImmediately(packet);
     }
 
@@ -1734,6 +1772,8 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
                 return;
             }
 
+            // Counted here rather than when written, so that it's attributed to the translator that sent it
+            PacketTranslatorTimings.countPacketSent();
             EventLoop eventLoop = channel.eventLoop();
             if (eventLoop.inEventLoop()) {
                 sendDownstreamPacket0(packet);
@@ -1746,6 +1786,7 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
     private void sendDownstreamPacket0(Packet packet) {
         ProtocolState state = protocol.getOutboundState();
         if (state == ProtocolState.GAME || state == ProtocolState.CONFIGURATION || packet.getClass() == ServerboundCustomQueryAnswerPacket.class) {
+            NetworkMetrics.DOWNSTREAM_PACKETS_OUT.increment();
             downstream.sendPacket(packet);
         } else {
             geyser.getLogger().debug("Tried to send downstream packet " + packet.getClass().getSimpleName() + " before connected to the server");
@@ -1893,7 +1934,7 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
     private int getRenderDistance() {
         if (clientRenderDistance != -1) {
             // The client has sent a render distance
-            return clientRenderDistance;
+            return Math.min(clientRenderDistance, chunkRadiusController.getLimit());
         } else if (serverRenderDistance != -1) {
             // only known once ClientboundLoginPacket is received
             return serverRenderDistance;
@@ -2176,6 +2217,11 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
         return upstream.getProtocolVersion();
     }
 
+    @Override
+    public @NonNull Map<String, Long> memoryUsage() {
+        return this.memoryUsage.caches();
+    }
+
     @Override
     public void closeForm() {
         sendUpstreamPacket(new ClientboundCloseFormPacket());
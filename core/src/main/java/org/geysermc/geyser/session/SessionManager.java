@@ -25,7 +25,6 @@
 
 package org.geysermc.geyser.session;
 
-import com.google.common.collect.ImmutableList;
 import lombok.AccessLevel;
 import lombok.Getter;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -34,13 +33,14 @@ import org.geysermc.geyser.text.GeyserLocale;
 
 import java.net.InetAddress;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 
 public final class SessionManager {
     /**
@@ -55,25 +55,32 @@ public final class SessionManager {
     private final Map<UUID, GeyserSession> sessions = new ConcurrentHashMap<>();
 
     /**
-     * Stores the number of connected sessions per address they're connected from.
+     * All pending and active sessions, so they can be iterated without copying both collections.
+     */
+    private final Set<GeyserSession> allSessions = ConcurrentHashMap.newKeySet();
+    private final Collection<GeyserSession> allSessionsView = Collections.unmodifiableSet(allSessions);
+
+    /**
+     * Indexes of in-game players. Usernames are stored in lower case as both Java and Bedrock usernames are case-insensitive.
+     */
+    private final Map<String, GeyserSession> sessionsByXuid = new ConcurrentHashMap<>();
+    private final Map<String, GeyserSession> sessionsByJavaUsername = new ConcurrentHashMap<>();
+    private final Map<String, GeyserSession> sessionsByBedrockUsername = new ConcurrentHashMap<>();
+
+    /**
+     * Stores the pending and active sessions per address they're connected from.
      * Used to raise per-IP connection limits.
      */
     @Getter(AccessLevel.PACKAGE)
-    private final Map<InetAddress, AtomicInteger> connectedClients = new ConcurrentHashMap<>();
+    private final Map<InetAddress, Set<GeyserSession>> connectedClients = new ConcurrentHashMap<>();
 
     /**
      * Called once the player has successfully authenticated to the Geyser server.
      */
     public void addPendingSession(GeyserSession session) {
         pendingSessions.add(session);
-        connectedClients.compute(session.getSocketAddress().getAddress(), (key, count) -> {
-            if (count == null) {
-                return new AtomicInteger(1);
-            }
-
-            count.incrementAndGet();
-            return count;
-        });
+        allSessions.add(session);
+        connectedClients.computeIfAbsent(session.getSocketAddress().getAddress(), key -> ConcurrentHashMap.newKeySet()).add(session);
     }
 
     /**
@@ -82,6 +89,14 @@ public final class SessionManager {
     public void addSession(UUID uuid, GeyserSession session) {
         pendingSessions.remove(session);
         sessions.put(uuid, session);
+        allSessions.add(session);
+
+        sessionsByXuid.put(session.xuid(), session);
+        sessionsByBedrockUsername.put(lowerCase(session.bedrockUsername()), session);
+        String javaUsername = session.getPlayerEntity().getUsername();
+        if (javaUsername != null) {
+            sessionsByJavaUsername.put(lowerCase(javaUsername), session);
+        }
     }
 
     public void removeSession(GeyserSession session) {
@@ -89,43 +104,75 @@ public final class SessionManager {
         if (uuid == null || sessions.remove(uuid) == null) {
             // Connection was likely pending
             pendingSessions.remove(session);
-        }
-        connectedClients.computeIfPresent(session.getSocketAddress().getAddress(), (key, count) -> {
-            if (count.decrementAndGet() <= 0) {
-                return null;
+        } else {
+            // Only remove index entries that still point to this session, as a newer session may have replaced them
+            sessionsByXuid.remove(session.xuid(), session);
+            sessionsByBedrockUsername.remove(lowerCase(session.bedrockUsername()), session);
+            String javaUsername = session.getPlayerEntity().getUsername();
+            if (javaUsername != null) {
+                sessionsByJavaUsername.remove(lowerCase(javaUsername), session);
             }
-            return count;
+        }
+        allSessions.remove(session);
+
+        connectedClients.computeIfPresent(session.getSocketAddress().getAddress(), (key, addressSessions) -> {
+            addressSessions.remove(session);
+            return addressSessions.isEmpty() ? null : addressSessions;
         });
     }
 
     public int getAddressMultiplier(InetAddress ip) {
-        AtomicInteger atomicInteger = connectedClients.get(ip);
-        return atomicInteger == null ? 1 : atomicInteger.get();
+        return Math.max(1, sessionsByAddress(ip).size());
     }
 
     public @Nullable GeyserSession sessionByXuid(@NonNull String xuid) {
         Objects.requireNonNull(xuid);
-        for (GeyserSession session : sessions.values()) {
-            if (session.xuid().equals(xuid)) {
-                return session;
-            }
-        }
-        return null;
+        return sessionsByXuid.get(xuid);
+    }
+
+    /**
+     * @return the in-game session with the given Java username, ignoring case
+     */
+    public @Nullable GeyserSession sessionByJavaUsername(@NonNull String username) {
+        Objects.requireNonNull(username);
+        return sessionsByJavaUsername.get(lowerCase(username));
+    }
+
+    /**
+     * @return the in-game session with the given Bedrock username, ignoring case
+     */
+    public @Nullable GeyserSession sessionByBedrockUsername(@NonNull String username) {
+        Objects.requireNonNull(username);
+        return sessionsByBedrockUsername.get(lowerCase(username));
+    }
+
+    /**
+     * @return an unmodifiable view of all pending and active sessions connected from the given address
+     */
+    public Collection<GeyserSession> sessionsByAddress(@NonNull InetAddress address) {
+        Set<GeyserSession> addressSessions = connectedClients.get(address);
+        return addressSessions == null ? Collections.emptySet() : Collections.unmodifiableSet(addressSessions);
     }
 
     /**
      * Creates a new, immutable list containing all pending and active sessions.
+     * Prefer {@link #getAllSessionsView()} when the sessions only need to be iterated.
      */
     public List<GeyserSession> getAllSessions() {
-        return ImmutableList.<GeyserSession>builder() // builderWithExpectedSize is probably not a good idea yet as older Spigot builds probably won't have it.
-                .addAll(pendingSessions)
-                .addAll(sessions.values())
-                .build();
+        return List.copyOf(allSessions);
+    }
+
+    /**
+     * Returns an unmodifiable, live view of all pending and active sessions. Iterating it does not copy
+     * and never throws a {@link java.util.ConcurrentModificationException}, but may not reflect sessions
+     * joining or leaving during iteration.
+     */
+    public Collection<GeyserSession> getAllSessionsView() {
+        return allSessionsView;
     }
 
     public void disconnectAll(String message) {
-        Collection<GeyserSession> sessions = getAllSessions();
-        for (GeyserSession session : sessions) {
+        for (GeyserSession session : allSessionsView) {
             session.disconnect(GeyserLocale.getPlayerLocaleString(message, session.locale()));
         }
     }
@@ -134,6 +181,10 @@ public final class SessionManager {
      * @return the total amount of sessions, including those pending.
      */
     public int size() {
-        return pendingSessions.size() + sessions.size();
+        return allSessions.size();
+    }
+
+    private static String lowerCase(String username) {
+        return username.toLowerCase(Locale.ROOT);
     }
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session;
+
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.inventory.Inventory;
+import org.geysermc.geyser.inventory.InventoryHolder;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically estimates how much memory each session's caches retain. The caches are only safe to read from
+ * the session's tick event loop, so every estimate runs there and the result is stored on the session for dumps,
+ * metrics and the API to read.
+ */
+public final class SessionMemoryEstimator {
+    private static final long INTERVAL_SECONDS = 30;
+    private static final long BYTES_PER_MEGABYTE = 1024L * 1024L;
+
+    // Rough retained sizes of single cache entries including their map entry. These only need to be right
+    // within a factor of two to point out sessions whose caches have grown out of hand.
+    private static final long ENTITY_BYTES = 1024;
+    private static final long ITEM_FRAME_BYTES = 64;
+    private static final long SKULL_BYTES = 512;
+    private static final long CUSTOM_HEAD_BYTES = 512;
+    private static final long REGISTRY_ENTRY_BYTES = 256;
+    private static final long PISTON_BYTES = 512;
+    private static final long MOVING_BLOCK_BYTES = 64;
+    private static final long ADVANCEMENT_BYTES = 512;
+    private static final long ADVANCEMENT_CRITERION_BYTES = 64;
+    private static final long FORM_BYTES = 1024;
+    private static final long LODESTONE_BYTES = 96;
+    private static final long RECIPE_BYTES = 512;
+    private static final long ITEM_STACK_BYTES = 128;
+
+    private SessionMemoryEstimator() {
+    }
+
+    public static void start(GeyserImpl geyser) {
+        geyser.getScheduledThread().scheduleAtFixedRate(() -> estimateAll(geyser), INTERVAL_SECONDS, INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private static void estimateAll(GeyserImpl geyser) {
+        long threshold = geyser.getConfig().getSessionMemoryWarningThreshold() * BYTES_PER_MEGABYTE;
+        for (GeyserSession session : geyser.getSessionManager().getAllSessionsView()) {
+            if (session.isClosed()) {
+                continue;
+            }
+
+            try {
+                session.getTickEventLoop().execute(() -> update(geyser, session, threshold));
+            } catch (RejectedExecutionException ignored) {
+                // The event loop is shutting down
+            }
+        }
+    }
+
+    private static void update(GeyserImpl geyser, GeyserSession session, long threshold) {
+        Usage usage;
+        try {
+            usage = estimate(session);
+        } catch (Throwable t) {
+            geyser.getLogger().debug("Could not estimate memory usage of " + session.bedrockUsername() + ": " + t);
+            return;
+        }
+
+        Usage previous = session.getMemoryUsage();
+        session.setMemoryUsage(usage);
+
+        if (threshold > 0 && usage.total() > threshold && previous.total() <= threshold) {
+            geyser.getLogger().warning("The caches of " + session.bedrockUsername() + " retain about "
+                + (usage.total() / BYTES_PER_MEGABYTE) + "MB of memory: " + usage.caches());
+        }
+    }
+
+    /**
+     * Estimates the memory retained by the caches of the given session. Must be called on the session's tick event loop.
+     */
+    public static Usage estimate(GeyserSession session) {
+        Map<String, Long> caches = new LinkedHashMap<>();
+        caches.put("chunks", session.getChunkCache().estimateMemoryUsage());
+        caches.put("entities", session.getEntityCache().getEntities().size() * ENTITY_BYTES);
+        caches.put("item_frames", session.getItemFrameCache().size() * ITEM_FRAME_BYTES);
+        caches.put("skulls", session.getSkullCache().getSkulls().size() * SKULL_BYTES
+            + session.getPlayerWithCustomHeads().size() * CUSTOM_HEAD_BYTES);
+        caches.put("tags", session.getTagCache().estimateMemoryUsage());
+        caches.put("registries", session.getRegistryCache().size() * REGISTRY_ENTRY_BYTES);
+        caches.put("pistons", session.getPistonCache().getPistons().size() * PISTON_BYTES
+            + session.getPistonCache().getMovingBlocksMap().size() * MOVING_BLOCK_BYTES);
+
+        long advancements = session.getAdvancementsCache().getStoredAdvancements().size() * ADVANCEMENT_BYTES;
+        for (Map<String, Long> progress : session.getAdvancementsCache().getStoredAdvancementProgress().values()) {
+            advancements += progress.size() * ADVANCEMENT_CRITERION_BYTES;
+        }
+        caches.put("advancements", advancements);
+
+        caches.put("forms", session.getFormCache().size() * FORM_BYTES);
+        caches.put("lodestones", session.getLodestoneCache().size() * LODESTONE_BYTES);
+
+        long recipes = session.getCraftingRecipes().size() + session.getSmithingRecipes().size();
+        if (session.getStonecutterRecipes() != null) {
+            recipes += session.getStonecutterRecipes().size();
+        }
+        caches.put("recipes", recipes * RECIPE_BYTES);
+
+        long slots = session.getPlayerInventory().getSize();
+        InventoryHolder<? extends Inventory> openInventory = session.getInventoryHolder();
+        if (openInventory != null) {
+            slots += openInventory.inventory().getSize();
+        }
+        caches.put("inventories", slots * ITEM_STACK_BYTES);
+
+        long total = 0;
+        for (long bytes : caches.values()) {
+            total += bytes;
+        }
+        return new Usage(Collections.unmodifiableMap(caches), total);
+    }
+
+    /**
+     * @param caches the approximate bytes retained per cache
+     * @param total the sum of all caches
+     */
+    public record Usage(Map<String, Long> caches, long total) {
+        public static final Usage EMPTY = new Usage(Map.of(), 0);
+    }
+}
@@ -0,0 +1,392 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session;
+
+import io.netty.channel.EventLoop;
+import org.geysermc.geyser.GeyserImpl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives the ticks of every session on one event loop with a single hashed timer wheel, instead of each session
+ * keeping its own scheduled future in the event loop's task queue.
+ * <p>
+ * Each slot covers {@link #RESOLUTION_NANOS}. The driver is a one-shot task that is only scheduled for the next slot
+ * holding a handle, so the event loop is woken about as often as ticks are due rather than once per slot. Sessions
+ * are spread across slots when they start ticking, so that sessions joining at the same moment don't all tick in the
+ * same pass.
+ * <p>
+ * All state is only touched on the owning event loop; the public methods hop onto it if needed.
+ */
+public final class SessionTickScheduler {
+    private static final long RESOLUTION_NANOS = TimeUnit.MILLISECONDS.toNanos(Math.max(1, Integer.getInteger("Geyser.TickWheelResolutionMs", 1)));
+    private static final int WHEEL_SIZE = 128; // Must be a power of two
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    /**
+     * If a handle falls further behind than this many periods, the missed ticks are dropped rather than caught up on.
+     */
+    private static final int MAX_CATCH_UP_TICKS = 5;
+
+    private static final Map<EventLoop, SessionTickScheduler> SCHEDULERS = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    private final int id = NEXT_ID.getAndIncrement();
+    private final EventLoop eventLoop;
+    private final TickHandle[] wheel = new TickHandle[WHEEL_SIZE];
+    private final long startNanos = System.nanoTime();
+    private ScheduledFuture<?> driver;
+    /**
+     * The wheel tick the driver is scheduled for, or {@link Long#MAX_VALUE} if it isn't scheduled
+     */
+    private long driverTick = Long.MAX_VALUE;
+    private boolean advancing = false;
+    /**
+     * The last wheel tick (counted from {@link #startNanos}) that was processed, or the one being processed during a pass
+     */
+    private long currentTick = 0;
+    private int size = 0;
+    private int spreadCounter = 0;
+
+    private volatile long lastPassNanos;
+    private volatile long maxPassNanos;
+    private volatile long totalTicks;
+    private volatile long overrunTicks;
+    private volatile long droppedTicks;
+
+    private SessionTickScheduler(EventLoop eventLoop) {
+        this.eventLoop = eventLoop;
+    }
+
+    public static SessionTickScheduler of(EventLoop eventLoop) {
+        return SCHEDULERS.computeIfAbsent(eventLoop, SessionTickScheduler::new);
+    }
+
+    /**
+     * Starts running the given task every {@code periodNanos} until the returned handle is cancelled.
+     */
+    public TickHandle schedule(Runnable task, long periodNanos) {
+        TickHandle handle = new TickHandle(this, task, periodNanos);
+        runInLoop(() -> {
+            if (handle.cancelled) {
+                return;
+            }
+            handle.deadline = System.nanoTime() + handle.periodNanos + spread(handle.periodNanos);
+            handle.scheduled = true;
+            size++;
+            insert(handle);
+        });
+        return handle;
+    }
+
+    /**
+     * Spreads deadlines over one period using the golden ratio, so that consecutive registrations land far apart.
+     */
+    private long spread(long periodNanos) {
+        double fraction = (spreadCounter++ * 0.6180339887498949) % 1.0;
+        return (long) (fraction * periodNanos);
+    }
+
+    private void advance() {
+        driver = null;
+        driverTick = Long.MAX_VALUE;
+        advancing = true;
+
+        long passStart = System.nanoTime();
+        long targetTick = (passStart - startNanos) / RESOLUTION_NANOS;
+        // If the loop stalled for longer than a full rotation, one rotation covers every slot
+        long firstTick = Math.max(currentTick + 1, targetTick - WHEEL_SIZE + 1);
+        try {
+            for (long tick = firstTick; tick <= targetTick; tick++) {
+                // Handles that fire are inserted relative to this, so catching up never puts them in a slot already passed
+                currentTick = tick;
+                processSlot((int) (tick & WHEEL_MASK), passStart);
+            }
+        } finally {
+            advancing = false;
+        }
+        currentTick = Math.max(currentTick, targetTick);
+
+        long passNanos = System.nanoTime() - passStart;
+        lastPassNanos = passNanos;
+        if (passNanos > maxPassNanos) {
+            maxPassNanos = passNanos;
+        }
+
+        if (size == 0) {
+            if (eventLoop.isShuttingDown()) {
+                SCHEDULERS.remove(eventLoop, this);
+            }
+            return;
+        }
+
+        // Slots may also hold handles that are due in a later rotation; waking for those is harmless
+        for (long tick = currentTick + 1; tick <= currentTick + WHEEL_SIZE; tick++) {
+            if (wheel[(int) (tick & WHEEL_MASK)] != null) {
+                scheduleDriver(tick);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Makes sure the driver runs no later than the given wheel tick.
+     */
+    private void scheduleDriver(long tick) {
+        if (driverTick <= tick) {
+            return;
+        }
+        if (driver != null) {
+            driver.cancel(false);
+        }
+        driverTick = tick;
+        long delay = Math.max(0, startNanos + tick * RESOLUTION_NANOS - System.nanoTime());
+        driver = eventLoop.schedule(this::advance, delay, TimeUnit.NANOSECONDS);
+    }
+
+    private void processSlot(int slot, long now) {
+        // Handles that fire are moved to a separate chain and inserted again afterwards, since
+        // their next deadline may map to the slot that is currently being walked
+        TickHandle fired = null;
+        TickHandle handle = wheel[slot];
+        while (handle != null) {
+            TickHandle next = handle.next;
+            if (handle.deadline - now <= 0) {
+                unlink(handle);
+                handle.next = fired;
+                fired = handle;
+            }
+            handle = next;
+        }
+
+        while (fired != null) {
+            TickHandle next = fired.next;
+            fired.next = null;
+            // A tick that ran earlier in this chain may have cancelled this handle
+            if (!fired.cancelled) {
+                run(fired, now);
+                if (!fired.cancelled) {
+                    insert(fired);
+                }
+            }
+            fired = next;
+        }
+    }
+
+    private void run(TickHandle handle, long now) {
+        long start = System.nanoTime();
+        try {
+            handle.task.run();
+        } catch (Throwable t) {
+            GeyserImpl.getInstance().getLogger().error("Error thrown while ticking session!", t);
+        }
+        long duration = System.nanoTime() - start;
+
+        handle.lastTickNanos = duration;
+        totalTicks++;
+        if (duration > handle.periodNanos) {
+            handle.overruns++;
+            overrunTicks++;
+        }
+
+        handle.deadline += handle.periodNanos;
+        if (now - handle.deadline > handle.periodNanos * MAX_CATCH_UP_TICKS) {
+            droppedTicks += (now - handle.deadline) / handle.periodNanos;
+            handle.deadline = now + handle.periodNanos;
+        }
+    }
+
+    private void insert(TickHandle handle) {
+        long tick = Math.max(currentTick + 1, Math.floorDiv(handle.deadline - startNanos + RESOLUTION_NANOS - 1, RESOLUTION_NANOS));
+        int slot = (int) (tick & WHEEL_MASK);
+        handle.slot = slot;
+        handle.prev = null;
+        handle.next = wheel[slot];
+        if (handle.next != null) {
+            handle.next.prev = handle;
+        }
+        wheel[slot] = handle;
+        // A pass schedules the driver once it's done with all slots
+        if (!advancing) {
+            scheduleDriver(tick);
+        }
+    }
+
+    private void unlink(TickHandle handle) {
+        if (handle.prev != null) {
+            handle.prev.next = handle.next;
+        } else {
+            wheel[handle.slot] = handle.next;
+        }
+        if (handle.next != null) {
+            handle.next.prev = handle.prev;
+        }
+        handle.prev = null;
+        handle.next = null;
+        handle.slot = -1;
+    }
+
+    private void runInLoop(Runnable runnable) {
+        if (eventLoop.inEventLoop()) {
+            runnable.run();
+            return;
+        }
+        try {
+            eventLoop.execute(runnable);
+        } catch (RejectedExecutionException ignored) {
+            // The event loop is shutting down; there is nothing left to tick
+        }
+    }
+
+    /**
+     * @return the number of handles currently ticking on this scheduler
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return how long the last pass over the wheel took, in nanoseconds, including every tick that ran during it
+     */
+    public long lastPassNanos() {
+        return lastPassNanos;
+    }
+
+    public long maxPassNanos() {
+        return maxPassNanos;
+    }
+
+    public long totalTicks() {
+        return totalTicks;
+    }
+
+    /**
+     * @return how many ticks took longer than their own period
+     */
+    public long overrunTicks() {
+        return overrunTicks;
+    }
+
+    /**
+     * @return how many ticks were skipped because a handle fell too far behind
+     */
+    public long droppedTicks() {
+        return droppedTicks;
+    }
+
+    public EventLoop eventLoop() {
+        return eventLoop;
+    }
+
+    /**
+     * @return a number identifying this scheduler, and so its event loop, in logs and metrics
+     */
+    public int id() {
+        return id;
+    }
+
+    /**
+     * @return the schedulers of all event loops that currently have or had ticking sessions
+     */
+    public static Iterable<SessionTickScheduler> all() {
+        return SCHEDULERS.values();
+    }
+
+    public static final class TickHandle {
+        private final SessionTickScheduler scheduler;
+        private final Runnable task;
+        private long periodNanos;
+        private long deadline;
+        private boolean cancelled = false;
+        /**
+         * Whether this handle counts towards the scheduler's size; stays true while the handle is being run
+         */
+        private boolean scheduled = false;
+
+        private TickHandle prev;
+        private TickHandle next;
+        private int slot = -1;
+
+        private volatile long lastTickNanos;
+        private volatile long overruns;
+
+        private TickHandle(SessionTickScheduler scheduler, Runnable task, long periodNanos) {
+            this.scheduler = scheduler;
+            this.task = task;
+            this.periodNanos = periodNanos;
+        }
+
+        /**
+         * Changes the period of this handle. The next tick runs one new period from now.
+         */
+        public void setPeriod(long periodNanos) {
+            scheduler.runInLoop(() -> {
+                this.periodNanos = periodNanos;
+                if (cancelled || slot == -1) {
+                    return;
+                }
+                scheduler.unlink(this);
+                this.deadline = System.nanoTime() + periodNanos;
+                scheduler.insert(this);
+            });
+        }
+
+        public void cancel() {
+            scheduler.runInLoop(() -> {
+                if (cancelled) {
+                    return;
+                }
+                cancelled = true;
+                if (scheduled) {
+                    scheduled = false;
+                    scheduler.size--;
+                    // If the handle is currently being run, it is not in a slot and simply won't be inserted again
+                    if (slot != -1) {
+                        scheduler.unlink(this);
+                    }
+                }
+            });
+        }
+
+        /**
+         * @return how long the last tick of this handle took, in nanoseconds
+         */
+        public long lastTickNanos() {
+            return lastTickNanos;
+        }
+
+        /**
+         * @return how many ticks of this handle took longer than its period
+         */
+        public long overruns() {
+            return overruns;
+        }
+    }
+}
@@ -84,6 +84,14 @@ public class UpstreamSession {
         return !session.getPeer().isConnected() && !session.getPeer().isConnecting();
     }
 
+    /**
+     * Whether the underlying RakNet channel can currently accept more outbound data without
+     * growing its send queue past the configured high water mark.
+     */
+    public boolean isWritable() {
+        return !isClosed() && session.getPeer().getChannel().isWritable();
+    }
+
     public InetSocketAddress getAddress() {
         // Will always be an InetSocketAddress. See ProxyChannel#remoteAddress
         return (InetSocketAddress) ((GeyserBedrockPeer) session.getPeer()).getRealAddress();
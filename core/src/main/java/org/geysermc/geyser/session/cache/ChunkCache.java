@@ -27,6 +27,7 @@ package org.geysermc.geyser.session.cache;
 
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import lombok.Getter;
 import lombok.Setter;
 import org.geysermc.geyser.level.block.type.Block;
 import org.geysermc.geyser.level.chunk.GeyserChunk;
@@ -43,12 +44,28 @@ public class ChunkCache {
     @Setter
     private int heightY;
 
+    /**
+     * Block lookups that found or did not find their chunk in the cache, for the metrics endpoint
+     */
+    @Getter
+    private long hits;
+    @Getter
+    private long misses;
+
+    /**
+     * Incremented whenever a block or chunk changes, whether or not this cache stores it, so block IDs
+     * fetched earlier can tell if they may be out of date
+     */
+    @Getter
+    private int revision;
+
     public ChunkCache(GeyserSession session) {
         this.cache = !session.getGeyser().getWorldManager().hasOwnChunkCache(); // To prevent Spigot from initializing
         chunks = cache ? new Long2ObjectOpenHashMap<>() : null;
     }
 
     public void addToCache(int x, int z, DataPalette[] chunks) {
+        revision++;
         if (!cache) {
             return;
         }
@@ -67,6 +84,7 @@ public class ChunkCache {
     }
 
     public void updateBlock(int x, int y, int z, int block) {
+        revision++;
         if (!cache) {
             return;
         }
@@ -105,8 +123,10 @@ public class ChunkCache {
 
         GeyserChunk column = this.getChunk(x >> 4, z >> 4);
         if (column == null) {
+            misses++;
             return Block.JAVA_AIR_ID;
         }
+        hits++;
 
         if (y < minY || ((y - minY) >> 4) > column.sections().length - 1) {
             // Y likely goes above or below the height limit of this world
@@ -136,6 +156,7 @@ public class ChunkCache {
      * but it is the client that must clear sections in the event of proxy switches.
      */
     public void clear() {
+        revision++;
         if (!cache) {
             return;
         }
@@ -143,6 +164,30 @@ public class ChunkCache {
         chunks.clear();
     }
 
+    /**
+     * @return a rough estimate of the memory retained by the cached chunks, in bytes
+     */
+    public long estimateMemoryUsage() {
+        if (!cache) {
+            return 0;
+        }
+
+        long bytes = 0;
+        for (GeyserChunk chunk : chunks.values()) {
+            bytes += 64; // Map entry, chunk record and section array
+            for (DataPalette palette : chunk.sections()) {
+                if (palette == null) {
+                    continue;
+                }
+                bytes += 48 + palette.getPalette().size() * 4L;
+                if (palette.getStorage() != null) {
+                    bytes += palette.getStorage().getData().length * 8L;
+                }
+            }
+        }
+        return bytes;
+    }
+
     public int getChunkMinY() {
         return minY >> 4;
     }
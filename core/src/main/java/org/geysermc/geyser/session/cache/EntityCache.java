@@ -37,28 +37,41 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import lombok.Getter;
+import org.cloudburstmc.math.GenericMath;
+import org.cloudburstmc.math.vector.Vector3f;
 import org.geysermc.geyser.entity.type.Entity;
-import org.geysermc.geyser.entity.type.Tickable;
 import org.geysermc.geyser.entity.type.player.PlayerEntity;
 import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.util.MathUtils;
 
 /**
  * Each session has its own EntityCache in the occasion that an entity packet is sent specifically
  * for that player (e.g. seeing vanished players from /vanish)
  */
 public class EntityCache {
+    /**
+     * Marks an entity that is not part of the spatial index.
+     */
+    public static final long NOT_INDEXED = Long.MIN_VALUE;
+
     private final GeyserSession session;
 
     @Getter
     private final Long2ObjectMap<Entity> entities = new Long2ObjectOpenHashMap<>();
     /**
-     * A list of all entities that must be ticked.
+     * All entities that must be ticked.
      */
-    private final List<Tickable> tickableEntities = new ObjectArrayList<>();
+    @Getter
+    private final TickableEntities tickableEntities = new TickableEntities();
     private final Int2LongMap entityIdTranslations = new Int2LongOpenHashMap();
     private final Map<UUID, PlayerEntity> playerEntities = new Object2ObjectOpenHashMap<>();
     private final Map<UUID, BossBar> bossBars = new Object2ObjectOpenHashMap<>();
+    /**
+     * All cached entities, bucketed by the chunk column they are in, so spatial queries only need to look at nearby chunks.
+     */
+    private final Long2ObjectMap<List<Entity>> entitiesByChunk = new Long2ObjectOpenHashMap<>();
 
     @Getter
     private final AtomicLong nextEntityId = new AtomicLong(2L);
@@ -74,20 +87,32 @@ public class EntityCache {
             // empty) with the entity spawn packet (which also includes metadata). Resulting in 1 less packet sent.
             session.getWorldCache().getScoreboard().entityRegistered(entity);
 
-            entity.spawnEntity();
-
-            if (entity instanceof Tickable) {
-                // Start ticking it
-                tickableEntities.add((Tickable) entity);
+            EntityCullingCache cullingCache = session.getEntityCullingCache();
+            if (cullingCache != null && cullingCache.deferSpawn(entity)) {
+                // Too far away for now; spawned once it comes within range
+                return;
             }
+
+            spawnCulledEntity(entity);
         }
     }
 
+    /**
+     * Spawns an entity that is already cached on the client. Used directly once an entity that was out of range comes within range.
+     */
+    public void spawnCulledEntity(Entity entity) {
+        entity.spawnEntity();
+
+        // Start ticking it, if it needs to be
+        tickableEntities.add(entity);
+    }
+
     public boolean cacheEntity(Entity entity) {
         // Check to see if the entity exists, otherwise we can end up with duplicated mobs
         if (!entityIdTranslations.containsKey(entity.getEntityId())) {
             entityIdTranslations.put(entity.getEntityId(), entity.getGeyserId());
             entities.put(entity.getGeyserId(), entity);
+            addToIndex(entity, chunkKey(entity.getPosition()));
             return true;
         }
         return false;
@@ -106,13 +131,16 @@ public class EntityCache {
             entity.despawnEntity();
         }
         entities.remove(entityIdTranslations.remove(entity.getEntityId()));
+        removeFromIndex(entity);
 
         // don't track the entity anymore, now that it's removed
         session.getWorldCache().getScoreboard().entityRemoved(entity);
-
-        if (entity instanceof Tickable) {
-            tickableEntities.remove(entity);
+        EntityCullingCache cullingCache = session.getEntityCullingCache();
+        if (cullingCache != null) {
+            cullingCache.remove(entity);
         }
+
+        tickableEntities.remove(entity);
     }
 
     public void removeAllEntities() {
@@ -122,6 +150,101 @@ public class EntityCache {
         }
 
         session.getPlayerWithCustomHeads().clear();
+        EntityCullingCache cullingCache = session.getEntityCullingCache();
+        if (cullingCache != null) {
+            cullingCache.clear();
+        }
+    }
+
+    /**
+     * Moves an entity to the right bucket of the spatial index after its position changed. Cheap if it stayed in the same chunk.
+     */
+    public void updateSpatialIndex(Entity entity) {
+        long chunkKey = chunkKey(entity.getPosition());
+        if (chunkKey != entity.getIndexedChunk()) {
+            removeFromIndex(entity);
+            addToIndex(entity, chunkKey);
+        }
+    }
+
+    /**
+     * Calls the consumer for every cached entity within the given distance of a position.
+     * The consumer must not spawn or remove entities; collect them with {@link #getEntitiesInRange(Vector3f, double)} instead.
+     */
+    public void forEachEntityInRange(Vector3f center, double radius, Consumer<Entity> consumer) {
+        double radiusSquared = radius * radius;
+        int minChunkX = GenericMath.floor(center.getX() - radius) >> 4;
+        int maxChunkX = GenericMath.floor(center.getX() + radius) >> 4;
+        int minChunkZ = GenericMath.floor(center.getZ() - radius) >> 4;
+        int maxChunkZ = GenericMath.floor(center.getZ() + radius) >> 4;
+
+        if ((long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1) > entitiesByChunk.size()) {
+            // The area covers more chunks than there are buckets; walking the buckets is cheaper
+            for (List<Entity> bucket : entitiesByChunk.values()) {
+                forEachInRange(bucket, center, radiusSquared, consumer);
+            }
+            return;
+        }
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                List<Entity> bucket = entitiesByChunk.get(MathUtils.chunkPositionToLong(chunkX, chunkZ));
+                if (bucket != null) {
+                    forEachInRange(bucket, center, radiusSquared, consumer);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return a new list of all cached entities within the given distance of a position
+     */
+    public List<Entity> getEntitiesInRange(Vector3f center, double radius) {
+        List<Entity> result = new ArrayList<>();
+        forEachEntityInRange(center, radius, result::add);
+        return result;
+    }
+
+    private static void forEachInRange(List<Entity> bucket, Vector3f center, double radiusSquared, Consumer<Entity> consumer) {
+        for (Entity entity : bucket) {
+            if (entity.getPosition().distanceSquared(center) <= radiusSquared) {
+                consumer.accept(entity);
+            }
+        }
+    }
+
+    private void addToIndex(Entity entity, long chunkKey) {
+        entitiesByChunk.computeIfAbsent(chunkKey, key -> new ObjectArrayList<>()).add(entity);
+        entity.setIndexedChunk(chunkKey);
+    }
+
+    private void removeFromIndex(Entity entity) {
+        long chunkKey = entity.getIndexedChunk();
+        if (chunkKey == NOT_INDEXED) {
+            return;
+        }
+        entity.setIndexedChunk(NOT_INDEXED);
+
+        List<Entity> bucket = entitiesByChunk.get(chunkKey);
+        if (bucket == null) {
+            return;
+        }
+        // Buckets are small and unordered; swap the last entity into the removed slot
+        for (int i = 0; i < bucket.size(); i++) {
+            if (bucket.get(i) == entity) {
+                int last = bucket.size() - 1;
+                bucket.set(i, bucket.get(last));
+                bucket.remove(last);
+                break;
+            }
+        }
+        if (bucket.isEmpty()) {
+            entitiesByChunk.remove(chunkKey);
+        }
+    }
+
+    private static long chunkKey(Vector3f position) {
+        return MathUtils.chunkPositionToLong(GenericMath.floor(position.getX()) >> 4, GenericMath.floor(position.getZ()) >> 4);
     }
 
     public Entity getEntityByGeyserId(long geyserId) {
@@ -198,10 +321,6 @@ public class EntityCache {
         bossBars.values().forEach(BossBar::updateBossBar);
     }
 
-    public List<Tickable> getTickableEntities() {
-        return tickableEntities;
-    }
-
     public void removeAllBossBars() {
         bossBars.values().forEach(BossBar::removeBossBar);
         bossBars.clear();
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import org.cloudburstmc.math.vector.Vector3f;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.configuration.GeyserConfiguration;
+import org.geysermc.geyser.entity.type.Entity;
+import org.geysermc.geyser.entity.type.ItemFrameEntity;
+import org.geysermc.geyser.entity.type.InteractionEntity;
+import org.geysermc.geyser.entity.type.LivingEntity;
+import org.geysermc.geyser.entity.type.PaintingEntity;
+import org.geysermc.geyser.entity.type.living.ArmorStandEntity;
+import org.geysermc.geyser.entity.type.player.PlayerEntity;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.mcprotocollib.protocol.data.game.entity.type.EntityType;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps entities that are far away from the player off the Bedrock client.
+ * <p>
+ * Entities spawned beyond their culling radius are cached but not spawned on the client until they come within range.
+ * Metadata and equipment changes in the meantime are kept on the entity and sent with the spawn. Entities that are
+ * already spawned and move out of range stay spawned, but their relative movement is held back in the
+ * {@link EntityMovementCache} until they come back, when it is sent as one packet with their latest position.
+ */
+public class EntityCullingCache {
+    private static final int EVALUATION_INTERVAL_TICKS = 10;
+    /**
+     * How much further than its radius a spawned entity must be before its movement is held back, so entities
+     * moving along the edge don't flap between states.
+     */
+    private static final int HYSTERESIS_BLOCKS = 8;
+
+    private final GeyserSession session;
+    private final GeyserConfiguration.IEntityCullingConfiguration config;
+    private final Map<EntityType, Integer> typeRadius = new EnumMap<>(EntityType.class);
+
+    /**
+     * Entities known to the cache but not spawned on the client yet.
+     */
+    private final Set<Entity> deferred = new HashSet<>();
+    /**
+     * Spawned entities whose movement is currently held back.
+     */
+    private final Set<Entity> suppressed = new HashSet<>();
+    private int ticks;
+
+    public EntityCullingCache(GeyserSession session) {
+        this.session = session;
+        this.config = session.getGeyser().getConfig().getEntityCulling();
+
+        for (Map.Entry<String, Integer> entry : config.getTypeRadius().entrySet()) {
+            try {
+                typeRadius.put(EntityType.valueOf(entry.getKey().toUpperCase(Locale.ROOT)), entry.getValue());
+            } catch (IllegalArgumentException e) {
+                GeyserImpl.getInstance().getLogger().debug("Unknown entity type in entity-culling config: " + entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * Called instead of spawning an entity on the client.
+     *
+     * @return true if the entity is out of range and will be spawned later
+     */
+    public boolean deferSpawn(Entity entity) {
+        if (!config.isEnabled() || !session.isSpawned() || !isCullable(entity) || isInRange(entity, radius(entity))) {
+            return false;
+        }
+        deferred.add(entity);
+        return true;
+    }
+
+    /**
+     * @return true if movement of this entity should not be sent to the client right now
+     */
+    public boolean isSuppressed(Entity entity) {
+        return !suppressed.isEmpty() && suppressed.contains(entity);
+    }
+
+    public void remove(Entity entity) {
+        deferred.remove(entity);
+        suppressed.remove(entity);
+    }
+
+    public void clear() {
+        deferred.clear();
+        suppressed.clear();
+    }
+
+    /**
+     * Called every session tick, before pending entity movement is flushed.
+     */
+    public void tick() {
+        if (++ticks < EVALUATION_INTERVAL_TICKS) {
+            return;
+        }
+        ticks = 0;
+
+        if (!config.isEnabled()) {
+            if (!deferred.isEmpty() || !suppressed.isEmpty()) {
+                // Culling was turned off, e.g. by a reload
+                for (Entity entity : deferred) {
+                    spawnDeferred(entity);
+                }
+                clear();
+            }
+            return;
+        }
+
+        Iterator<Entity> iterator = deferred.iterator();
+        while (iterator.hasNext()) {
+            Entity entity = iterator.next();
+            if (!isCullable(entity) || isInRange(entity, radius(entity))) {
+                iterator.remove();
+                spawnDeferred(entity);
+            }
+        }
+
+        for (Entity entity : session.getEntityCache().getEntities().values()) {
+            if (!entity.isValid() || !isCullable(entity)) {
+                suppressed.remove(entity);
+                continue;
+            }
+
+            int radius = radius(entity);
+            if (suppressed.contains(entity)) {
+                if (isInRange(entity, radius)) {
+                    // Its held back movement is sent with the next flush
+                    suppressed.remove(entity);
+                }
+            } else if (radius != Integer.MAX_VALUE && !isInRange(entity, radius + HYSTERESIS_BLOCKS)) {
+                suppressed.add(entity);
+            }
+        }
+    }
+
+    private void spawnDeferred(Entity entity) {
+        session.getEntityCache().spawnCulledEntity(entity);
+
+        if (entity instanceof LivingEntity livingEntity) {
+            // Equipment updates are dropped while an entity isn't spawned
+            livingEntity.updateArmor(session);
+            livingEntity.updateMainHand(session);
+            livingEntity.updateOffHand(session);
+        }
+    }
+
+    private int radius(Entity entity) {
+        Integer radius = null;
+        if (entity.getDefinition().entityType() != null) {
+            radius = typeRadius.get(entity.getDefinition().entityType());
+        }
+        if (radius == null) {
+            radius = config.getRadius();
+        }
+        if (radius <= 0) {
+            int renderDistance = session.getBedrockRenderDistance();
+            return renderDistance <= 0 ? Integer.MAX_VALUE : renderDistance << 4;
+        }
+        return radius;
+    }
+
+    private boolean isInRange(Entity entity, int radius) {
+        if (radius == Integer.MAX_VALUE) {
+            return true;
+        }
+        Vector3f playerPosition = session.getPlayerEntity().getPosition();
+        return playerPosition.distanceSquared(entity.getPosition()) <= (double) radius * radius;
+    }
+
+    /**
+     * Entities the player interacts with through other means, or whose spawn state is managed elsewhere, are never culled.
+     */
+    private static boolean isCullable(Entity entity) {
+        return entity.getVehicle() == null && entity.getPassengers().isEmpty()
+            && !(entity instanceof PlayerEntity)
+            && !(entity instanceof ItemFrameEntity)
+            && !(entity instanceof PaintingEntity)
+            && !(entity instanceof ArmorStandEntity)
+            && !(entity instanceof InteractionEntity)
+            && entity.getDefinition().entityType() != EntityType.ENDER_DRAGON;
+    }
+
+    /**
+     * @return the number of entities waiting to be spawned
+     */
+    public int deferredCount() {
+        return deferred.size();
+    }
+}
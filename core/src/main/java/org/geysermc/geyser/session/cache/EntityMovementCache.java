@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import org.cloudburstmc.math.vector.Vector3f;
+import org.cloudburstmc.protocol.bedrock.packet.MoveEntityDeltaPacket;
+import org.geysermc.geyser.entity.type.Entity;
+import org.geysermc.geyser.session.GeyserSession;
+
+import java.util.List;
+
+/**
+ * Collects relative entity movement during a tick, so an entity that is moved, rotated and has its head rotated
+ * within the same tick is sent as a single {@link MoveEntityDeltaPacket} at the end of the tick.
+ * <p>
+ * Delta packets carry absolute values for every flagged component, so merging only requires remembering which
+ * components changed; their values are read from the entity when flushing.
+ */
+public class EntityMovementCache {
+    public static final int X = 1;
+    public static final int Y = 1 << 1;
+    public static final int Z = 1 << 2;
+    public static final int PITCH = 1 << 3;
+    public static final int YAW = 1 << 4;
+    public static final int HEAD_YAW = 1 << 5;
+
+    private final GeyserSession session;
+    /**
+     * Entities with movement waiting to be sent, mapped to the components that changed.
+     */
+    private final Object2IntMap<Entity> pending = new Object2IntOpenHashMap<>();
+    /**
+     * The keys of {@link #pending}, in the order the entities first moved during this tick.
+     */
+    private final List<Entity> order = new ObjectArrayList<>();
+
+    public EntityMovementCache(GeyserSession session) {
+        this.session = session;
+    }
+
+    /**
+     * Marks the given components of the entity as changed. An entity with no changed components is still sent,
+     * as its on-ground state may have changed.
+     */
+    public void queue(Entity entity, int changes) {
+        if (pending.containsKey(entity)) {
+            pending.put(entity, pending.getInt(entity) | changes);
+        } else {
+            pending.put(entity, changes);
+            order.add(entity);
+        }
+    }
+
+    /**
+     * Drops pending movement of an entity, e.g. because it was despawned or an absolute movement already contains
+     * its latest position and rotation.
+     */
+    public void discard(Entity entity) {
+        // Left in the order list; flush skips entities that are no longer pending
+        pending.removeInt(entity);
+    }
+
+    /**
+     * Sends the movement of an entity right away, together with anything still pending for it. Used for entities
+     * whose position other packets depend on, such as the session player and entities with a vehicle or passengers.
+     */
+    public void sendNow(Entity entity, int changes) {
+        EntityCullingCache cullingCache = session.getEntityCullingCache();
+        if (cullingCache != null && cullingCache.isSuppressed(entity)) {
+            queue(entity, changes);
+            return;
+        }
+        if (pending.containsKey(entity)) {
+            changes |= pending.removeInt(entity);
+        }
+        send(entity, changes);
+    }
+
+    /**
+     * Sends the pending movement of a single entity, if any, so it arrives before a packet that depends on its position.
+     */
+    public void flush(Entity entity) {
+        if (pending.containsKey(entity)) {
+            sendNow(entity, 0);
+        }
+    }
+
+    /**
+     * Sends the pending movement of all entities. Called at the end of every session tick.
+     */
+    public void flush() {
+        if (order.isEmpty()) {
+            return;
+        }
+
+        EntityCullingCache cullingCache = session.getEntityCullingCache();
+        int held = 0;
+        for (int i = 0; i < order.size(); i++) {
+            Entity entity = order.get(i);
+            if (!pending.containsKey(entity)) {
+                // Discarded, or already sent because it was queued again after being discarded
+                continue;
+            }
+            if (cullingCache.isSuppressed(entity)) {
+                // Out of range; keep accumulating until it comes back. Entries before i have been handled already
+                order.set(held++, entity);
+                continue;
+            }
+            int changes = pending.removeInt(entity);
+            if (!entity.isValid()) {
+                continue;
+            }
+            send(entity, changes);
+        }
+        order.subList(held, order.size()).clear();
+    }
+
+    private void send(Entity entity, int changes) {
+        Vector3f position = entity.getPosition();
+        MoveEntityDeltaPacket moveEntityPacket = new MoveEntityDeltaPacket();
+        moveEntityPacket.setRuntimeEntityId(entity.getGeyserId());
+        if ((changes & X) != 0) {
+            moveEntityPacket.setX(position.getX());
+            moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_X);
+        }
+        if ((changes & Y) != 0) {
+            moveEntityPacket.setY(position.getY());
+            moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_Y);
+        }
+        if ((changes & Z) != 0) {
+            moveEntityPacket.setZ(position.getZ());
+            moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_Z);
+        }
+        if ((changes & PITCH) != 0) {
+            moveEntityPacket.setPitch(entity.getPitch());
+            moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_PITCH);
+        }
+        if ((changes & YAW) != 0) {
+            moveEntityPacket.setYaw(entity.getYaw());
+            moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_YAW);
+        }
+        if ((changes & HEAD_YAW) != 0) {
+            moveEntityPacket.setHeadYaw(entity.getHeadYaw());
+            moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_HEAD_YAW);
+        }
+        if (entity.isOnGround()) {
+            moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.ON_GROUND);
+        }
+        session.sendUpstreamPacket(moveEntityPacket);
+    }
+
+    /**
+     * @return the number of entities with movement waiting to be sent
+     */
+    public int size() {
+        return pending.size();
+    }
+}
@@ -63,6 +63,13 @@ public class FormCache {
     private final Int2ObjectMap<Form> forms = new Int2ObjectOpenHashMap<>();
     private final GeyserSession session;
 
+    /**
+     * @return the number of forms waiting for a response
+     */
+    public int size() {
+        return forms.size();
+    }
+
     public int addForm(Form form) {
         int formId = formIdCounter.getAndIncrement();
         forms.put(formId, form);
@@ -124,6 +124,10 @@ public final class LodestoneCache {
         return null;
     }
 
+    public int size() {
+        return this.lodestones.size();
+    }
+
     public void clear() {
         // Just in case...
         this.activeLodestones.clear();
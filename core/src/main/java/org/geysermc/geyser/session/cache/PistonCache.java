@@ -192,6 +192,13 @@ public class PistonCache {
         return offset;
     }
 
+    /**
+     * @return true if any block is currently being moved by a piston
+     */
+    public boolean hasMovingBlocks() {
+        return !movingBlocksMap.isEmpty();
+    }
+
     public boolean checkCollision(Vector3i blockPos, BoundingBox boundingBox) {
         PistonBlockEntity piston = movingBlocksMap.get(blockPos);
         if (piston != null) {
@@ -151,6 +151,17 @@ public final class RegistryCache {
         return (JavaRegistry<T>) registries.get(registryKey);
     }
 
+    /**
+     * @return the total number of entries in all registries tracked for this session
+     */
+    public int size() {
+        int size = 0;
+        for (JavaRegistry<?> registry : registries.values()) {
+            size += registry.values().size();
+        }
+        return size;
+    }
+
     /**
      * @param registryKey the Java registry key, listed in {@link JavaRegistries}
      * @param reader converts the RegistryEntry NBT into an object. Should never return null, rather return a default value!
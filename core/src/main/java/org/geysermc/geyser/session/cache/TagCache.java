@@ -62,6 +62,17 @@ public final class TagCache {
         this.session = session;
     }
 
+    /**
+     * @return a rough estimate of the memory retained by the loaded tags, in bytes
+     */
+    public long estimateMemoryUsage() {
+        long bytes = 0;
+        for (int[] values : this.tags.values()) {
+            bytes += 48 + values.length * 4L;
+        }
+        return bytes;
+    }
+
     public void loadPacket(GeyserSession session, ClientboundUpdateTagsPacket packet) {
         Map<Key, Map<Key, int[]>> allTags = packet.getTags();
         GeyserLogger logger = session.getGeyser().getLogger();
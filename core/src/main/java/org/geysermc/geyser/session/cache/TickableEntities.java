@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import org.geysermc.geyser.entity.type.Entity;
+import org.geysermc.geyser.entity.type.Tickable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The entities of a session that must be ticked. Entities are kept in dense arrays, one per concrete entity class, and
+ * remember their slot so they can be removed in constant time by moving the last entity of their group into it.
+ * Entities removed while their group is ticking leave a hole instead, which is closed once the group is done.
+ * <p>
+ * Ticking one class at a time means consecutive calls go to the same {@link Tickable#tick()} implementation, which
+ * keeps indirect branches predictable when thousands of projectiles or minecarts are around.
+ */
+public final class TickableEntities {
+    private final Reference2ObjectMap<Class<?>, Group> groupsByClass = new Reference2ObjectOpenHashMap<>();
+    /**
+     * Same contents as {@link #groupsByClass}, for iteration without an iterator.
+     */
+    private final List<Group> groups = new ArrayList<>();
+    private int size;
+
+    public void add(Entity entity) {
+        if (!(entity instanceof Tickable) || entity.getTickSlot() != -1) {
+            return;
+        }
+        Group group = groupsByClass.get(entity.getClass());
+        if (group == null) {
+            group = new Group();
+            groupsByClass.put(entity.getClass(), group);
+            groups.add(group);
+        }
+        group.add(entity);
+        size++;
+    }
+
+    public void remove(Entity entity) {
+        if (entity.getTickSlot() == -1) {
+            return;
+        }
+        Group group = groupsByClass.get(entity.getClass());
+        if (group != null) {
+            group.remove(entity);
+            size--;
+        }
+    }
+
+    /**
+     * Ticks all entities.
+     *
+     * @param gameShouldUpdate whether {@link Tickable#tick()} should be called, or only {@link Tickable#drawTick()}
+     */
+    public void tick(boolean gameShouldUpdate) {
+        //noinspection ForLoopReplaceableByForEach - groups may be added while ticking
+        for (int i = 0; i < groups.size(); i++) {
+            groups.get(i).tick(gameShouldUpdate);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static final class Group {
+        private Entity[] entities = new Entity[8];
+        /**
+         * The number of used slots, including slots emptied while ticking.
+         */
+        private int size;
+        private boolean ticking;
+        private boolean hasHoles;
+
+        void add(Entity entity) {
+            if (size == entities.length) {
+                entities = Arrays.copyOf(entities, size * 2);
+            }
+            entity.setTickSlot(size);
+            entities[size++] = entity;
+        }
+
+        void remove(Entity entity) {
+            int slot = entity.getTickSlot();
+            entity.setTickSlot(-1);
+            if (ticking) {
+                // Moving the last entity here could put it behind the tick loop, so leave a hole until the loop is done
+                entities[slot] = null;
+                hasHoles = true;
+                return;
+            }
+            int last = --size;
+            if (slot != last) {
+                Entity moved = entities[last];
+                entities[slot] = moved;
+                moved.setTickSlot(slot);
+            }
+            entities[last] = null;
+        }
+
+        void tick(boolean gameShouldUpdate) {
+            ticking = true;
+            try {
+                // Entities added while ticking are appended and ticked in this pass as well
+                for (int i = 0; i < size; i++) {
+                    Entity entity = entities[i];
+                    if (entity == null) {
+                        // Removed earlier in this pass
+                        continue;
+                    }
+                    Tickable tickable = (Tickable) entity;
+                    tickable.drawTick();
+                    if (gameShouldUpdate) {
+                        tickable.tick();
+                    }
+                }
+            } finally {
+                ticking = false;
+                if (hasHoles) {
+                    compact();
+                }
+            }
+        }
+
+        /**
+         * Closes the holes left by entities removed while ticking, keeping the remaining entities in order.
+         */
+        private void compact() {
+            int live = 0;
+            for (int i = 0; i < size; i++) {
+                Entity entity = entities[i];
+                if (entity != null) {
+                    if (i != live) {
+                        entities[live] = entity;
+                        entity.setTickSlot(live);
+                    }
+                    live++;
+                }
+            }
+            Arrays.fill(entities, live, size, null);
+            size = live;
+            hasHoles = false;
+        }
+    }
+}
@@ -38,6 +38,7 @@ import org.cloudburstmc.math.vector.Vector3i;
 import org.cloudburstmc.protocol.bedrock.packet.SetTitlePacket;
 import org.geysermc.geyser.inventory.GeyserItemStack;
 import org.geysermc.geyser.scoreboard.Scoreboard;
+import org.geysermc.geyser.scoreboard.ScoreboardUpdater;
 import org.geysermc.geyser.scoreboard.ScoreboardUpdater.ScoreboardSession;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.util.ChunkUtils;
@@ -92,6 +93,10 @@ public final class WorldCache {
     public int increaseAndGetScoreboardPacketsPerSecond() {
         int pendingPps = scoreboardSession.getPendingPacketsPerSecond().incrementAndGet();
         int pps = scoreboardSession.getPacketsPerSecond();
+        if (session.shouldShedCosmetics()) {
+            // Leave the updates to the ScoreboardUpdater, which batches them while the event loop is overloaded
+            return Math.max(ScoreboardUpdater.SECOND_SCORE_PACKETS_PER_SECOND_THRESHOLD, Math.max(pps, pendingPps));
+        }
         return Math.max(pps, pendingPps);
     }
 
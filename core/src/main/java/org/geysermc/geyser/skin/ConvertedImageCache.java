@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.skin;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.geyser.GeyserImpl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * A disk cache of skins and capes that were already converted to Bedrock image data, so a cache hit
+ * skips decoding the PNG, scaling and converting it again.
+ * <p>
+ * Each entry is one small file named after the texture hash, containing a fixed header followed by the raw RGBA bytes.
+ */
+final class ConvertedImageCache {
+    private static final int MAGIC = 0x47534b4e; // "GSKN"
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES + 2 + 2 * Short.BYTES + Integer.BYTES;
+    private static final int MAX_DATA_SIZE = 256 * 256 * 4;
+
+    /**
+     * Mojang texture URLs end with the SHA-256 of the texture, which we can use as the key directly.
+     */
+    private static final Pattern TEXTURE_HASH = Pattern.compile("[0-9a-f]{32,64}");
+
+    static Path cacheFolder() {
+        return GeyserImpl.getInstance().getBootstrap().getConfigFolder().resolve("cache").resolve("converted");
+    }
+
+    /**
+     * @return the converted image data for this texture, or null if it isn't cached or the entry is unreadable
+     */
+    static @Nullable Entry read(String imageUrl, boolean isCape) {
+        Path file = file(imageUrl, isCape);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try {
+            long size = Files.size(file);
+            if (size < HEADER_SIZE || size > HEADER_SIZE + MAX_DATA_SIZE) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.get() != VERSION) {
+                return null;
+            }
+            boolean cape = buffer.get() != 0;
+            int width = buffer.getShort() & 0xFFFF;
+            int height = buffer.getShort() & 0xFFFF;
+            int length = buffer.getInt();
+            if (cape != isCape || length != width * height * 4 || length != buffer.remaining()) {
+                return null;
+            }
+            byte[] data = new byte[length];
+            buffer.get(data);
+
+            // Used by the expiry task to find entries that are no longer requested
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            GeyserImpl.getInstance().getLogger().debug("Read converted image from " + file + " for " + imageUrl);
+            return new Entry(width, height, data);
+        } catch (IOException e) {
+            GeyserImpl.getInstance().getLogger().debug("Failed to read converted image from " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    static void write(String imageUrl, boolean isCape, int width, int height, byte[] data) {
+        if (data.length != width * height * 4 || data.length > MAX_DATA_SIZE) {
+            return;
+        }
+
+        Path file = file(imageUrl, isCape);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.getParent());
+
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + data.length);
+            buffer.putInt(MAGIC)
+                    .put(VERSION)
+                    .put((byte) (isCape ? 1 : 0))
+                    .putShort((short) width)
+                    .putShort((short) height)
+                    .putInt(data.length)
+                    .put(data)
+                    .flip();
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            // Other threads, or another server sharing the folder, must never see a half-written entry
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            GeyserImpl.getInstance().getLogger().debug("Wrote converted image to " + file + " for " + imageUrl);
+        } catch (IOException e) {
+            GeyserImpl.getInstance().getLogger().debug("Failed to write converted image to " + file + ": " + e.getMessage());
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private static Path file(String imageUrl, boolean isCape) {
+        String textureId = imageUrl.substring(imageUrl.lastIndexOf('/') + 1);
+        String key = TEXTURE_HASH.matcher(textureId).matches() ? textureId
+                : UUID.nameUUIDFromBytes(imageUrl.getBytes(StandardCharsets.UTF_8)).toString();
+        // Capes and skins are converted differently, so the same texture may be cached as both
+        return cacheFolder().resolve(key + (isCape ? ".cape" : ".skin"));
+    }
+
+    record Entry(int width, int height, byte[] data) {
+    }
+
+    private ConvertedImageCache() {
+    }
+}
@@ -30,6 +30,10 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import lombok.Getter;
 import org.geysermc.floodgate.pluginmessage.PluginMessageChannels;
 import org.geysermc.floodgate.util.WebsocketEventType;
@@ -37,24 +41,69 @@ import org.geysermc.geyser.Constants;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.GeyserLogger;
 import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.auth.BedrockClientData;
 import org.geysermc.geyser.util.PluginMessageUtils;
 import org.java_websocket.client.WebSocketClient;
+import org.java_websocket.exceptions.WebsocketNotConnectedException;
+import org.java_websocket.framing.Framedata;
 import org.java_websocket.handshake.ServerHandshake;
 
 import javax.net.ssl.SSLException;
 import java.net.ConnectException;
+import java.net.URI;
 import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 public final class FloodgateSkinUploader {
+    /**
+     * How many bytes of uploads are written to the socket at once. Every upload is still its own message.
+     */
+    private static final int MAX_BATCH_BYTES = 1024 * 1024;
+    private static final long DEFAULT_MAX_QUEUED_BYTES = 32L * 1024 * 1024;
+    /**
+     * How long uploads are collected before they're sent. The global api shouldn't answer before the Java server is
+     * ready for the result anyway.
+     */
+    private static final long FLUSH_DELAY_MILLIS = 50;
+
     private final ObjectMapper JACKSON = new ObjectMapper();
-    private final List<String> skinQueue = new ArrayList<>();
+    /**
+     * Uploads that weren't sent yet, by XUID, so a player that rejoins before their upload was sent is only uploaded once.
+     * Guarded by itself.
+     */
+    private final LinkedHashMap<String, PendingUpload> skinQueue = new LinkedHashMap<>();
+    private final long maxQueuedBytes;
+    private long queuedBytes;
+    private boolean flushScheduled;
+
+    /**
+     * The skin hashes of sent uploads that the global api hasn't answered yet, by XUID
+     */
+    private final Cache<String, String> awaitingResult = CacheBuilder.newBuilder()
+            .expireAfterWrite(5, TimeUnit.MINUTES)
+            .build();
+    /**
+     * The signed results of recent uploads, so rejoining players with the same skin don't have to be uploaded again
+     */
+    private final Cache<String, UploadedSkin> uploadedSkins = CacheBuilder.newBuilder()
+            .expireAfterWrite(1, TimeUnit.HOURS)
+            .maximumSize(4096)
+            .build();
 
+    private final AtomicLong sentUploads = new AtomicLong();
+    private final AtomicLong deduplicatedUploads = new AtomicLong();
+    private final AtomicLong reusedUploads = new AtomicLong();
+    private final AtomicLong droppedUploads = new AtomicLong();
+
+    private final GeyserImpl geyser;
     private final GeyserLogger logger;
     private final WebSocketClient client;
     private volatile boolean closed;
@@ -64,16 +113,23 @@ public final class FloodgateSkinUploader {
     @Getter private int subscribersCount;
 
     public FloodgateSkinUploader(GeyserImpl geyser) {
+        this(geyser, Constants.GLOBAL_API_WS_URI, DEFAULT_MAX_QUEUED_BYTES);
+    }
+
+    /**
+     * @param uri the global api to connect to, which tests may replace with a local server
+     */
+    FloodgateSkinUploader(GeyserImpl geyser, URI uri, long maxQueuedBytes) {
+        this.geyser = geyser;
         this.logger = geyser.getLogger();
-        this.client = new WebSocketClient(Constants.GLOBAL_API_WS_URI) {
+        this.maxQueuedBytes = maxQueuedBytes;
+        this.client = new WebSocketClient(uri) {
             @Override
             public void onOpen(ServerHandshake handshake) {
                 setConnectionLostTimeout(11);
 
-                Iterator<String> queueIterator = skinQueue.iterator();
-                while (isOpen() && queueIterator.hasNext()) {
-                    send(queueIterator.next());
-                    queueIterator.remove();
+                synchronized (skinQueue) {
+                    scheduleFlush();
                 }
             }
 
@@ -105,13 +161,20 @@ public final class FloodgateSkinUploader {
                             subscribersCount = node.get("subscribers_count").asInt();
                             break;
                         case SKIN_UPLOADED:
+                            String xuid = node.get("xuid").asText();
+                            String skinHash = awaitingResult.getIfPresent(xuid);
+                            awaitingResult.invalidate(xuid);
+                            if (skinHash != null && node.get("success").asBoolean()) {
+                                JsonNode data = node.get("data");
+                                uploadedSkins.put(xuid, new UploadedSkin(skinHash, data.get("value").asText(), data.get("signature").asText()));
+                            }
+
                             // if Geyser is the only subscriber we have send it to the server manually
                             // otherwise it's handled by the Floodgate plugin subscribers
                             if (subscribersCount != 1) {
                                 break;
                             }
 
-                            String xuid = node.get("xuid").asText();
                             GeyserSession session = geyser.connectionByXuid(xuid);
 
                             if (session != null) {
@@ -124,10 +187,7 @@ public final class FloodgateSkinUploader {
 
                                 String value = data.get("value").asText();
                                 String signature = data.get("signature").asText();
-
-                                byte[] bytes = (value + '\0' + signature)
-                                        .getBytes(StandardCharsets.UTF_8);
-                                PluginMessageUtils.sendMessage(session, PluginMessageChannels.SKIN, bytes);
+                                sendSkin(session, value, signature);
                             }
                             break;
                         case LOG_MESSAGE:
@@ -190,16 +250,30 @@ public final class FloodgateSkinUploader {
         };
     }
 
-    public void uploadSkin(List<String> chainData, String clientData) {
-        if (chainData == null || clientData == null) {
+    public void uploadSkin(GeyserSession session) {
+        List<String> chainData = session.getCertChainData();
+        BedrockClientData clientData = session.getClientData();
+        if (chainData == null || clientData == null || clientData.getOriginalString() == null) {
             return;
         }
 
+        String xuid = session.xuid();
+        String skinHash = skinHash(clientData);
+        if (subscribersCount == 1) {
+            UploadedSkin uploadedSkin = uploadedSkins.getIfPresent(xuid);
+            if (uploadedSkin != null && uploadedSkin.skinHash().equals(skinHash)) {
+                // Only we would receive the result, and we already have it from last time
+                reusedUploads.incrementAndGet();
+                sendSkin(session, uploadedSkin.value(), uploadedSkin.signature());
+                return;
+            }
+        }
+
         ObjectNode node = JACKSON.createObjectNode();
         ArrayNode chainDataNode = JACKSON.createArrayNode();
         chainData.forEach(chainDataNode::add);
         node.set("chain_data", chainDataNode);
-        node.put("client_data", clientData);
+        node.put("client_data", clientData.getOriginalString());
 
         // The reason why I don't like Jackson
         String jsonString;
@@ -210,11 +284,149 @@ public final class FloodgateSkinUploader {
             return;
         }
 
-        if (client.isOpen()) {
-            client.send(jsonString);
+        enqueue(new PendingUpload(xuid, skinHash, jsonString), true);
+    }
+
+    private void sendSkin(GeyserSession session, String value, String signature) {
+        byte[] bytes = (value + '\0' + signature)
+                .getBytes(StandardCharsets.UTF_8);
+        PluginMessageUtils.sendMessage(session, PluginMessageChannels.SKIN, bytes);
+    }
+
+    /**
+     * @param replace whether to replace an upload of the same player that is still queued
+     */
+    private void enqueue(PendingUpload upload, boolean replace) {
+        synchronized (skinQueue) {
+            PendingUpload previous = skinQueue.get(upload.xuid());
+            if (previous != null) {
+                if (!replace) {
+                    return;
+                }
+                skinQueue.remove(upload.xuid());
+                queuedBytes -= previous.size();
+                deduplicatedUploads.incrementAndGet();
+            }
+            skinQueue.put(upload.xuid(), upload);
+            queuedBytes += upload.size();
+
+            // Drop the oldest uploads rather than growing without bound while the global api is unreachable
+            Iterator<PendingUpload> iterator = skinQueue.values().iterator();
+            while (queuedBytes > maxQueuedBytes && skinQueue.size() > 1) {
+                PendingUpload oldest = iterator.next();
+                iterator.remove();
+                queuedBytes -= oldest.size();
+                droppedUploads.incrementAndGet();
+                logger.debug("Dropped the queued skin upload of " + oldest.xuid() + " as the skin upload queue is full");
+            }
+
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Must be called while holding the lock of the skin queue.
+     */
+    private void scheduleFlush() {
+        if (flushScheduled || closed || skinQueue.isEmpty() || geyser.getScheduledThread().isShutdown()) {
+            return;
+        }
+        flushScheduled = true;
+        geyser.getScheduledThread().schedule(this::flush, FLUSH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sends queued uploads, several at a time up to {@link #MAX_BATCH_BYTES}, in a single write to the socket.
+     */
+    private void flush() {
+        List<PendingUpload> batch = new ArrayList<>();
+        List<Framedata> frames = new ArrayList<>();
+        synchronized (skinQueue) {
+            flushScheduled = false;
+            if (!client.isOpen()) {
+                // Opening the connection flushes again
+                return;
+            }
+
+            int batchBytes = 0;
+            Iterator<PendingUpload> iterator = skinQueue.values().iterator();
+            while (iterator.hasNext()) {
+                PendingUpload upload = iterator.next();
+                if (!batch.isEmpty() && batchBytes + upload.size() > MAX_BATCH_BYTES) {
+                    break;
+                }
+                iterator.remove();
+                queuedBytes -= upload.size();
+                batchBytes += upload.size();
+                batch.add(upload);
+                frames.addAll(client.getDraft().createFrames(upload.json(), true));
+            }
+
+            scheduleFlush();
+        }
+
+        if (batch.isEmpty()) {
             return;
         }
-        skinQueue.add(jsonString);
+        // Recorded before sending, as the result may arrive before sendFrame returns
+        for (PendingUpload upload : batch) {
+            awaitingResult.put(upload.xuid(), upload.skinHash());
+        }
+        try {
+            client.sendFrame(frames);
+        } catch (WebsocketNotConnectedException e) {
+            // The connection was lost in the meantime, so send them after reconnecting unless the players rejoined since
+            for (PendingUpload upload : batch) {
+                awaitingResult.asMap().remove(upload.xuid(), upload.skinHash());
+                enqueue(upload, false);
+            }
+            return;
+        }
+        sentUploads.addAndGet(batch.size());
+    }
+
+    private static String skinHash(BedrockClientData clientData) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        for (String field : new String[] {clientData.getSkinId(), clientData.getSkinData(), clientData.getGeometryName(),
+                clientData.getGeometryData(), clientData.getCapeId()}) {
+            hasher.putString(String.valueOf(field), StandardCharsets.UTF_8).putByte((byte) 0);
+        }
+        byte[] capeData = clientData.getCapeData();
+        if (capeData != null) {
+            hasher.putBytes(capeData);
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * @return how many uploads are waiting to be sent
+     */
+    public int getQueuedUploads() {
+        synchronized (skinQueue) {
+            return skinQueue.size();
+        }
+    }
+
+    /**
+     * @return the size of all uploads waiting to be sent
+     */
+    public long getQueuedBytes() {
+        synchronized (skinQueue) {
+            return queuedBytes;
+        }
+    }
+
+    /**
+     * @return how many uploads were sent, replaced by a newer upload of the same player, answered from a previous
+     * upload, or dropped because the queue was full
+     */
+    public Map<String, Long> getUploadCounts() {
+        return Map.of(
+                "sent", sentUploads.get(),
+                "deduplicated", deduplicatedUploads.get(),
+                "reused", reusedUploads.get(),
+                "dropped", droppedUploads.get()
+        );
     }
 
     private void reconnectLater(GeyserImpl geyser) {
@@ -241,4 +453,13 @@ public final class FloodgateSkinUploader {
             client.close();
         }
     }
+
+    private record PendingUpload(String xuid, String skinHash, String json) {
+        int size() {
+            return json.length();
+        }
+    }
+
+    private record UploadedSkin(String skinHash, String value, String signature) {
+    }
 }
\ No newline at end of file
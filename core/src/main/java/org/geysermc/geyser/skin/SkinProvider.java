@@ -28,6 +28,8 @@ package org.geysermc.geyser.skin;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.Weigher;
 import it.unimi.dsi.fastutil.bytes.ByteArrays;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -39,19 +41,28 @@ import org.geysermc.geyser.api.skin.Skin;
 import org.geysermc.geyser.api.skin.SkinData;
 import org.geysermc.geyser.api.skin.SkinGeometry;
 import org.geysermc.geyser.entity.type.player.PlayerEntity;
+import org.geysermc.geyser.metrics.LatencyHistogram;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.text.GeyserLocale;
 import org.geysermc.geyser.util.FileUtils;
-import org.geysermc.geyser.util.WebUtils;
+import org.geysermc.geyser.util.GeyserHttpClient;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Objects;
@@ -65,25 +76,28 @@ public class SkinProvider {
     static final Skin EMPTY_SKIN;
     static final Cape EMPTY_CAPE = new Cape("", "no-cape", ByteArrays.EMPTY_ARRAY, true);
 
-    private static final Cache<String, Cape> CACHED_JAVA_CAPES = CacheBuilder.newBuilder()
-            .expireAfterAccess(1, TimeUnit.HOURS)
-            .build();
-    private static final Cache<String, Skin> CACHED_JAVA_SKINS = CacheBuilder.newBuilder()
-            .expireAfterAccess(1, TimeUnit.HOURS)
-            .build();
+    /**
+     * Approximate bytes retained by a cache entry besides its image data and key
+     */
+    private static final int ENTRY_OVERHEAD = 128;
+
+    // Java skins are by far the most common entries, so they get the largest share of the memory budget
+    private static final Cache<String, Cape> CACHED_JAVA_CAPES = buildCache(8, (url, cape) -> weigh(url, cape.capeData()));
+    private static final Cache<String, Skin> CACHED_JAVA_SKINS = buildCache(2, (url, skin) -> weigh(url, skin.skinData()));
 
-    private static final Cache<String, Cape> CACHED_BEDROCK_CAPES = CacheBuilder.newBuilder()
-            .expireAfterAccess(1, TimeUnit.HOURS)
-            .build();
-    private static final Cache<String, Skin> CACHED_BEDROCK_SKINS = CacheBuilder.newBuilder()
-            .expireAfterAccess(1, TimeUnit.HOURS)
-            .build();
+    private static final Cache<String, Cape> CACHED_BEDROCK_CAPES = buildCache(8, (id, cape) -> weigh(id, cape.capeData()));
+    private static final Cache<String, Skin> CACHED_BEDROCK_SKINS = buildCache(4, (id, skin) -> weigh(id, skin.skinData()));
 
     private static final Map<String, CompletableFuture<Cape>> requestedCapes = new ConcurrentHashMap<>();
     private static final Map<String, CompletableFuture<Skin>> requestedSkins = new ConcurrentHashMap<>();
 
     private static final Map<UUID, SkinGeometry> cachedGeometry = new ConcurrentHashMap<>();
 
+    /**
+     * How long downloading skin and cape images takes, for the metrics endpoint
+     */
+    private static final LatencyHistogram DOWNLOAD_TIMINGS = new LatencyHistogram();
+
     /**
      * Citizens NPCs use UUID version 2, while legitimate Minecraft players use version 4, and
      * offline mode players use version 3.
@@ -131,6 +145,54 @@ public class SkinProvider {
         }
     }
 
+    public static LatencyHistogram getDownloadTimings() {
+        return DOWNLOAD_TIMINGS;
+    }
+
+    /**
+     * @return the hit, miss and eviction statistics of the skin and cape caches, keyed by cache name
+     */
+    public static Map<String, CacheStats> getCacheStats() {
+        return Map.of(
+                "java_skins", CACHED_JAVA_SKINS.stats(),
+                "java_capes", CACHED_JAVA_CAPES.stats(),
+                "bedrock_skins", CACHED_BEDROCK_SKINS.stats(),
+                "bedrock_capes", CACHED_BEDROCK_CAPES.stats()
+        );
+    }
+
+    /**
+     * @return the approximate bytes retained by the skin and cape caches, keyed by cache name
+     */
+    public static Map<String, Long> getCacheWeights() {
+        return Map.of(
+                "java_skins", CACHED_JAVA_SKINS.asMap().values().stream().mapToLong(skin -> weigh("", skin.skinData())).sum(),
+                "java_capes", CACHED_JAVA_CAPES.asMap().values().stream().mapToLong(cape -> weigh("", cape.capeData())).sum(),
+                "bedrock_skins", CACHED_BEDROCK_SKINS.asMap().values().stream().mapToLong(skin -> weigh("", skin.skinData())).sum(),
+                "bedrock_capes", CACHED_BEDROCK_CAPES.asMap().values().stream().mapToLong(cape -> weigh("", cape.capeData())).sum()
+        );
+    }
+
+    /**
+     * @param budgetDivisor the share of the configured skin cache memory this cache may use, as 1 / divisor
+     */
+    private static <V> Cache<String, V> buildCache(int budgetDivisor, Weigher<String, V> weigher) {
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder()
+                .expireAfterAccess(1, TimeUnit.HOURS)
+                .recordStats();
+        long budget = GeyserImpl.getInstance().getConfig().getSkinCacheMemory() * 1024L * 1024L;
+        if (budget <= 0) {
+            return builder.build();
+        }
+        return builder.maximumWeight(budget / budgetDivisor)
+                .weigher(weigher)
+                .build();
+    }
+
+    private static int weigh(String key, byte[] data) {
+        return ENTRY_OVERHEAD + key.length() * 2 + data.length;
+    }
+
     public static ExecutorService getExecutorService() {
         if (EXECUTOR_SERVICE == null) {
             EXECUTOR_SERVICE = Executors.newFixedThreadPool(14);
@@ -149,18 +211,22 @@ public class SkinProvider {
         // Schedule Daily Image Expiry if we are caching them
         if (geyser.getConfig().getCacheImages() > 0) {
             geyser.getScheduledThread().scheduleAtFixedRate(() -> {
-                File cacheFolder = GeyserImpl.getInstance().getBootstrap().getConfigFolder().resolve("cache").resolve("images").toFile();
-                if (!cacheFolder.exists()) {
-                    return;
-                }
+                File imageFolder = GeyserImpl.getInstance().getBootstrap().getConfigFolder().resolve("cache").resolve("images").toFile();
+                File convertedFolder = ConvertedImageCache.cacheFolder().toFile();
 
                 int count = 0;
                 final long expireTime = ((long) GeyserImpl.getInstance().getConfig().getCacheImages()) * ((long)1000 * 60 * 60 * 24);
-                for (File imageFile : Objects.requireNonNull(cacheFolder.listFiles())) {
-                    if (imageFile.lastModified() < System.currentTimeMillis() - expireTime) {
-                        //noinspection ResultOfMethodCallIgnored
-                        imageFile.delete();
-                        count++;
+                for (File cacheFolder : new File[] {imageFolder, convertedFolder}) {
+                    if (!cacheFolder.exists()) {
+                        continue;
+                    }
+
+                    for (File imageFile : Objects.requireNonNull(cacheFolder.listFiles())) {
+                        if (imageFile.lastModified() < System.currentTimeMillis() - expireTime) {
+                            //noinspection ResultOfMethodCallIgnored
+                            imageFile.delete();
+                            count++;
+                        }
                     }
                 }
 
@@ -294,74 +360,82 @@ public class SkinProvider {
     }
 
     private static CompletableFuture<SkinAndCape> requestSkinAndCape(UUID playerId, String skinUrl, String capeUrl) {
-        return CompletableFuture.supplyAsync(() -> {
-            long time = System.currentTimeMillis();
-
-            SkinAndCape skinAndCape = new SkinAndCape(
-                    getOrDefault(requestSkin(playerId, skinUrl, false), EMPTY_SKIN, 5),
-                    getOrDefault(requestCape(capeUrl, false), EMPTY_CAPE, 5)
-            );
-
+        long time = System.currentTimeMillis();
+
+        CompletableFuture<Skin> skin = requestSkin(playerId, skinUrl)
+                .completeOnTimeout(EMPTY_SKIN, 5, TimeUnit.SECONDS)
+                .exceptionally(throwable -> EMPTY_SKIN);
+        CompletableFuture<Cape> cape = requestCape(capeUrl)
+                .completeOnTimeout(EMPTY_CAPE, 5, TimeUnit.SECONDS)
+                .exceptionally(throwable -> EMPTY_CAPE);
+        return skin.thenCombine(cape, (requestedSkin, requestedCape) -> {
             GeyserImpl.getInstance().getLogger().debug("Took " + (System.currentTimeMillis() - time) + "ms for " + playerId);
-            return skinAndCape;
-        }, getExecutorService());
+            return new SkinAndCape(requestedSkin, requestedCape);
+        });
     }
 
-    static CompletableFuture<Skin> requestSkin(UUID playerId, String textureUrl, boolean newThread) {
+    /**
+     * Requests a Java skin, sharing the download with any other request for the same texture.
+     *
+     * @return a future of the skin, which is never completed exceptionally
+     */
+    static CompletableFuture<Skin> requestSkin(UUID playerId, String textureUrl) {
         if (textureUrl == null || textureUrl.isEmpty()) return CompletableFuture.completedFuture(EMPTY_SKIN);
-        CompletableFuture<Skin> requestedSkin = requestedSkins.get(textureUrl);
-        if (requestedSkin != null) {
-            // already requested
-            return requestedSkin;
-        }
-
         Skin cachedSkin = CACHED_JAVA_SKINS.getIfPresent(textureUrl);
         if (cachedSkin != null) {
             return CompletableFuture.completedFuture(cachedSkin);
         }
 
-        CompletableFuture<Skin> future;
-        if (newThread) {
-            future = CompletableFuture.supplyAsync(() -> supplySkin(playerId, textureUrl), getExecutorService())
-                    .whenCompleteAsync((skin, throwable) -> {
-                        CACHED_JAVA_SKINS.put(textureUrl, skin);
-                        requestedSkins.remove(textureUrl);
-                    });
-            requestedSkins.put(textureUrl, future);
-        } else {
-            Skin skin = supplySkin(playerId, textureUrl);
-            future = CompletableFuture.completedFuture(skin);
-            CACHED_JAVA_SKINS.put(textureUrl, skin);
+        CompletableFuture<Skin> future = new CompletableFuture<>();
+        CompletableFuture<Skin> requestedSkin = requestedSkins.putIfAbsent(textureUrl, future);
+        if (requestedSkin != null) {
+            // already requested
+            return requestedSkin.copy();
         }
-        return future;
+
+        requestImageData(textureUrl, false).whenComplete((skinData, throwable) -> {
+            // Failures are cached as well, so we don't keep requesting a texture that doesn't work
+            Skin skin = throwable == null ? new Skin(textureUrl, skinData) : new Skin("empty", EMPTY_SKIN.skinData(), true);
+            CACHED_JAVA_SKINS.put(textureUrl, skin);
+            requestedSkins.remove(textureUrl, future);
+            future.complete(skin);
+        });
+        // Callers may time out or complete their future; that must not affect the other callers
+        return future.copy();
     }
 
-    private static CompletableFuture<Cape> requestCape(String capeUrl, boolean newThread) {
+    /**
+     * Requests a Java cape, sharing the download with any other request for the same texture.
+     *
+     * @return a future of the cape, which is never completed exceptionally
+     */
+    private static CompletableFuture<Cape> requestCape(String capeUrl) {
         if (capeUrl == null || capeUrl.isEmpty()) return CompletableFuture.completedFuture(EMPTY_CAPE);
-        CompletableFuture<Cape> requestedCape = requestedCapes.get(capeUrl);
-        if (requestedCape != null) {
-            return requestedCape;
-        }
-
         Cape cachedCape = CACHED_JAVA_CAPES.getIfPresent(capeUrl);
         if (cachedCape != null) {
             return CompletableFuture.completedFuture(cachedCape);
         }
 
-        CompletableFuture<Cape> future;
-        if (newThread) {
-            future = CompletableFuture.supplyAsync(() -> supplyCape(capeUrl), getExecutorService())
-                    .whenCompleteAsync((cape, throwable) -> {
-                        CACHED_JAVA_CAPES.put(capeUrl, cape);
-                        requestedCapes.remove(capeUrl);
-                    });
-            requestedCapes.put(capeUrl, future);
-        } else {
-            Cape cape = supplyCape(capeUrl); // blocking
-            future = CompletableFuture.completedFuture(cape);
-            CACHED_JAVA_CAPES.put(capeUrl, cape);
+        CompletableFuture<Cape> future = new CompletableFuture<>();
+        CompletableFuture<Cape> requestedCape = requestedCapes.putIfAbsent(capeUrl, future);
+        if (requestedCape != null) {
+            return requestedCape.copy();
         }
-        return future;
+
+        requestImageData(capeUrl, true).whenComplete((capeData, throwable) -> {
+            byte[] data = throwable == null ? capeData : EMPTY_CAPE.capeData();
+            String[] urlSection = capeUrl.split("/"); // A real url is expected at this stage
+            Cape cape = new Cape(
+                    capeUrl,
+                    urlSection[urlSection.length - 1], // get the texture id and use it as cape id
+                    data,
+                    data.length == 0
+            );
+            CACHED_JAVA_CAPES.put(capeUrl, cape);
+            requestedCapes.remove(capeUrl, future);
+            future.complete(cape);
+        });
+        return future.copy();
     }
 
     static void storeBedrockSkin(UUID playerID, String skinId, byte[] skinData) {
@@ -379,63 +453,105 @@ public class SkinProvider {
         cachedGeometry.put(playerID, geometry);
     }
 
-    private static Skin supplySkin(UUID uuid, String textureUrl) {
-        try {
-            byte[] skin = requestImageData(textureUrl, false);
-            return new Skin(textureUrl, skin);
-        } catch (Exception ignored) {} // just ignore I guess
+    /**
+     * Removes the geometry of a Bedrock player once they are no longer connected, as it's only used while they're online.
+     */
+    public static void removeBedrockGeometry(UUID playerID) {
+        if (GeyserImpl.getInstance().connectionByUuid(playerID) == null) {
+            cachedGeometry.remove(playerID);
+        }
+    }
 
-        return new Skin("empty", EMPTY_SKIN.skinData(), true);
+    /**
+     * Requests an image from disk or the web, resized to what Bedrock accepts. This blocks until the image is available.
+     */
+    public static BufferedImage requestImage(String imageUrl, boolean isCape) throws IOException {
+        BufferedImage image = readCachedImage(imageUrl);
+
+        // If no image we download it
+        if (image == null) {
+            try {
+                image = downloadImage(imageUrl).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while downloading " + imageUrl);
+            } catch (ExecutionException e) {
+                throw GeyserHttpClient.asIOException(e.getCause());
+            }
+        }
+
+        return resizeImage(image, isCape);
     }
 
-    private static Cape supplyCape(String capeUrl) {
-        byte[] cape = EMPTY_CAPE.capeData();
-        try {
-            cape = requestImageData(capeUrl, true);
-        } catch (Exception ignored) {
-        } // just ignore I guess
+    /**
+     * Requests the Bedrock image data of a skin or cape. Only decoding and converting the image runs on the
+     * {@link #getExecutorService() executor}; downloads don't hold up any of its threads.
+     */
+    private static CompletableFuture<byte[]> requestImageData(String imageUrl, boolean isCape) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (GeyserImpl.getInstance().getConfig().getCacheImages() > 0) {
+                ConvertedImageCache.Entry entry = ConvertedImageCache.read(imageUrl, isCape);
+                if (entry != null) {
+                    return entry.data();
+                }
+            }
 
-        String[] urlSection = capeUrl.split("/"); // A real url is expected at this stage
+            BufferedImage image = readCachedImage(imageUrl);
+            return image == null ? null : toImageData(imageUrl, isCape, resizeImage(image, isCape));
+        }, getExecutorService()).thenCompose(cachedData -> {
+            if (cachedData != null) {
+                return CompletableFuture.completedFuture(cachedData);
+            }
+            return downloadImage(imageUrl).thenApplyAsync(image -> toImageData(imageUrl, isCape, resizeImage(image, isCape)), getExecutorService());
+        });
+    }
 
-        return new Cape(
-                capeUrl,
-                urlSection[urlSection.length - 1], // get the texture id and use it as cape id
-                cape,
-                cape.length == 0
-        );
+    private static byte[] toImageData(String imageUrl, boolean isCape, BufferedImage image) {
+        byte[] data = bufferedImageToImageData(image);
+        if (GeyserImpl.getInstance().getConfig().getCacheImages() > 0) {
+            ConvertedImageCache.write(imageUrl, isCape, image.getWidth(), image.getHeight(), data);
+        }
+        image.flush();
+        return data;
     }
 
-    @SuppressWarnings("ResultOfMethodCallIgnored")
-    public static BufferedImage requestImage(String imageUrl, boolean isCape) throws IOException {
-        BufferedImage image = null;
+    private static File imageCacheFile(String imageUrl) {
+        return GeyserImpl.getInstance().getBootstrap().getConfigFolder().resolve("cache").resolve("images").resolve(UUID.nameUUIDFromBytes(imageUrl.getBytes()) + ".png").toFile();
+    }
 
-        // First see if we have a cached file. We also update the modification stamp so we know when the file was last used
-        File imageFile = GeyserImpl.getInstance().getBootstrap().getConfigFolder().resolve("cache").resolve("images").resolve(UUID.nameUUIDFromBytes(imageUrl.getBytes()) + ".png").toFile();
+    /**
+     * @return the downloaded image from the disk cache, or null if it isn't cached
+     */
+    @SuppressWarnings("ResultOfMethodCallIgnored")
+    private static @Nullable BufferedImage readCachedImage(String imageUrl) {
+        // We also update the modification stamp so we know when the file was last used
+        File imageFile = imageCacheFile(imageUrl);
         if (imageFile.exists()) {
             try {
                 GeyserImpl.getInstance().getLogger().debug("Reading cached image from file " + imageFile.getPath() + " for " + imageUrl);
                 imageFile.setLastModified(System.currentTimeMillis());
-                image = ImageIO.read(imageFile);
+                return ImageIO.read(imageFile);
             } catch (IOException ignored) {}
         }
+        return null;
+    }
 
-        // If no image we download it
-        if (image == null) {
-            image = downloadImage(imageUrl);
-            GeyserImpl.getInstance().getLogger().debug("Downloaded " + imageUrl);
-
-            // Write to cache if we are allowed
-            if (GeyserImpl.getInstance().getConfig().getCacheImages() > 0) {
-                imageFile.getParentFile().mkdirs();
-                try {
-                    ImageIO.write(image, "png", imageFile);
-                    GeyserImpl.getInstance().getLogger().debug("Writing cached skin to file " + imageFile.getPath() + " for " + imageUrl);
-                } catch (IOException e) {
-                    GeyserImpl.getInstance().getLogger().error("Failed to write cached skin to file " + imageFile.getPath() + " for " + imageUrl);
-                }
+    @SuppressWarnings("ResultOfMethodCallIgnored")
+    private static void writeCachedImage(String imageUrl, BufferedImage image) {
+        // Write to cache if we are allowed
+        if (GeyserImpl.getInstance().getConfig().getCacheImages() > 0) {
+            File imageFile = imageCacheFile(imageUrl);
+            imageFile.getParentFile().mkdirs();
+            try {
+                ImageIO.write(image, "png", imageFile);
+                GeyserImpl.getInstance().getLogger().debug("Writing cached skin to file " + imageFile.getPath() + " for " + imageUrl);
+            } catch (IOException e) {
+                GeyserImpl.getInstance().getLogger().error("Failed to write cached skin to file " + imageFile.getPath() + " for " + imageUrl);
             }
         }
+    }
 
+    private static BufferedImage resizeImage(BufferedImage image, boolean isCape) {
         // if the requested image is a cape
         if (isCape) {
             if (image.getWidth() > 64 || image.getHeight() > 32) {
@@ -469,13 +585,6 @@ public class SkinProvider {
         return image;
     }
 
-    private static byte[] requestImageData(String imageUrl, boolean isCape) throws Exception {
-        BufferedImage image = requestImage(imageUrl, isCape);
-        byte[] data = bufferedImageToImageData(image);
-        image.flush();
-        return data;
-    }
-
     /**
      * Request textures from a player's UUID
      *
@@ -483,23 +592,22 @@ public class SkinProvider {
      * @return a completable GameProfile with textures included
      */
     public static CompletableFuture<@Nullable String> requestTexturesFromUUID(String uuid) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                JsonNode node = WebUtils.getJson("https://sessionserver.mojang.com/session/minecraft/profile/" + uuid);
-                JsonNode properties = node.get("properties");
-                if (properties == null) {
-                    GeyserImpl.getInstance().getLogger().debug("No properties found in Mojang response for " + uuid);
-                    return null;
-                }
-                return node.get("properties").get(0).get("value").asText();
-            } catch (Exception e) {
-                GeyserImpl.getInstance().getLogger().debug("Unable to request textures for " + uuid);
-                if (GeyserImpl.getInstance().getConfig().isDebugMode()) {
-                    e.printStackTrace();
-                }
-                return null;
-            }
-        }, getExecutorService());
+        return GeyserHttpClient.shared().getJson("https://sessionserver.mojang.com/session/minecraft/profile/" + uuid)
+                .handle((node, throwable) -> {
+                    if (throwable != null) {
+                        GeyserImpl.getInstance().getLogger().debug("Unable to request textures for " + uuid);
+                        if (GeyserImpl.getInstance().getConfig().isDebugMode()) {
+                            throwable.printStackTrace();
+                        }
+                        return null;
+                    }
+                    JsonNode properties = node.get("properties");
+                    if (properties == null || properties.isEmpty()) {
+                        GeyserImpl.getInstance().getLogger().debug("No properties found in Mojang response for " + uuid);
+                        return null;
+                    }
+                    return properties.get(0).get("value").asText();
+                });
     }
 
     /**
@@ -509,42 +617,51 @@ public class SkinProvider {
      * @return a completable GameProfile with textures included
      */
     public static CompletableFuture<@Nullable String> requestTexturesFromUsername(String username) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                // Offline skin, or no present UUID
-                JsonNode node = WebUtils.getJson("https://api.mojang.com/users/profiles/minecraft/" + username);
-                JsonNode id = node.get("id");
-                if (id == null) {
-                    GeyserImpl.getInstance().getLogger().debug("No UUID found in Mojang response for " + username);
-                    return null;
-                }
-                return id.asText();
-            } catch (Exception e) {
-                if (GeyserImpl.getInstance().getConfig().isDebugMode()) {
-                    e.printStackTrace();
-                }
-                return null;
-            }
-        }, getExecutorService()).thenCompose(uuid -> {
-            if (uuid == null) {
-                return CompletableFuture.completedFuture(null);
-            }
-            return requestTexturesFromUUID(uuid);
-        });
+        // Offline skin, or no present UUID
+        return GeyserHttpClient.shared().getJson("https://api.mojang.com/users/profiles/minecraft/" + username)
+                .handle((node, throwable) -> {
+                    if (throwable != null) {
+                        if (GeyserImpl.getInstance().getConfig().isDebugMode()) {
+                            throwable.printStackTrace();
+                        }
+                        return null;
+                    }
+                    JsonNode id = node.get("id");
+                    if (id == null) {
+                        GeyserImpl.getInstance().getLogger().debug("No UUID found in Mojang response for " + username);
+                        return null;
+                    }
+                    return id.asText();
+                }).thenCompose(uuid -> {
+                    if (uuid == null) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    return requestTexturesFromUUID(uuid);
+                });
     }
 
-    private static BufferedImage downloadImage(String imageUrl) throws IOException {
-        HttpURLConnection con = (HttpURLConnection) new URL(imageUrl).openConnection();
-        con.setRequestProperty("User-Agent", WebUtils.getUserAgent());
-        con.setConnectTimeout(10000);
-        con.setReadTimeout(10000);
+    /**
+     * Downloads and decodes an image, and stores it in the disk cache if enabled.
+     */
+    private static CompletableFuture<BufferedImage> downloadImage(String imageUrl) {
+        long start = System.nanoTime();
+        return GeyserHttpClient.shared().getBytes(imageUrl).thenApplyAsync(bytes -> {
+            DOWNLOAD_TIMINGS.record(System.nanoTime() - start);
+            GeyserImpl.getInstance().getLogger().debug("Downloaded " + imageUrl);
 
-        BufferedImage image = ImageIO.read(con.getInputStream());
+            BufferedImage image;
+            try {
+                image = ImageIO.read(new ByteArrayInputStream(bytes));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (image == null) {
+                throw new IllegalArgumentException("Failed to read image from: %s".formatted(imageUrl));
+            }
 
-        if (image == null) {
-            throw new IllegalArgumentException("Failed to read image from: %s".formatted(imageUrl));
-        }
-        return image;
+            writeCachedImage(imageUrl, image);
+            return image;
+        }, getExecutorService());
     }
 
     public static BufferedImage scale(BufferedImage bufferedImage, int newWidth, int newHeight) {
@@ -557,18 +674,6 @@ public class SkinProvider {
         return resized;
     }
 
-    /**
-     * Get the RGBA int for a given index in some image data
-     *
-     * @param index Index to get
-     * @param data Image data to find in
-     * @return An int representing RGBA
-     */
-    private static int getRGBA(int index, byte[] data) {
-        return (data[index] & 0xFF) << 16 | (data[index + 1] & 0xFF) << 8 |
-                data[index + 2] & 0xFF | (data[index + 3] & 0xFF) << 24;
-    }
-
     /**
      * Convert a byte[] to a BufferedImage
      *
@@ -579,12 +684,12 @@ public class SkinProvider {
      */
     public static BufferedImage imageDataToBufferedImage(byte[] imageData, int imageWidth, int imageHeight) {
         BufferedImage image = new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_ARGB);
-        int index = 0;
-        for (int y = 0; y < imageHeight; y++) {
-            for (int x = 0; x < imageWidth; x++) {
-                image.setRGB(x, y, getRGBA(index, imageData));
-                index += 4;
-            }
+        // A freshly created TYPE_INT_ARGB image is always backed by one packed int array, row after row
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        int length = Math.min(pixels.length, imageData.length / 4);
+        for (int i = 0, index = 0; i < length; i++, index += 4) {
+            pixels[i] = (imageData[index] & 0xFF) << 16 | (imageData[index + 1] & 0xFF) << 8 |
+                    imageData[index + 2] & 0xFF | (imageData[index + 3] & 0xFF) << 24;
         }
 
         return image;
@@ -597,17 +702,98 @@ public class SkinProvider {
      * @return The converted byte[]
      */
     public static byte[] bufferedImageToImageData(BufferedImage image) {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(image.getWidth() * 4 + image.getHeight() * 4);
-        for (int y = 0; y < image.getHeight(); y++) {
-            for (int x = 0; x < image.getWidth(); x++) {
-                int rgba = image.getRGB(x, y);
-                outputStream.write((rgba >> 16) & 0xFF);
-                outputStream.write((rgba >> 8) & 0xFF);
-                outputStream.write(rgba & 0xFF);
-                outputStream.write((rgba >> 24) & 0xFF);
+        int width = image.getWidth();
+        int height = image.getHeight();
+        byte[] imageData = new byte[width * height * 4];
+
+        // Read the pixels straight from the backing array for the layouts ImageIO and Geyser produce.
+        // Anything else goes through ColorModel conversion, but still in one bulk call rather than per pixel.
+        switch (image.getType()) {
+            case BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_INT_RGB -> {
+                int[] pixels = packedPixels(image.getRaster(), width, height);
+                if (pixels != null) {
+                    argbToImageData(pixels, imageData, image.getType() == BufferedImage.TYPE_INT_RGB);
+                    return imageData;
+                }
+            }
+            case BufferedImage.TYPE_4BYTE_ABGR -> {
+                byte[] pixels = interleavedPixels(image.getRaster(), width, height, 4);
+                if (pixels != null) {
+                    for (int i = 0; i < imageData.length; i += 4) {
+                        imageData[i] = pixels[i + 3];
+                        imageData[i + 1] = pixels[i + 2];
+                        imageData[i + 2] = pixels[i + 1];
+                        imageData[i + 3] = pixels[i];
+                    }
+                    return imageData;
+                }
             }
+            case BufferedImage.TYPE_3BYTE_BGR -> {
+                byte[] pixels = interleavedPixels(image.getRaster(), width, height, 3);
+                if (pixels != null) {
+                    for (int i = 0, j = 0; i < imageData.length; i += 4, j += 3) {
+                        imageData[i] = pixels[j + 2];
+                        imageData[i + 1] = pixels[j + 1];
+                        imageData[i + 2] = pixels[j];
+                        imageData[i + 3] = (byte) 0xFF;
+                    }
+                    return imageData;
+                }
+            }
+            default -> {
+            }
+        }
+
+        argbToImageData(image.getRGB(0, 0, width, height, null, 0, width), imageData, false);
+        return imageData;
+    }
+
+    /**
+     * Converts as many pixels as the image data holds; a backing array may be longer than the image it belongs to.
+     */
+    private static void argbToImageData(int[] pixels, byte[] imageData, boolean opaque) {
+        int alphaMask = opaque ? 0xFF000000 : 0;
+        for (int i = 0, index = 0; index < imageData.length; i++, index += 4) {
+            int argb = pixels[i] | alphaMask;
+            imageData[index] = (byte) (argb >> 16);
+            imageData[index + 1] = (byte) (argb >> 8);
+            imageData[index + 2] = (byte) argb;
+            imageData[index + 3] = (byte) (argb >>> 24);
+        }
+    }
+
+    /**
+     * @return the backing array of a packed int raster if it holds exactly this image, row after row, otherwise null
+     */
+    private static int @Nullable [] packedPixels(Raster raster, int width, int height) {
+        DataBuffer buffer = raster.getDataBuffer();
+        SampleModel sampleModel = raster.getSampleModel();
+        if (buffer instanceof DataBufferInt intBuffer && isUntranslated(raster, buffer)
+                && sampleModel instanceof SinglePixelPackedSampleModel packedModel && packedModel.getScanlineStride() == width
+                && intBuffer.getData().length >= width * height) {
+            return intBuffer.getData();
         }
-        return outputStream.toByteArray();
+        return null;
+    }
+
+    /**
+     * @return the backing array of an interleaved byte raster if it holds exactly this image, row after row, otherwise null
+     */
+    private static byte @Nullable [] interleavedPixels(Raster raster, int width, int height, int pixelStride) {
+        DataBuffer buffer = raster.getDataBuffer();
+        SampleModel sampleModel = raster.getSampleModel();
+        if (buffer instanceof DataBufferByte byteBuffer && isUntranslated(raster, buffer)
+                && sampleModel instanceof ComponentSampleModel componentModel && componentModel.getPixelStride() == pixelStride
+                && componentModel.getScanlineStride() == width * pixelStride
+                && byteBuffer.getData().length >= width * height * pixelStride) {
+            return byteBuffer.getData();
+        }
+        return null;
+    }
+
+    private static boolean isUntranslated(Raster raster, DataBuffer buffer) {
+        return buffer.getNumBanks() == 1 && buffer.getOffset() == 0
+                && raster.getSampleModelTranslateX() == 0 && raster.getSampleModelTranslateY() == 0;
     }
 
     public static <T> T getOrDefault(CompletableFuture<T> future, T defaultValue, int timeoutInSeconds) {
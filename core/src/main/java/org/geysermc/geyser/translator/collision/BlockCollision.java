@@ -40,6 +40,13 @@ public class BlockCollision {
     @Getter
     protected final BoundingBox[] boundingBoxes;
 
+    /**
+     * {@link #boundingBoxes} flattened by {@link BoundingBox#flatten(BoundingBox[])}, so movement sweeps can test
+     * every box of this block state without dereferencing each one.
+     */
+    @EqualsAndHashCode.Exclude
+    protected final double[] shape;
+
     /**
      * This is used for the step up logic.
      * Usually, the player can only step up a block if they are on the same Y level as its bottom face or higher
@@ -58,6 +65,7 @@ public class BlockCollision {
 
     protected BlockCollision(BoundingBox[] boxes) {
         this.boundingBoxes = boxes;
+        this.shape = BoundingBox.flatten(boxes);
     }
 
     /**
@@ -145,8 +153,8 @@ public class BlockCollision {
     }
 
     public boolean checkIntersection(double x, double y, double z, BoundingBox playerCollision) {
-        for (BoundingBox b : boundingBoxes) {
-            if (b.checkIntersection(x, y, z, playerCollision)) {
+        for (int i = 0; i < shape.length; i += 6) {
+            if (BoundingBox.checkIntersection(shape, i, x, y, z, playerCollision)) {
                 return true;
             }
         }
@@ -158,8 +166,8 @@ public class BlockCollision {
     }
 
     public double computeCollisionOffset(double x, double y, double z, BoundingBox boundingBox, Axis axis, double offset) {
-        for (BoundingBox b : boundingBoxes) {
-            offset = b.getMaxOffset(x, y, z, boundingBox, axis, offset);
+        for (int i = 0; i < shape.length; i += 6) {
+            offset = BoundingBox.getMaxOffset(shape, i, x, y, z, boundingBox, axis, offset);
             if (Math.abs(offset) < CollisionManager.COLLISION_TOLERANCE) {
                 return 0;
             }
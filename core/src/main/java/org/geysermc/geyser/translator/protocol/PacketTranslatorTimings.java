@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.translator.protocol;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.geysermc.geyser.api.network.PacketTranslationStatistics;
+import org.geysermc.geyser.metrics.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records how long the translators of a {@link org.geysermc.geyser.registry.PacketTranslatorRegistry} take, per packet class.
+ * <p>
+ * Latencies are kept in a {@link LatencyHistogram}, so recording never allocates once a packet class has been seen.
+ * Recording is disabled by default.
+ */
+public final class PacketTranslatorTimings {
+    private static volatile boolean enabled = false;
+    /**
+     * Packets sent per thread. A translator is credited with the difference across its own run, so packets that other
+     * threads send for the same session in the meantime aren't attributed to it.
+     */
+    private static final ThreadLocal<long[]> PACKETS_SENT_ON_THREAD = new ThreadLocal<>();
+
+    private final Map<Class<?>, Timings> timings = new ConcurrentHashMap<>();
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        PacketTranslatorTimings.enabled = enabled;
+    }
+
+    /**
+     * @return how many packets have been sent on this thread while recording was enabled
+     */
+    public static long packetsSentOnThisThread() {
+        long[] counter = PACKETS_SENT_ON_THREAD.get();
+        return counter == null ? 0 : counter[0];
+    }
+
+    /**
+     * Called for every packet sent to the Bedrock client or the Java server.
+     */
+    public static void countPacketSent() {
+        if (!enabled) {
+            return;
+        }
+        long[] counter = PACKETS_SENT_ON_THREAD.get();
+        if (counter == null) {
+            PACKETS_SENT_ON_THREAD.set(counter = new long[1]);
+        }
+        counter[0]++;
+    }
+
+    public void record(Class<?> packetClass, long nanos, long packetsSent) {
+        Timings timings = this.timings.get(packetClass);
+        if (timings == null) {
+            timings = this.timings.computeIfAbsent(packetClass, $ -> new Timings());
+        }
+        timings.record(nanos, packetsSent);
+    }
+
+    public void reset() {
+        this.timings.clear();
+    }
+
+    /**
+     * @return a snapshot of all recorded timings, ordered by the total time spent translating
+     */
+    public List<Snapshot> snapshot() {
+        List<Snapshot> snapshots = new ArrayList<>(this.timings.size());
+        this.timings.forEach((packetClass, timings) -> snapshots.add(timings.snapshot(packetClass.getSimpleName())));
+        snapshots.sort(Comparator.comparingLong(Snapshot::totalNanos).reversed());
+        return snapshots;
+    }
+
+    private static final class Timings {
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder packetsSent = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long nanos, long packetsSent) {
+            this.histogram.record(nanos);
+            if (packetsSent > 0) {
+                this.packetsSent.add(packetsSent);
+            }
+
+            long max;
+            while (nanos > (max = this.maxNanos.get()) && !this.maxNanos.compareAndSet(max, nanos)) {
+                Thread.onSpinWait();
+            }
+        }
+
+        Snapshot snapshot(String packet) {
+            return new Snapshot(packet, this.histogram.count(), this.histogram.sumNanos(), this.maxNanos.get(), this.packetsSent.sum(), this.histogram.buckets());
+        }
+    }
+
+    public record Snapshot(@NonNull String packet, long count, long totalNanos, long maxNanos, long packetsSent, long[] buckets) implements PacketTranslationStatistics.Entry {
+
+        @Override
+        public long percentileNanos(double percentile) {
+            long total = 0;
+            for (long bucket : this.buckets) {
+                total += bucket;
+            }
+            if (total == 0) {
+                return 0;
+            }
+
+            long target = (long) Math.ceil(total * Math.min(100, Math.max(0, percentile)) / 100);
+            long seen = 0;
+            for (int i = 0; i < this.buckets.length; i++) {
+                seen += this.buckets[i];
+                if (seen >= target && seen > 0) {
+                    // Report the upper bound of the bucket, but never more than was actually seen
+                    return Math.min(LatencyHistogram.upperBoundNanos(i), this.maxNanos);
+                }
+            }
+            return this.maxNanos;
+        }
+    }
+}
@@ -48,6 +48,8 @@ public class JavaSetPassengersTranslator extends PacketTranslator<ClientboundSet
         Entity entity = session.getEntityCache().getEntityByJavaId(packet.getEntityId());
         if (entity == null) return;
 
+        // Links are applied relative to the current positions, so movement held back for this tick has to go out first
+        session.getEntityMovementCache().flush(entity);
         // Handle new/existing passengers
         List<Entity> newPassengers = new ArrayList<>();
         for (int passengerId : packet.getPassengerIds()) {
@@ -67,6 +69,7 @@ public class JavaSetPassengersTranslator extends PacketTranslator<ClientboundSet
                 continue;
             }
 
+            session.getEntityMovementCache().flush(passenger);
             boolean rider = packet.getPassengerIds()[0] == passengerId;
             EntityLinkData.Type type = rider ? EntityLinkData.Type.RIDER : EntityLinkData.Type.PASSENGER;
             SetEntityLinkPacket linkPacket = new SetEntityLinkPacket();
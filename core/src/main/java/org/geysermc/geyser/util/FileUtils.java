@@ -151,15 +151,18 @@ public class FileUtils {
      * @return A byte[] representation of the hash
      */
     public static byte[] calculateSHA256(Path path) {
-        byte[] sha256;
-
-        try {
-            sha256 = MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(path));
+        try (InputStream stream = Files.newInputStream(path)) {
+            // Stream the file through the digest, as resource packs can be far larger than we want to hold in memory
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[65536];
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return digest.digest();
         } catch (Exception e) {
             throw new RuntimeException("Could not calculate pack hash", e);
         }
-
-        return sha256;
     }
 
     /**
@@ -0,0 +1,435 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.geysermc.geyser.GeyserImpl;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The HTTP client shared by all of Geyser's web requests, such as skins, capes, resource packs and assets.
+ * <p>
+ * Connections are kept alive and reused, and HTTP/2 is used where the server supports it, so repeated requests to
+ * the same host don't each pay for a new TLS handshake. On top of that, this limits how many requests may run at once
+ * per host, retries idempotent requests that failed because of the network or the server, and merges concurrent
+ * {@link #getBytes(String)} calls for the same URL into one request.
+ * <p>
+ * The timeout of a request only covers waiting for the response headers. Reading the body is aborted separately
+ * once no data has arrived for that same timeout, so a stalled download can't hold a connection forever.
+ */
+public final class GeyserHttpClient {
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private static GeyserHttpClient shared;
+
+    private final HttpClient client;
+    private final ExecutorService executor;
+    /**
+     * Runs retry delays and body read deadlines
+     */
+    private final ScheduledThreadPoolExecutor timer;
+    private final String userAgent;
+    private final int maxRequestsPerHost;
+    private final int maxRetries;
+    private final long retryBackoffMillis;
+
+    private final Map<String, HostLimiter> limiters = new ConcurrentHashMap<>();
+    private final Map<URI, CompletableFuture<byte[]>> pendingGets = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxRequestsPerHost how many requests to one host may be in flight at once; further requests wait in order
+     * @param maxRetries how often a failed idempotent request is retried
+     * @param retryBackoff the delay before the first retry, which doubles with every further retry
+     */
+    public GeyserHttpClient(String userAgent, int maxRequestsPerHost, int maxRetries, Duration retryBackoff) {
+        this.executor = Executors.newCachedThreadPool(new DefaultThreadFactory("Geyser HTTP client", true));
+        this.timer = new ScheduledThreadPoolExecutor(1, new DefaultThreadFactory("Geyser HTTP client timer", true));
+        this.timer.setRemoveOnCancelPolicy(true);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(CONNECT_TIMEOUT)
+                .executor(executor)
+                .build();
+        this.userAgent = userAgent;
+        this.maxRequestsPerHost = maxRequestsPerHost;
+        this.maxRetries = maxRetries;
+        this.retryBackoffMillis = retryBackoff.toMillis();
+    }
+
+    public static synchronized GeyserHttpClient shared() {
+        if (shared == null) {
+            shared = new GeyserHttpClient(WebUtils.getUserAgent(), 8, 2, Duration.ofMillis(500));
+        }
+        return shared;
+    }
+
+    /**
+     * Shuts down the shared client, if it was created. A later call to {@link #shared()} creates a new one.
+     */
+    public static synchronized void shutdownShared() {
+        if (shared != null) {
+            shared.shutdown();
+            shared = null;
+        }
+    }
+
+    /**
+     * Stops the threads of this client. Requests that are still running fail.
+     */
+    public void shutdown() {
+        timer.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return a request builder for the given URL with Geyser's user agent and the default timeout
+     */
+    public HttpRequest.Builder request(String url) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .header("User-Agent", userAgent);
+    }
+
+    /**
+     * Sends a request once its host has a free slot, retrying it if it's idempotent and fails in a way that may be temporary.
+     */
+    public <T> CompletableFuture<HttpResponse<T>> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) {
+        return send(request, bodyHandler, 0);
+    }
+
+    /**
+     * Same as {@link #send(HttpRequest, HttpResponse.BodyHandler)}, but waits for the response.
+     */
+    public <T> HttpResponse<T> sendBlocking(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) throws IOException {
+        try {
+            return send(request, bodyHandler).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while requesting " + request.uri());
+        } catch (ExecutionException e) {
+            throw asIOException(e.getCause());
+        }
+    }
+
+    /**
+     * Downloads the body of the given URL. Concurrent calls for the same URL share one request.
+     *
+     * @return the body, or a future that failed with an {@link IOException} if the request failed or the server returned an error
+     */
+    public CompletableFuture<byte[]> getBytes(String url) {
+        URI uri = URI.create(url);
+        CompletableFuture<byte[]> future = new CompletableFuture<>();
+        CompletableFuture<byte[]> pending = pendingGets.putIfAbsent(uri, future);
+        if (pending != null) {
+            return pending.copy();
+        }
+
+        send(request(url).GET().build(), HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, throwable) -> {
+                    pendingGets.remove(uri, future);
+                    if (throwable != null) {
+                        future.completeExceptionally(throwable);
+                    } else if (response.statusCode() >= 400) {
+                        future.completeExceptionally(new IOException("Server returned HTTP response code: " + response.statusCode() + " for URL: " + url));
+                    } else {
+                        future.complete(response.body());
+                    }
+                });
+        return future.copy();
+    }
+
+    /**
+     * Downloads the body of the given URL as JSON, sharing the request with concurrent calls for the same URL.
+     */
+    public CompletableFuture<JsonNode> getJson(String url) {
+        return getBytes(url).thenApply(body -> {
+            try {
+                return GeyserImpl.JSON_MAPPER.readTree(body);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler, int attempt) {
+        HostLimiter limiter = limiters.computeIfAbsent(hostKey(request.uri()), key -> new HostLimiter(maxRequestsPerHost));
+        long readTimeoutNanos = request.timeout().orElse(REQUEST_TIMEOUT).toNanos();
+        HttpResponse.BodyHandler<T> deadlineHandler = responseInfo -> new ReadDeadlineSubscriber<>(bodyHandler.apply(responseInfo), readTimeoutNanos);
+        return limiter.submit(() -> client.sendAsync(request, deadlineHandler))
+                .handle((response, throwable) -> {
+                    if (attempt < maxRetries && shouldRetry(request, response, throwable)) {
+                        if (response != null) {
+                            // Streamed bodies keep their connection until they are closed
+                            closeBody(response);
+                        }
+                        long delay = (retryBackoffMillis << attempt) + ThreadLocalRandom.current().nextLong(retryBackoffMillis + 1);
+                        CompletableFuture<HttpResponse<T>> retry = new CompletableFuture<>();
+                        try {
+                            timer.schedule(() -> send(request, bodyHandler, attempt + 1).whenComplete((retried, retryThrowable) -> {
+                                if (retryThrowable != null) {
+                                    retry.completeExceptionally(retryThrowable);
+                                } else {
+                                    retry.complete(retried);
+                                }
+                            }), delay, TimeUnit.MILLISECONDS);
+                        } catch (RejectedExecutionException e) {
+                            retry.completeExceptionally(new IOException("HTTP client was shut down", e));
+                        }
+                        return retry;
+                    }
+                    return throwable == null ? CompletableFuture.completedFuture(response) : CompletableFuture.<HttpResponse<T>>failedFuture(throwable);
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private static boolean shouldRetry(HttpRequest request, HttpResponse<?> response, Throwable throwable) {
+        String method = request.method();
+        if (!method.equals("GET") && !method.equals("HEAD")) {
+            // Retrying could repeat a side effect, such as uploading a dump twice
+            return false;
+        }
+        if (throwable != null) {
+            return unwrap(throwable) instanceof IOException;
+        }
+        int status = response.statusCode();
+        return status == 429 || (status >= 500 && status != 501);
+    }
+
+    private static void closeBody(HttpResponse<?> response) {
+        if (response.body() instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception ignored) {
+            }
+        }
+    }
+
+    private static String hostKey(URI uri) {
+        return uri.getScheme() + "://" + String.valueOf(uri.getHost()).toLowerCase(Locale.ROOT) + ":" + uri.getPort();
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        while (throwable instanceof CompletionException && throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+        return throwable;
+    }
+
+    /**
+     * @return the cause of a failed request as an IOException, which is what blocking callers expect
+     */
+    public static IOException asIOException(Throwable throwable) {
+        throwable = unwrap(throwable);
+        if (throwable instanceof IOException ioException) {
+            return ioException;
+        }
+        if (throwable instanceof UncheckedIOException uncheckedIOException) {
+            return uncheckedIOException.getCause();
+        }
+        return new IOException(throwable);
+    }
+
+    /**
+     * Fails the body of a response once no data has arrived for the given time. Failing the subscriber wakes a reader
+     * blocked on a streamed body as well as requests whose future only completes with the whole body.
+     */
+    private final class ReadDeadlineSubscriber<T> implements HttpResponse.BodySubscriber<T> {
+        private final HttpResponse.BodySubscriber<T> delegate;
+        private final long timeoutNanos;
+        private final AtomicBoolean done = new AtomicBoolean();
+        private volatile long lastReadNanos = System.nanoTime();
+        private volatile Flow.Subscription subscription;
+        private volatile ScheduledFuture<?> check;
+
+        ReadDeadlineSubscriber(HttpResponse.BodySubscriber<T> delegate, long timeoutNanos) {
+            this.delegate = delegate;
+            this.timeoutNanos = timeoutNanos;
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            scheduleCheck(timeoutNanos);
+            delegate.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> item) {
+            if (!done.get()) {
+                lastReadNanos = System.nanoTime();
+                delegate.onNext(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (finish()) {
+                delegate.onError(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (finish()) {
+                delegate.onComplete();
+            }
+        }
+
+        private boolean finish() {
+            if (!done.compareAndSet(false, true)) {
+                return false;
+            }
+            ScheduledFuture<?> check = this.check;
+            if (check != null) {
+                check.cancel(false);
+            }
+            return true;
+        }
+
+        private void scheduleCheck(long delayNanos) {
+            try {
+                check = timer.schedule(this::checkDeadline, delayNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException ignored) {
+                // The client is shutting down
+            }
+        }
+
+        private void checkDeadline() {
+            if (done.get()) {
+                return;
+            }
+            long idleNanos = System.nanoTime() - lastReadNanos;
+            if (idleNanos < timeoutNanos) {
+                scheduleCheck(timeoutNanos - idleNanos);
+                return;
+            }
+            if (finish()) {
+                subscription.cancel();
+                delegate.onError(new HttpTimeoutException("No data received for " + TimeUnit.NANOSECONDS.toSeconds(timeoutNanos) + " seconds while reading the body"));
+            }
+        }
+    }
+
+    /**
+     * Lets a fixed number of requests to one host run at a time, starting waiting requests in the order they arrived.
+     */
+    private static final class HostLimiter {
+        private final int permits;
+        private final Queue<Runnable> waiting = new ArrayDeque<>();
+        private int active;
+
+        HostLimiter(int permits) {
+            this.permits = permits;
+        }
+
+        <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> task) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            Runnable start = () -> {
+                CompletableFuture<T> future;
+                try {
+                    future = task.get();
+                } catch (Throwable t) {
+                    future = CompletableFuture.failedFuture(t);
+                }
+                future.whenComplete((value, throwable) -> {
+                    release();
+                    if (throwable != null) {
+                        result.completeExceptionally(throwable);
+                    } else {
+                        result.complete(value);
+                    }
+                });
+            };
+
+            boolean startNow;
+            synchronized (this) {
+                startNow = active < permits;
+                if (startNow) {
+                    active++;
+                } else {
+                    waiting.add(start);
+                }
+            }
+            if (startNow) {
+                start.run();
+            }
+            return result;
+        }
+
+        private void release() {
+            Runnable next;
+            synchronized (this) {
+                next = waiting.poll();
+                if (next == null) {
+                    active--;
+                }
+            }
+            // The slot is handed straight to the next request
+            if (next != null) {
+                next.run();
+            }
+        }
+    }
+}
@@ -32,16 +32,28 @@ import org.geysermc.geyser.GeyserLogger;
 
 import javax.naming.directory.Attribute;
 import javax.naming.directory.InitialDirContext;
-import java.io.*;
-import java.net.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.MalformedURLException;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Stream;
 
 public class WebUtils {
@@ -56,14 +68,7 @@ public class WebUtils {
      */
     public static String getBody(String reqURL) {
         try {
-            URL url = new URL(reqURL);
-            HttpURLConnection con = (HttpURLConnection) url.openConnection();
-            con.setRequestMethod("GET");
-            con.setRequestProperty("User-Agent", getUserAgent()); // Otherwise Java 8 fails on checking updates
-            con.setConnectTimeout(10000);
-            con.setReadTimeout(10000);
-
-            return connectionToString(con);
+            return getBodyOrThrow(reqURL);
         } catch (Exception e) {
             return e.getMessage();
         }
@@ -76,11 +81,14 @@ public class WebUtils {
      * @return the response as JSON
      */
     public static JsonNode getJson(String reqURL) throws IOException {
-        HttpURLConnection con = (HttpURLConnection) new URL(reqURL).openConnection();
-        con.setRequestProperty("User-Agent", getUserAgent());
-        con.setConnectTimeout(10000);
-        con.setReadTimeout(10000);
-        return GeyserImpl.JSON_MAPPER.readTree(con.getInputStream());
+        try {
+            return GeyserHttpClient.shared().getJson(reqURL).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while requesting " + reqURL);
+        } catch (ExecutionException e) {
+            throw GeyserHttpClient.asIOException(e.getCause());
+        }
     }
 
     /**
@@ -91,10 +99,16 @@ public class WebUtils {
      */
     public static void downloadFile(String reqURL, String fileLocation) {
         try {
-            HttpURLConnection con = (HttpURLConnection) new URL(reqURL).openConnection();
-            con.setRequestProperty("User-Agent", getUserAgent());
-            InputStream in = con.getInputStream();
-            Files.copy(in, Paths.get(fileLocation), StandardCopyOption.REPLACE_EXISTING);
+            GeyserHttpClient client = GeyserHttpClient.shared();
+            // Downloads such as the client jar take longer than the default timeout
+            HttpRequest request = client.request(reqURL).timeout(Duration.ofMinutes(5)).GET().build();
+            HttpResponse.BodyHandler<Path> bodyHandler = responseInfo -> responseInfo.statusCode() < 400
+                    ? HttpResponse.BodySubscribers.ofFile(Paths.get(fileLocation))
+                    : HttpResponse.BodySubscribers.replacing(null);
+            HttpResponse<Path> response = client.sendBlocking(request, bodyHandler);
+            if (response.statusCode() >= 400) {
+                throw new IOException("Server returned HTTP response code: " + response.statusCode());
+            }
         } catch (Exception e) {
             throw new RuntimeException("Unable to download and save file: " + fileLocation + " (" + reqURL + ")", e);
         }
@@ -111,21 +125,27 @@ public class WebUtils {
     @SuppressWarnings("ResultOfMethodCallIgnored")
     public static @Nullable Path downloadRemotePack(String url, boolean force) {
         GeyserLogger logger = GeyserImpl.getInstance().getLogger();
+        HttpResponse<InputStream> response = null;
         try {
-            HttpURLConnection con = (HttpURLConnection) new URL(url).openConnection();
-
-            con.setConnectTimeout(10000);
-            con.setReadTimeout(10000);
-            con.setRequestProperty("User-Agent", "Geyser-" + GeyserImpl.getInstance().getPlatformType().platformName() + "/" + GeyserImpl.VERSION);
-            con.setInstanceFollowRedirects(true);
+            GeyserHttpClient client = GeyserHttpClient.shared();
+            HttpRequest request;
+            try {
+                request = client.request(url).GET().build();
+            } catch (IllegalArgumentException e) {
+                throw new MalformedURLException(e.getMessage());
+            }
+            // Only the headers are waited for here, so we can skip the body if we already have this pack
+            response = client.sendBlocking(request, HttpResponse.BodyHandlers.ofInputStream());
 
-            int responseCode = con.getResponseCode();
+            int responseCode = response.statusCode();
             if (responseCode >= 400) {
                 throw new IllegalStateException(String.format("Invalid response code from remote pack at URL: %s (code: %d)", url, responseCode));
             }
 
-            int size = con.getContentLength();
-            String type = con.getContentType();
+            long size = response.headers().firstValueAsLong("Content-Length").orElse(-1);
+            String type = response.headers().firstValue("Content-Type").orElse(null);
+            String etag = response.headers().firstValue("ETag").orElse(null);
+            long lastModified = lastModified(response);
 
             if (size <= 0) {
                 throw new IllegalArgumentException(String.format("Invalid content length received from remote pack at URL: %s (size: %d)", url, size));
@@ -143,14 +163,14 @@ public class WebUtils {
             if (Files.exists(packMetadata) && !force) {
                 try {
                     List<String> metadata = Files.readAllLines(packMetadata, StandardCharsets.UTF_8);
-                    int cachedSize = Integer.parseInt(metadata.get(0));
+                    long cachedSize = Long.parseLong(metadata.get(0));
                     String cachedEtag = metadata.get(1);
                     long cachedLastModified = Long.parseLong(metadata.get(2));
                     downloadLocation = REMOTE_PACK_CACHE.resolve(metadata.get(3));
 
                     if (cachedSize == size &&
-                            cachedEtag.equals(con.getHeaderField("ETag")) &&
-                            cachedLastModified == con.getLastModified() &&
+                            cachedEtag.equals(etag) &&
+                            cachedLastModified == lastModified &&
                             downloadLocation.toFile().exists()) {
                         logger.debug("Using cached pack (%s) for %s.".formatted(downloadLocation.getFileName(), url));
                         downloadLocation.toFile().setLastModified(System.currentTimeMillis());
@@ -168,7 +188,7 @@ public class WebUtils {
             }
 
             downloadLocation = REMOTE_PACK_CACHE.resolve(url.hashCode() + "_" + System.currentTimeMillis() + ".zip");
-            Files.copy(con.getInputStream(), downloadLocation, StandardCopyOption.REPLACE_EXISTING);
+            Files.copy(response.body(), downloadLocation, StandardCopyOption.REPLACE_EXISTING);
 
             // This needs to match as the client fails to download the pack otherwise
             long downloadSize = Files.size(downloadLocation);
@@ -183,8 +203,8 @@ public class WebUtils {
                         packMetadata,
                         Arrays.asList(
                                 String.valueOf(size),
-                                con.getHeaderField("ETag"),
-                                String.valueOf(con.getLastModified()),
+                                etag,
+                                String.valueOf(lastModified),
                                 downloadLocation.getFileName().toString()
                         ));
                 packMetadata.toFile().setLastModified(System.currentTimeMillis());
@@ -199,15 +219,36 @@ public class WebUtils {
             return downloadLocation;
         } catch (MalformedURLException e) {
             throw new IllegalArgumentException("Unable to download resource pack from malformed URL %s! ".formatted(url));
-        } catch (SocketTimeoutException | ConnectException e) {
+        } catch (HttpTimeoutException | ConnectException e) {
             logger.error("Unable to download pack from url %s due to network error! ( %s )".formatted(url, e.getMessage()));
             logger.debug(e);
         } catch (IOException e) {
             throw new IllegalStateException("Unable to download and save remote resource pack from: %s ( %s )!".formatted(url, e.getMessage()));
+        } finally {
+            if (response != null) {
+                try {
+                    // Skips the rest of the body if we didn't need it
+                    response.body().close();
+                } catch (IOException ignored) {
+                }
+            }
         }
         return null;
     }
 
+    /**
+     * @return the Last-Modified header in milliseconds since the epoch, or 0 if there is none
+     */
+    private static long lastModified(HttpResponse<?> response) {
+        return response.headers().firstValue("Last-Modified").map(value -> {
+            try {
+                return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            } catch (DateTimeParseException e) {
+                return 0L;
+            }
+        }).orElse(0L);
+    }
+
 
     /**
      * Post a string to the given URL
@@ -218,50 +259,13 @@ public class WebUtils {
      * @throws IOException If the request fails
      */
     public static String post(String reqURL, String postContent) throws IOException {
-        URL url = new URL(reqURL);
-        HttpURLConnection con = (HttpURLConnection) url.openConnection();
-        con.setRequestMethod("POST");
-        con.setRequestProperty("Content-Type", "text/plain");
-        con.setRequestProperty("User-Agent", getUserAgent());
-        con.setDoOutput(true);
-
-        OutputStream out = con.getOutputStream();
-        out.write(postContent.getBytes(StandardCharsets.UTF_8));
-        out.close();
-
-        return connectionToString(con);
-    }
-
-    /**
-     * Get the string output from the passed {@link HttpURLConnection}
-     *
-     * @param con The connection to get the string from
-     * @return The body of the returned page
-     * @throws IOException If the request fails
-     */
-    private static String connectionToString(HttpURLConnection con) throws IOException {
-        // Send the request (we dont use this but its required for getErrorStream() to work)
-        con.getResponseCode();
-
-        // Read the error message if there is one if not just read normally
-        InputStream inputStream = con.getErrorStream();
-        if (inputStream == null) {
-            inputStream = con.getInputStream();
-        }
-
-        StringBuilder content = new StringBuilder();
-        try (BufferedReader in = new BufferedReader(new InputStreamReader(inputStream))) {
-            String inputLine;
-
-            while ((inputLine = in.readLine()) != null) {
-                content.append(inputLine);
-                content.append("\n");
-            }
-
-            con.disconnect();
-        }
-
-        return content.toString();
+        GeyserHttpClient client = GeyserHttpClient.shared();
+        HttpRequest request = client.request(reqURL)
+                .header("Content-Type", "text/plain")
+                .POST(HttpRequest.BodyPublishers.ofString(postContent))
+                .build();
+        // Error responses are returned as well, as they explain what went wrong
+        return client.sendBlocking(request, HttpResponse.BodyHandlers.ofString()).body();
     }
 
     /**
@@ -273,21 +277,17 @@ public class WebUtils {
      * @throws IOException If the request fails
      */
     public static String postForm(String reqURL, Map<String, String> fields) throws IOException {
-        URL url = new URL(reqURL);
-        HttpURLConnection con = (HttpURLConnection) url.openConnection();
-        con.setRequestMethod("POST");
-        con.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
-        con.setRequestProperty("User-Agent", getUserAgent());
-        con.setDoOutput(true);
-
-        try (OutputStream out = con.getOutputStream()) {
-            // Write the form data to the output
-            for (Map.Entry<String, String> field : fields.entrySet()) {
-                out.write((field.getKey() + "=" + URLEncoder.encode(field.getValue(), StandardCharsets.UTF_8) + "&").getBytes(StandardCharsets.UTF_8));
-            }
+        StringBuilder form = new StringBuilder();
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            form.append(field.getKey()).append('=').append(URLEncoder.encode(field.getValue(), StandardCharsets.UTF_8)).append('&');
         }
 
-        return connectionToString(con);
+        GeyserHttpClient client = GeyserHttpClient.shared();
+        HttpRequest request = client.request(reqURL)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form.toString()))
+                .build();
+        return client.sendBlocking(request, HttpResponse.BodyHandlers.ofString()).body();
     }
 
     /**
@@ -323,20 +323,18 @@ public class WebUtils {
      */
     public static Stream<String> getLineStream(String reqURL) {
         try {
-            URL url = new URL(reqURL);
-            HttpURLConnection con = (HttpURLConnection) url.openConnection();
-            con.setRequestMethod("GET");
-            con.setRequestProperty("User-Agent", getUserAgent()); // Otherwise Java 8 fails on checking updates
-            con.setConnectTimeout(10000);
-            con.setReadTimeout(10000);
-
-            return connectionToString(con).lines();
+            return getBodyOrThrow(reqURL).lines();
         } catch (Exception e) {
             GeyserImpl.getInstance().getLogger().error("Error while trying to get a stream from " + reqURL, e);
             return Stream.empty();
         }
     }
 
+    private static String getBodyOrThrow(String reqURL) throws IOException {
+        GeyserHttpClient client = GeyserHttpClient.shared();
+        return client.sendBlocking(client.request(reqURL).GET().build(), HttpResponse.BodyHandlers.ofString()).body();
+    }
+
     public static String getUserAgent() {
         return "Geyser-" + GeyserImpl.getInstance().getPlatformType().platformName() + "/" + GeyserImpl.VERSION;
     }
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.erosion;
+
+import org.geysermc.erosion.util.BlockPositionIterator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Writes a {@link SharedBlockRegion} the way a backend would, and reads it back through a second mapping.
+ */
+public class SharedBlockRegionTest {
+    private static final long OVERWORLD = SharedBlockRegion.worldId("minecraft:overworld");
+    private static final long NETHER = SharedBlockRegion.worldId("minecraft:the_nether");
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void readsPublishedSections() throws IOException {
+        Path path = folder.resolve("erosion.sock.blocks");
+        SharedBlockRegion writer = SharedBlockRegion.create(path, 64);
+        SharedBlockRegion reader = SharedBlockRegion.open(path);
+
+        int[] section = new int[4096];
+        Arrays.setAll(section, i -> i + 1);
+        writer.writeSection(OVERWORLD, -1, 4, 2, section);
+
+        // Block (3, 5, 7) of the section is stored at YZX index (5 << 8) | (7 << 4) | 3
+        assertEquals(((5 << 8) | (7 << 4) | 3) + 1, reader.getBlockAt(OVERWORLD, -13, 69, 39));
+        assertEquals(SharedBlockRegion.MISS, reader.getBlockAt(NETHER, -13, 69, 39));
+        assertEquals(SharedBlockRegion.MISS, reader.getBlockAt(OVERWORLD, -13, 85, 39));
+
+        writer.writeBlock(OVERWORLD, -13, 69, 39, 42);
+        assertEquals(42, reader.getBlockAt(OVERWORLD, -13, 69, 39));
+
+        BlockPositionIterator iter = BlockPositionIterator.fromMinMax(-16, 64, 32, -15, 64, 32);
+        assertArrayEquals(new int[] {1, 2}, reader.getBlocksAt(OVERWORLD, iter));
+        assertNull(reader.getBlocksAt(OVERWORLD, BlockPositionIterator.fromMinMax(-17, 64, 32, -16, 64, 32)));
+
+        writer.close();
+        assertEquals(SharedBlockRegion.MISS, reader.getBlockAt(OVERWORLD, -13, 69, 39));
+    }
+
+    @Test
+    public void neverReadsAnotherSectionSharingTheSlot() throws Exception {
+        Path path = folder.resolve("erosion.sock.blocks");
+        // With one slot, every section replaces the previous one
+        SharedBlockRegion writer = SharedBlockRegion.create(path, 1);
+        SharedBlockRegion reader = SharedBlockRegion.open(path);
+
+        int[] first = new int[4096];
+        Arrays.fill(first, 7);
+        int[] second = new int[4096];
+        Arrays.fill(second, 8);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread thread = new Thread(() -> {
+            while (running.get()) {
+                writer.writeSection(OVERWORLD, 0, 0, 0, first);
+                writer.writeSection(OVERWORLD, 5, 0, 0, second);
+            }
+        });
+        thread.start();
+        try {
+            for (int i = 0; i < 1_000_000; i++) {
+                int blockId = reader.getBlockAt(OVERWORLD, 3, 3, 3);
+                if (blockId != SharedBlockRegion.MISS) {
+                    assertEquals(7, blockId);
+                }
+                blockId = reader.getBlockAt(OVERWORLD, 83, 3, 3);
+                if (blockId != SharedBlockRegion.MISS) {
+                    assertEquals(8, blockId);
+                }
+            }
+        } finally {
+            running.set(false);
+            thread.join();
+        }
+    }
+
+    @Test
+    public void stopsReadingWhenTheBackendIsGone() throws IOException {
+        Path path = folder.resolve("erosion.sock.blocks");
+        SharedBlockRegion writer = SharedBlockRegion.create(path, 64);
+        SharedBlockRegion reader = SharedBlockRegion.open(path);
+        writer.writeSection(OVERWORLD, 0, 0, 0, new int[4096]);
+        assertTrue(reader.isOpen());
+
+        // A crashed backend leaves the region open, but stops its heartbeat
+        writer.heartbeat(System.currentTimeMillis() - SharedBlockRegion.HEARTBEAT_TIMEOUT_MILLIS - 1000);
+        assertFalse(reader.isOpen());
+        assertEquals(SharedBlockRegion.MISS, reader.getBlockAt(OVERWORLD, 0, 0, 0));
+
+        writer.heartbeat();
+        assertTrue(reader.isOpen());
+    }
+
+    @Test
+    public void keepsOldMappingsValidWhenReplaced() throws IOException {
+        Path path = folder.resolve("erosion.sock.blocks");
+        SharedBlockRegion oldWriter = SharedBlockRegion.create(path, 64);
+        SharedBlockRegion oldReader = SharedBlockRegion.open(path);
+        int[] section = new int[4096];
+        Arrays.fill(section, 3);
+        oldWriter.writeSection(OVERWORLD, 10, 0, 10, section);
+
+        // A restarted backend may create a smaller region; the old mapping must stay readable
+        SharedBlockRegion newWriter = SharedBlockRegion.create(path, 1);
+        assertEquals(3, oldReader.getBlockAt(OVERWORLD, 160, 0, 160));
+        assertEquals(SharedBlockRegion.MISS, SharedBlockRegion.open(path).getBlockAt(OVERWORLD, 160, 0, 160));
+        newWriter.close();
+    }
+
+    @Test
+    public void rejectsOtherFiles() throws IOException {
+        Path path = folder.resolve("not-a-region");
+        Files.write(path, new byte[128]);
+        assertThrows(IOException.class, () -> SharedBlockRegion.open(path));
+        assertThrows(IllegalArgumentException.class, () -> SharedBlockRegion.create(folder.resolve("bad"), 3));
+    }
+}
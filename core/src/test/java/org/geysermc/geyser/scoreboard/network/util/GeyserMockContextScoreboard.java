@@ -43,6 +43,8 @@ import org.geysermc.geyser.entity.type.player.PlayerEntity;
 import org.geysermc.geyser.entity.type.player.SessionPlayerEntity;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.session.cache.EntityCache;
+import org.geysermc.geyser.session.cache.EntityCullingCache;
+import org.geysermc.geyser.session.cache.EntityMovementCache;
 import org.geysermc.geyser.session.cache.WorldCache;
 import org.mockito.stubbing.Answer;
 
@@ -78,6 +80,10 @@ public class GeyserMockContextScoreboard {
         var entityCache = context.spy(new EntityCache(session));
         when(session.getEntityCache()).thenReturn(entityCache);
 
+        // Nothing is culled or has its movement batched in these tests
+        when(session.getEntityCullingCache()).thenReturn(context.mock(EntityCullingCache.class));
+        when(session.getEntityMovementCache()).thenReturn(context.mock(EntityMovementCache.class));
+
         var worldCache = context.spy(new WorldCache(session));
         when(session.getWorldCache()).thenReturn(worldCache);
 
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.skin;
+
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.scoreboard.network.util.EmptyGeyserLogger;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.auth.BedrockClientData;
+import org.java_websocket.WebSocket;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.server.WebSocketServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FloodgateSkinUploaderTest {
+    private ScheduledExecutorService scheduledThread;
+    private GeyserImpl geyser;
+
+    @BeforeEach
+    public void setUp() {
+        scheduledThread = Executors.newSingleThreadScheduledExecutor();
+        geyser = mock(GeyserImpl.class);
+        when(geyser.getLogger()).thenReturn(new EmptyGeyserLogger());
+        when(geyser.getScheduledThread()).thenReturn(scheduledThread);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        scheduledThread.shutdownNow();
+    }
+
+    @Test
+    public void testQueuedUploadsAreDeduplicatedAndSentOnConnect() throws Exception {
+        StandInServer server = new StandInServer(2);
+        server.start();
+        assertTrue(server.started.await(10, TimeUnit.SECONDS));
+
+        FloodgateSkinUploader uploader = new FloodgateSkinUploader(geyser, URI.create("ws://127.0.0.1:" + server.getPort()), 1024 * 1024);
+        try {
+            // Not connected yet, so these are queued
+            uploader.uploadSkin(session("1", "first-join"));
+            uploader.uploadSkin(session("1", "second-join"));
+            uploader.uploadSkin(session("2", "other-player"));
+            assertEquals(2, uploader.getQueuedUploads());
+            assertEquals(1L, uploader.getUploadCounts().get("deduplicated"));
+
+            uploader.start();
+            assertTrue(server.received.await(10, TimeUnit.SECONDS));
+            assertEquals(2, server.messages.size());
+            assertTrue(server.messages.stream().anyMatch(message -> message.contains("second-join")));
+            assertTrue(server.messages.stream().anyMatch(message -> message.contains("other-player")));
+            assertFalse(server.messages.stream().anyMatch(message -> message.contains("first-join")));
+        } finally {
+            uploader.close();
+            server.stop(1000);
+        }
+    }
+
+    @Test
+    public void testQueueIsBounded() {
+        FloodgateSkinUploader uploader = new FloodgateSkinUploader(geyser, URI.create("ws://127.0.0.1:1"), 300);
+        for (int i = 0; i < 20; i++) {
+            uploader.uploadSkin(session(Integer.toString(i), "client-data-" + i));
+        }
+
+        assertTrue(uploader.getQueuedBytes() <= 300);
+        assertEquals(20, uploader.getQueuedUploads() + uploader.getUploadCounts().get("dropped"));
+        assertTrue(uploader.getUploadCounts().get("dropped") > 0);
+    }
+
+    private static GeyserSession session(String xuid, String originalClientData) {
+        BedrockClientData clientData = mock(BedrockClientData.class);
+        when(clientData.getOriginalString()).thenReturn(originalClientData);
+        when(clientData.getSkinId()).thenReturn("skin-" + xuid);
+
+        GeyserSession session = mock(GeyserSession.class);
+        when(session.xuid()).thenReturn(xuid);
+        when(session.getCertChainData()).thenReturn(List.of("chain-" + xuid));
+        when(session.getClientData()).thenReturn(clientData);
+        return session;
+    }
+
+    /**
+     * Stands in for the global api, recording the uploads it receives.
+     */
+    private static final class StandInServer extends WebSocketServer {
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch received;
+
+        StandInServer(int expectedMessages) {
+            super(new InetSocketAddress("127.0.0.1", 0));
+            this.received = new CountDownLatch(expectedMessages);
+        }
+
+        @Override
+        public void onOpen(WebSocket conn, ClientHandshake handshake) {
+        }
+
+        @Override
+        public void onClose(WebSocket conn, int code, String reason, boolean remote) {
+        }
+
+        @Override
+        public void onMessage(WebSocket conn, String message) {
+            messages.add(message);
+            received.countDown();
+        }
+
+        @Override
+        public void onError(WebSocket conn, Exception ex) {
+        }
+
+        @Override
+        public void onStart() {
+            started.countDown();
+        }
+    }
+}
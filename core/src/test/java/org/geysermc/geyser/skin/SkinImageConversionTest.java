@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.skin;
+
+import org.geysermc.geyser.GeyserBootstrap;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.configuration.GeyserConfiguration;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mockito.MockedStatic;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+
+public class SkinImageConversionTest {
+    private static final int[] IMAGE_TYPES = {
+            BufferedImage.TYPE_INT_ARGB,
+            BufferedImage.TYPE_INT_RGB,
+            BufferedImage.TYPE_4BYTE_ABGR,
+            BufferedImage.TYPE_3BYTE_BGR,
+            BufferedImage.TYPE_INT_ARGB_PRE,
+            BufferedImage.TYPE_BYTE_INDEXED
+    };
+
+    @BeforeAll
+    public static void initSkinProvider() throws ClassNotFoundException {
+        // SkinProvider loads its skull geometry from the bootstrap when the class is initialized
+        GeyserImpl geyser = mock(GeyserImpl.class);
+        GeyserBootstrap bootstrap = mock(GeyserBootstrap.class);
+        when(geyser.getBootstrap()).thenReturn(bootstrap);
+        when(geyser.getConfig()).thenReturn(mock(GeyserConfiguration.class));
+        when(bootstrap.getResourceOrThrow(anyString()))
+                .thenAnswer(invocation -> GeyserBootstrap.class.getClassLoader().getResourceAsStream(invocation.getArgument(0)));
+
+        try (MockedStatic<GeyserImpl> geyserMock = mockStatic(GeyserImpl.class)) {
+            geyserMock.when(GeyserImpl::getInstance).thenReturn(geyser);
+            Class.forName(SkinProvider.class.getName());
+        }
+    }
+
+    @Test
+    public void testImageTypes() {
+        for (int type : IMAGE_TYPES) {
+            BufferedImage image = randomImage(64, 64, type, 1);
+            assertArrayEquals(referenceImageData(image), SkinProvider.bufferedImageToImageData(image), "Image type " + type);
+        }
+    }
+
+    @Test
+    public void testSubimage() {
+        // The raster of a subimage shares the parent's array, so it must not take the fast path
+        BufferedImage image = randomImage(64, 64, BufferedImage.TYPE_INT_ARGB, 2).getSubimage(8, 8, 32, 16);
+        assertArrayEquals(referenceImageData(image), SkinProvider.bufferedImageToImageData(image));
+    }
+
+    @Test
+    public void testTopRowsSubimage() {
+        // Starts at the parent's first pixel with the same width, so only the backing array is longer than the image
+        BufferedImage image = randomImage(64, 64, BufferedImage.TYPE_INT_ARGB, 7).getSubimage(0, 0, 64, 32);
+        assertArrayEquals(referenceImageData(image), SkinProvider.bufferedImageToImageData(image));
+        image = randomImage(64, 64, BufferedImage.TYPE_4BYTE_ABGR, 8).getSubimage(0, 0, 64, 32);
+        assertArrayEquals(referenceImageData(image), SkinProvider.bufferedImageToImageData(image));
+    }
+
+    @Test
+    public void testRoundTrip() {
+        byte[] imageData = new byte[128 * 128 * 4];
+        new Random(3).nextBytes(imageData);
+
+        BufferedImage image = SkinProvider.imageDataToBufferedImage(imageData, 128, 128);
+        assertArrayEquals(imageData, referenceImageData(image));
+        assertArrayEquals(imageData, SkinProvider.bufferedImageToImageData(image));
+    }
+
+    @Test
+    public void testSkinAndCapeSizes() {
+        // ImageIO decodes RGBA PNGs, which is what Mojang serves, into TYPE_4BYTE_ABGR
+        BufferedImage skin = randomImage(128, 128, BufferedImage.TYPE_4BYTE_ABGR, 4);
+        assertArrayEquals(referenceImageData(skin), SkinProvider.bufferedImageToImageData(skin));
+        // Capes are redrawn into TYPE_INT_ARGB images
+        BufferedImage cape = randomImage(64, 32, BufferedImage.TYPE_INT_ARGB, 5);
+        assertArrayEquals(referenceImageData(cape), SkinProvider.bufferedImageToImageData(cape));
+    }
+
+    /**
+     * Compares the conversion against the previous per-pixel implementation.
+     * Run with {@code -Dgeyser.benchmark=true}.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "geyser.benchmark", matches = "true")
+    public void benchmark() {
+        // ImageIO decodes RGBA PNGs, which is what Mojang serves, into TYPE_4BYTE_ABGR
+        benchmark("skin 64x64", randomImage(64, 64, BufferedImage.TYPE_4BYTE_ABGR, 4));
+        benchmark("skin 128x128", randomImage(128, 128, BufferedImage.TYPE_4BYTE_ABGR, 5));
+        // Capes are redrawn into TYPE_INT_ARGB images
+        benchmark("cape 64x32", randomImage(64, 32, BufferedImage.TYPE_INT_ARGB, 6));
+    }
+
+    private static void benchmark(String name, BufferedImage image) {
+        int iterations = 20_000;
+        long blackhole = 0;
+        for (int i = 0; i < iterations; i++) {
+            blackhole += SkinProvider.bufferedImageToImageData(image)[i & 0xFF];
+            blackhole += referenceImageData(image)[i & 0xFF];
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            blackhole += referenceImageData(image)[i & 0xFF];
+        }
+        long reference = (System.nanoTime() - start) / iterations;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            blackhole += SkinProvider.bufferedImageToImageData(image)[i & 0xFF];
+        }
+        long raster = (System.nanoTime() - start) / iterations;
+
+        System.out.printf("%s: per pixel %d ns/op, raster %d ns/op (%d)%n", name, reference, raster, blackhole & 1);
+    }
+
+    private static BufferedImage randomImage(int width, int height, int type, long seed) {
+        Random random = new Random(seed);
+        BufferedImage image = new BufferedImage(width, height, type);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, random.nextInt());
+            }
+        }
+        return image;
+    }
+
+    private static byte[] referenceImageData(BufferedImage image) {
+        byte[] imageData = new byte[image.getWidth() * image.getHeight() * 4];
+        int index = 0;
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                int rgba = image.getRGB(x, y);
+                imageData[index++] = (byte) (rgba >> 16);
+                imageData[index++] = (byte) (rgba >> 8);
+                imageData[index++] = (byte) rgba;
+                imageData[index++] = (byte) (rgba >> 24);
+            }
+        }
+        return imageData;
+    }
+}
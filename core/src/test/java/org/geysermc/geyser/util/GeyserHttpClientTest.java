@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs {@link GeyserHttpClient} against a local stub server.
+ */
+public class GeyserHttpClientTest {
+    private static final byte[] BODY = "texture".getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private String baseUrl;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        // The default executor handles one exchange at a time
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testCoalescesConcurrentGets() throws Exception {
+        AtomicInteger hits = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        server.createContext("/skin", exchange -> {
+            hits.incrementAndGet();
+            await(release);
+            respond(exchange, 200, BODY);
+        });
+
+        GeyserHttpClient client = client(4, 0);
+        CompletableFuture<byte[]> first = client.getBytes(baseUrl + "/skin");
+        CompletableFuture<byte[]> second = client.getBytes(baseUrl + "/skin");
+        release.countDown();
+
+        assertArrayEquals(BODY, first.get(10, TimeUnit.SECONDS));
+        assertArrayEquals(BODY, second.get(10, TimeUnit.SECONDS));
+        assertEquals(1, hits.get());
+
+        // Finished requests are no longer shared
+        assertArrayEquals(BODY, client.getBytes(baseUrl + "/skin").get(10, TimeUnit.SECONDS));
+        assertEquals(2, hits.get());
+    }
+
+    @Test
+    public void testRetriesServerErrors() throws Exception {
+        AtomicInteger hits = new AtomicInteger();
+        server.createContext("/flaky", exchange -> {
+            if (hits.incrementAndGet() < 3) {
+                respond(exchange, 503, new byte[0]);
+            } else {
+                respond(exchange, 200, BODY);
+            }
+        });
+
+        assertArrayEquals(BODY, client(4, 2).getBytes(baseUrl + "/flaky").get(10, TimeUnit.SECONDS));
+        assertEquals(3, hits.get());
+    }
+
+    @Test
+    public void testDoesNotRetryClientErrors() {
+        AtomicInteger hits = new AtomicInteger();
+        server.createContext("/missing", exchange -> {
+            hits.incrementAndGet();
+            respond(exchange, 404, new byte[0]);
+        });
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> client(4, 2).getBytes(baseUrl + "/missing").get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, exception.getCause());
+        assertEquals(1, hits.get());
+    }
+
+    @Test
+    public void testLimitsConcurrentRequestsPerHost() throws Exception {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        server.createContext("/slow", exchange -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ignored) {
+            }
+            active.decrementAndGet();
+            respond(exchange, 200, BODY);
+        });
+
+        GeyserHttpClient client = client(2, 0);
+        List<CompletableFuture<byte[]>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(client.getBytes(baseUrl + "/slow?" + i));
+        }
+        for (CompletableFuture<byte[]> future : futures) {
+            assertArrayEquals(BODY, future.get(10, TimeUnit.SECONDS));
+        }
+        assertTrue(maxActive.get() <= 2, "At most two requests should run at once, but " + maxActive.get() + " did");
+    }
+
+    private static GeyserHttpClient client(int maxRequestsPerHost, int maxRetries) {
+        return new GeyserHttpClient("Geyser-Test", maxRequestsPerHost, maxRetries, Duration.ofMillis(1));
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ignored) {
+        }
+    }
+}